@@ -0,0 +1,93 @@
+package com.SpringBoot.TestingHW.benchmark;
+
+import com.SpringBoot.TestingHW.advises.ApiError;
+import com.SpringBoot.TestingHW.advises.GlobalResponseHandler;
+import com.SpringBoot.TestingHW.dto.BookDTO;
+import com.SpringBoot.TestingHW.pagination.CursorPage;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of wrapping a controller result in the {@code ApiResponse} envelope and serializing it with Jackson,
+ * for single-element, typical-page and bulk list bodies. The {@code legacy*} methods serialize the envelope the way
+ * it used to be written (bean serialization, {@code LocalDateTime.now()} per response), so one run with
+ * {@code -prof gc} shows bytes allocated per response before and after.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private GlobalResponseHandler responseHandler;
+    private ObjectMapper objectMapper;
+    private List<BookDTO> bookDtos;
+    private CursorPage<BookDTO> bookPage;
+
+    @Setup
+    public void setUp() {
+        responseHandler = new GlobalResponseHandler();
+        objectMapper = BenchmarkFixtures.objectMapper();
+        bookDtos = BenchmarkFixtures.bookDtos(size);
+        bookPage = new CursorPage<>(bookDtos, "aTox");
+    }
+
+    @Benchmark
+    public Object wrapList() {
+        return responseHandler.beforeBodyWrite(bookDtos, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookDtos);
+    }
+
+    @Benchmark
+    public byte[] wrapAndSerializeList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responseHandler.beforeBodyWrite(bookDtos, null, null, null, null, null));
+    }
+
+    @Benchmark
+    public byte[] wrapAndSerializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responseHandler.beforeBodyWrite(bookPage, null, null, null, null, null));
+    }
+
+    @Benchmark
+    public byte[] legacyWrapAndSerializeList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(new LegacyEnvelope(bookDtos, null));
+    }
+
+    @Benchmark
+    public byte[] legacyWrapAndSerializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(new LegacyEnvelope(bookPage.getItems(), bookPage.getNextCursor()));
+    }
+
+    /**
+     * The envelope before the streaming serializer: a plain bean stamped with {@code LocalDateTime.now()}.
+     */
+    @JsonPropertyOrder({"data", "apiError", "timeStamp", "nextCursor"})
+    public static class LegacyEnvelope {
+        public final Object data;
+        public final ApiError apiError = null;
+        public final LocalDateTime timeStamp = LocalDateTime.now();
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        public final String nextCursor;
+
+        LegacyEnvelope(Object data, String nextCursor) {
+            this.data = data;
+            this.nextCursor = nextCursor;
+        }
+    }
+}
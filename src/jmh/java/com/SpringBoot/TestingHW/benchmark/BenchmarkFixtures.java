@@ -0,0 +1,73 @@
+package com.SpringBoot.TestingHW.benchmark;
+
+import com.SpringBoot.TestingHW.dto.AuthorDTO;
+import com.SpringBoot.TestingHW.dto.BookDTO;
+import com.SpringBoot.TestingHW.entity.AuthorEntity;
+import com.SpringBoot.TestingHW.entity.bookEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared test data for the benchmarks, shaped like the rows the services return.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * An {@link ObjectMapper} configured the way Spring Boot configures the application one.
+     */
+    static ObjectMapper objectMapper() {
+        return objectMapperBuilder().build();
+    }
+
+    /**
+     * The builder behind {@link #objectMapper()}, for mappers that swap in another data format.
+     */
+    static Jackson2ObjectMapperBuilder objectMapperBuilder() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    static List<bookEntity> books(int count) {
+        AuthorEntity author = AuthorEntity.builder()
+                .id(1L)
+                .name("JOHN DOE")
+                .build();
+        List<bookEntity> books = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            books.add(bookEntity.builder()
+                    .id(id)
+                    .title("BOOK NUMBER " + id)
+                    .description("A description long enough to look like a real catalog entry " + id)
+                    .publishedOn(LocalDate.of(2000, 1, 1).plusDays(id % 9000))
+                    .authoredBy(author)
+                    .build());
+        }
+        return books;
+    }
+
+    static List<BookDTO> bookDtos(int count) {
+        AuthorDTO author = AuthorDTO.builder()
+                .id(1L)
+                .name("JOHN DOE")
+                .build();
+        List<BookDTO> bookDtos = new ArrayList<>(count);
+        for (bookEntity book : books(count)) {
+            bookDtos.add(BookDTO.builder()
+                    .id(book.getId())
+                    .title(book.getTitle())
+                    .description(book.getDescription())
+                    .publishedOn(book.getPublishedOn())
+                    .authored_by(author)
+                    .build());
+        }
+        return bookDtos;
+    }
+}
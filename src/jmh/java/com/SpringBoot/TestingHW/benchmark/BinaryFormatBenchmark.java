@@ -0,0 +1,59 @@
+package com.SpringBoot.TestingHW.benchmark;
+
+import com.SpringBoot.TestingHW.advises.ApiResponse;
+import com.SpringBoot.TestingHW.config.BinaryFormatsConfig;
+import com.SpringBoot.TestingHW.dto.BookDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON vs. CBOR vs. Smile for a page of books in the {@code ApiResponse} envelope, both directions: the server
+ * writing it and a client reading it back into DTOs. The encoded size of each payload is printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BinaryFormatBenchmark {
+    private static final TypeReference<ApiResponse<List<BookDTO>>> BOOK_PAGE = new TypeReference<>() {
+    };
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<List<BookDTO>> page;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "cbor" -> BinaryFormatsConfig.cborObjectMapper(BenchmarkFixtures.objectMapperBuilder());
+            case "smile" -> BinaryFormatsConfig.smileObjectMapper(BenchmarkFixtures.objectMapperBuilder());
+            default -> BenchmarkFixtures.objectMapper();
+        };
+        page = new ApiResponse<>(BenchmarkFixtures.bookDtos(size), "aTox");
+        encoded = objectMapper.writeValueAsBytes(page);
+        System.out.printf("%n%s, %d books: %d bytes%n", format, size, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public ApiResponse<List<BookDTO>> deserialize() throws IOException {
+        return objectMapper.readValue(encoded, BOOK_PAGE);
+    }
+}
@@ -0,0 +1,81 @@
+package com.SpringBoot.TestingHW.benchmark;
+
+import com.SpringBoot.TestingHW.advises.ApiResponse;
+import com.SpringBoot.TestingHW.advises.GlobalExceptionHandler;
+import com.SpringBoot.TestingHW.controller.BookController;
+import com.SpringBoot.TestingHW.dto.BookDTO;
+import com.SpringBoot.TestingHW.exceptions.BadRequestException;
+import com.SpringBoot.TestingHW.exceptions.ResourceNotFoundException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Error paths of {@link GlobalExceptionHandler}: building the {@code ApiError} envelope and serializing it.
+ * Exceptions are created once in setup; {@code createAndHandleNotFound} adds the stack trace capture of a real throw.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GlobalExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler exceptionHandler;
+    private ObjectMapper objectMapper;
+    private ResourceNotFoundException notFoundException;
+    private BadRequestException badRequestException;
+    private MethodArgumentNotValidException validationException;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        exceptionHandler = new GlobalExceptionHandler();
+        objectMapper = BenchmarkFixtures.objectMapper();
+        notFoundException = new ResourceNotFoundException("Book not found by id:100");
+        badRequestException = new BadRequestException("Invalid cursor:abc");
+
+        BookDTO invalidBook = BookDTO.builder().title("AB").build();
+        BindingResult bindingResult = new BeanPropertyBindingResult(invalidBook, "bookDTO");
+        bindingResult.rejectValue("title", "Size", "Name of the book must be at least 3 characters");
+        bindingResult.rejectValue("description", "NotBlank", "Description of book must not be Blank after trim");
+        MethodParameter parameter = new MethodParameter(
+                BookController.class.getMethod("createNewBook", BookDTO.class), 0);
+        validationException = new MethodArgumentNotValidException(parameter, bindingResult);
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiResponse<?>> handleNotFound() {
+        return exceptionHandler.handleResourceNotFoundException(notFoundException);
+    }
+
+    @Benchmark
+    public byte[] handleAndSerializeNotFound() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(exceptionHandler.handleResourceNotFoundException(notFoundException).getBody());
+    }
+
+    @Benchmark
+    public byte[] handleAndSerializeBadRequest() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(exceptionHandler.handleBadRequestException(badRequestException).getBody());
+    }
+
+    @Benchmark
+    public byte[] handleAndSerializeValidationErrors() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(
+                exceptionHandler.handleMethodArgumentNotValidException(validationException).getBody());
+    }
+
+    @Benchmark
+    public ResourceNotFoundException createAndHandleNotFound() {
+        ResourceNotFoundException exception = new ResourceNotFoundException("Book not found by id:100");
+        exceptionHandler.handleResourceNotFoundException(exception);
+        return exception;
+    }
+}
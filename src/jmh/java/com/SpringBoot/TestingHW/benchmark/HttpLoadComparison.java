@@ -0,0 +1,121 @@
+package com.SpringBoot.TestingHW.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load generator: {@code concurrency} clients each send a request, wait for the response and
+ * send the next one, round-robin over the given paths. Prints throughput and latency percentiles, so two runs
+ * against the same database, one per server mode (platform threads vs. the {@code virtual-threads} profile),
+ * can be compared line by line.
+ * Usage: {@code HttpLoadComparison <label> <baseUrl> <concurrency> <seconds> <path>...}.
+ */
+public final class HttpLoadComparison {
+
+    private static final Duration WARMUP = Duration.ofSeconds(10);
+
+    private HttpLoadComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 5) {
+            System.err.println("Usage: HttpLoadComparison <label> <baseUrl> <concurrency> <seconds> <path>...");
+            System.exit(2);
+        }
+        String label = args[0];
+        String baseUrl = args[1];
+        int concurrency = Integer.parseInt(args[2]);
+        Duration duration = Duration.ofSeconds(Long.parseLong(args[3]));
+        List<URI> uris = Arrays.stream(args, 4, args.length)
+                .map(path -> URI.create(baseUrl + path))
+                .toList();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .executor(clients)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            run(httpClient, clients, uris, concurrency, WARMUP);
+            long start = System.nanoTime();
+            Result result = run(httpClient, clients, uris, concurrency, duration);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            long[] latencies = result.latencies();
+            Arrays.sort(latencies);
+            System.out.printf("%-16s clients=%-6d requests=%-9d errors=%-7d throughput=%10.1f req/s "
+                            + "p50=%8.2f ms p99=%8.2f ms p99.9=%8.2f ms max=%8.2f ms%n",
+                    label, concurrency, latencies.length, result.errors(), latencies.length / seconds,
+                    percentile(latencies, 0.50), percentile(latencies, 0.99),
+                    percentile(latencies, 0.999), percentile(latencies, 1.0));
+        }
+    }
+
+    private static Result run(HttpClient httpClient, ExecutorService clients, List<URI> uris,
+                              int concurrency, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Result>> futures = new ArrayList<>(concurrency);
+        for (int client = 0; client < concurrency; client++) {
+            int offset = client;
+            futures.add(clients.submit(() -> loop(httpClient, uris, offset, deadline)));
+        }
+        List<Result> results = new ArrayList<>(concurrency);
+        for (Future<Result> future : futures) {
+            results.add(future.get());
+        }
+        long[] latencies = new long[results.stream().mapToInt(result -> result.latencies().length).sum()];
+        long errors = 0;
+        int position = 0;
+        for (Result result : results) {
+            System.arraycopy(result.latencies(), 0, latencies, position, result.latencies().length);
+            position += result.latencies().length;
+            errors += result.errors();
+        }
+        return new Result(latencies, errors);
+    }
+
+    private static Result loop(HttpClient httpClient, List<URI> uris, int offset, long deadline) {
+        long[] latencies = new long[1024];
+        int count = 0;
+        long errors = 0;
+        for (int i = offset; System.nanoTime() < deadline; i++) {
+            HttpRequest request = HttpRequest.newBuilder(uris.get(i % uris.size())).GET().build();
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() >= 400) {
+                    errors++;
+                    continue;
+                }
+            } catch (Exception e) {
+                errors++;
+                continue;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - start;
+        }
+        return new Result(Arrays.copyOf(latencies, count), errors);
+    }
+
+    private static double percentile(long[] sortedLatencies, double percentile) {
+        if (sortedLatencies.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(index, 0)] / 1e6;
+    }
+
+    private record Result(long[] latencies, long errors) {
+    }
+}
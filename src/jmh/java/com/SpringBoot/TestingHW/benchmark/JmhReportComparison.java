@@ -0,0 +1,73 @@
+package com.SpringBoot.TestingHW.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Prints a side-by-side table of two JMH JSON reports ({@code -rf json}), e.g. one per git revision.
+ * Usage: {@code JmhReportComparison <baseline.json> <candidate.json>}.
+ */
+public final class JmhReportComparison {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private JmhReportComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: JmhReportComparison <baseline.json> <candidate.json>");
+            System.exit(2);
+        }
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = index(objectMapper.readTree(new File(args[0])));
+        Map<String, JsonNode> candidate = index(objectMapper.readTree(new File(args[1])));
+
+        System.out.printf("%-90s %14s %14s %9s %14s %14s%n",
+                "Benchmark", "baseline", "candidate", "change", "B/op before", "B/op after");
+        for (Map.Entry<String, JsonNode> entry : baseline.entrySet()) {
+            JsonNode after = candidate.get(entry.getKey());
+            if (after == null) {
+                continue;
+            }
+            double before = entry.getValue().path("primaryMetric").path("score").asDouble();
+            double now = after.path("primaryMetric").path("score").asDouble();
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%% %14s %14s%n",
+                    entry.getKey() + " [" + after.path("primaryMetric").path("scoreUnit").asText() + "]",
+                    before, now, (now - before) / before * 100,
+                    allocation(entry.getValue()), allocation(after));
+        }
+    }
+
+    // Keyed by benchmark name plus parameters, so runs with several @Param values line up.
+    private static Map<String, JsonNode> index(JsonNode report) {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : report) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            Iterator<Map.Entry<String, JsonNode>> params = result.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    private static String allocation(JsonNode result) {
+        Iterator<Map.Entry<String, JsonNode>> metrics = result.path("secondaryMetrics").fields();
+        while (metrics.hasNext()) {
+            Map.Entry<String, JsonNode> metric = metrics.next();
+            if (metric.getKey().endsWith(ALLOCATION_METRIC)) {
+                return String.format("%.1f", metric.getValue().path("score").asDouble());
+            }
+        }
+        return "-";
+    }
+}
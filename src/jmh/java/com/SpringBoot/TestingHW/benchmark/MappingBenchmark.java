@@ -0,0 +1,88 @@
+package com.SpringBoot.TestingHW.benchmark;
+
+import com.SpringBoot.TestingHW.dto.AuthorDTO;
+import com.SpringBoot.TestingHW.dto.BookDTO;
+import com.SpringBoot.TestingHW.entity.AuthorEntity;
+import com.SpringBoot.TestingHW.entity.bookEntity;
+import com.SpringBoot.TestingHW.mapper.AuthorMapper;
+import com.SpringBoot.TestingHW.mapper.BookMapper;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-object cost of the reflective {@link ModelMapper} against the hand-written mappers used by the services.
+ * Run with {@code -prof gc} to compare bytes allocated per mapping as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    private ModelMapper modelMapper;
+    private BookMapper bookMapper;
+    private AuthorMapper authorMapper;
+    private bookEntity book;
+    private BookDTO bookDto;
+    private AuthorEntity author;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        authorMapper = new AuthorMapper();
+        bookMapper = new BookMapper(authorMapper);
+
+        author = AuthorEntity.builder()
+                .id(1L)
+                .name("JOHN DOE")
+                .bookEntityList(new ArrayList<>())
+                .build();
+        for (long id = 1; id <= 20; id++) {
+            author.getBookEntityList().add(bookEntity.builder()
+                    .id(id)
+                    .title("BOOK " + id)
+                    .description("Description " + id)
+                    .publishedOn(LocalDate.of(2020, 1, 1).plusDays(id))
+                    .authoredBy(author)
+                    .build());
+        }
+        book = author.getBookEntityList().get(0);
+        bookDto = bookMapper.toDto(book);
+    }
+
+    @Benchmark
+    public BookDTO modelMapperBookToDto() {
+        return modelMapper.map(book, BookDTO.class);
+    }
+
+    @Benchmark
+    public BookDTO bookMapperBookToDto() {
+        return bookMapper.toDto(book);
+    }
+
+    @Benchmark
+    public bookEntity modelMapperBookToEntity() {
+        return modelMapper.map(bookDto, bookEntity.class);
+    }
+
+    @Benchmark
+    public bookEntity bookMapperBookToEntity() {
+        return bookMapper.toEntity(bookDto);
+    }
+
+    @Benchmark
+    public AuthorDTO modelMapperAuthorToDto() {
+        return modelMapper.map(author, AuthorDTO.class);
+    }
+
+    @Benchmark
+    public AuthorDTO authorMapperAuthorToDto() {
+        return authorMapper.toDto(author);
+    }
+}
@@ -0,0 +1,44 @@
+package com.SpringBoot.TestingHW.benchmark;
+
+import com.SpringBoot.TestingHW.dto.BookDTO;
+import com.SpringBoot.TestingHW.entity.bookEntity;
+import com.SpringBoot.TestingHW.mapper.AuthorMapper;
+import com.SpringBoot.TestingHW.mapper.BookMapper;
+import com.SpringBoot.TestingHW.pagination.CursorPage;
+import com.SpringBoot.TestingHW.pagination.Cursors;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of a whole page, exactly as {@code BookService} builds it for the list endpoints.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageMappingBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private BookMapper bookMapper;
+    private List<bookEntity> rows;
+
+    @Setup
+    public void setUp() {
+        bookMapper = new BookMapper(new AuthorMapper());
+        // one extra row, like the limit + 1 fetch the services do
+        rows = BenchmarkFixtures.books(size + 1);
+    }
+
+    @Benchmark
+    public CursorPage<BookDTO> mapBookPage() {
+        return CursorPage.of(rows, size,
+                element -> bookMapper.toDto(element),
+                element -> Cursors.encodeId(element.getId()));
+    }
+}
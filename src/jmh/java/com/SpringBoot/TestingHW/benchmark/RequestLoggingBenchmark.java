@@ -0,0 +1,87 @@
+package com.SpringBoot.TestingHW.benchmark;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.SpringBoot.TestingHW.logging.AsyncRingBufferAppender;
+import com.SpringBoot.TestingHW.logging.LogPayloads;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the two success-path {@code log.info} lines of a service call on the request thread, with four request
+ * threads logging at once: written synchronously through a console-style appender, or handed to
+ * {@link AsyncRingBufferAppender}. The sink discards bytes, so the synchronous numbers are a lower bound; a real
+ * console or file only widens the gap. {@code pageOf100} adds the capped rendering of a page of DTOs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class RequestLoggingBenchmark {
+
+    @Param({"sync", "async"})
+    public String appender;
+
+    private Logger logger;
+    private AsyncRingBufferAppender asyncAppender;
+    private List<?> page;
+
+    @Setup
+    public void setUp() {
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%n");
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> sink = new OutputStreamAppender<>();
+        sink.setContext(loggerContext);
+        sink.setName("SINK");
+        sink.setEncoder(encoder);
+        sink.setOutputStream(OutputStream.nullOutputStream());
+        sink.start();
+
+        logger = loggerContext.getLogger("benchmark." + appender);
+        logger.setAdditive(false);
+        if (appender.equals("async")) {
+            asyncAppender = new AsyncRingBufferAppender();
+            asyncAppender.setContext(loggerContext);
+            asyncAppender.setName("ASYNC");
+            asyncAppender.addAppender(sink);
+            asyncAppender.start();
+            logger.addAppender(asyncAppender);
+        } else {
+            logger.addAppender(sink);
+        }
+        page = BenchmarkFixtures.bookDtos(100);
+    }
+
+    @TearDown
+    public void tearDown() {
+        logger.detachAndStopAllAppenders();
+        if (asyncAppender != null) {
+            System.out.printf("%nasync appender: %d enqueued, %d dropped, %d overflowed%n",
+                    asyncAppender.enqueued(), asyncAppender.dropped(), asyncAppender.overflowed());
+        }
+    }
+
+    @Benchmark
+    public void serviceCall() {
+        logger.info("Fetching book by id: {}", 42L);
+        logger.info("Successfully fetched book by id: {}", 42L);
+    }
+
+    @Benchmark
+    public void pageOf100() {
+        logger.info("Fetched {} books: {}", page.size(), LogPayloads.capped(page));
+    }
+}
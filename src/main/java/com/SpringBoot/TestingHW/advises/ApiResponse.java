@@ -1,17 +1,20 @@
 package com.SpringBoot.TestingHW.advises;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.Data;
 
-import java.time.LocalDateTime;
-
+// nextCursor and missingIds are written only when present; see ApiResponseSerializer.
 @Data
+@JsonSerialize(using = ApiResponseSerializer.class)
 public class ApiResponse<T>{
     private T data;
     private ApiError apiError;
-    private LocalDateTime timeStamp;
+    private String timeStamp;
+    private String nextCursor;
+    private long[] missingIds;
 
     public ApiResponse(){
-        this.timeStamp = LocalDateTime.now();
+        this.timeStamp = CachedClock.timestamp();
     }
 
     public ApiResponse(T data){
@@ -19,6 +22,16 @@ public class ApiResponse<T>{
         this.data = data;
     }
 
+    public ApiResponse(T data, String nextCursor){
+        this(data);
+        this.nextCursor = nextCursor;
+    }
+
+    public ApiResponse(T data, long[] missingIds){
+        this(data);
+        this.missingIds = missingIds;
+    }
+
     public ApiResponse(ApiError error){
         this();
         this.apiError = error;
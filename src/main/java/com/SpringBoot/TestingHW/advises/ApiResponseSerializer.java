@@ -0,0 +1,35 @@
+package com.SpringBoot.TestingHW.advises;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes the envelope straight onto the generator around the payload: {@code data} goes through the serializer
+ * Jackson has cached for its runtime type, and the remaining fields are written without bean introspection.
+ */
+public class ApiResponseSerializer extends StdSerializer<ApiResponse<?>> {
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ApiResponseSerializer() {
+        super((Class) ApiResponse.class);
+    }
+
+    @Override
+    public void serialize(ApiResponse<?> response, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(response);
+        provider.defaultSerializeField("data", response.getData(), generator);
+        provider.defaultSerializeField("apiError", response.getApiError(), generator);
+        generator.writeStringField("timeStamp", response.getTimeStamp());
+        if (response.getNextCursor() != null) {
+            generator.writeStringField("nextCursor", response.getNextCursor());
+        }
+        if (response.getMissingIds() != null) {
+            generator.writeFieldName("missingIds");
+            generator.writeArray(response.getMissingIds(), 0, response.getMissingIds().length);
+        }
+        generator.writeEndObject();
+    }
+}
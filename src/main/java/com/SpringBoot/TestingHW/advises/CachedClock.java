@@ -0,0 +1,34 @@
+package com.SpringBoot.TestingHW.advises;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Wall-clock timestamp for the response envelope, formatted at most once per millisecond. Every response served in
+ * the same millisecond shares one string, so a response reads the clock but allocates no date or text for it.
+ */
+public final class CachedClock {
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS");
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private static volatile Tick last = new Tick(Long.MIN_VALUE, null);
+
+    private CachedClock() {
+    }
+
+    public static String timestamp() {
+        long now = System.currentTimeMillis();
+        Tick tick = last;
+        if (tick.millis != now) {
+            // Racing threads format the same millisecond twice at worst; either result is correct.
+            tick = new Tick(now, FORMAT.format(LocalDateTime.ofInstant(Instant.ofEpochMilli(now), ZONE)));
+            last = tick;
+        }
+        return tick.text;
+    }
+
+    private record Tick(long millis, String text) {
+    }
+}
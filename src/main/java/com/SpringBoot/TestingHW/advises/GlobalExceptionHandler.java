@@ -1,8 +1,12 @@
 package com.SpringBoot.TestingHW.advises;
 
+import com.SpringBoot.TestingHW.exceptions.BadRequestException;
+import com.SpringBoot.TestingHW.exceptions.PreconditionFailedException;
 import com.SpringBoot.TestingHW.exceptions.ResourceNotFoundException;
+import com.SpringBoot.TestingHW.exceptions.ServiceUnavailableException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -22,6 +26,43 @@ public class GlobalExceptionHandler {
         return buildErrorResponseEntity(apiError);
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ApiResponse<?>> handleBadRequestException(BadRequestException exception){
+        ApiError apiError = ApiError.builder()
+                .message(exception.getLocalizedMessage())
+                .httpStatus(HttpStatus.BAD_REQUEST)
+                .build();
+        return buildErrorResponseEntity(apiError);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiResponse<?>> handlePreconditionFailedException(PreconditionFailedException exception){
+        ApiError apiError = ApiError.builder()
+                .message(exception.getLocalizedMessage())
+                .httpStatus(HttpStatus.PRECONDITION_FAILED)
+                .build();
+        return buildErrorResponseEntity(apiError);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiResponse<?>> handleServiceUnavailableException(ServiceUnavailableException exception){
+        ApiError apiError = ApiError.builder()
+                .message(exception.getLocalizedMessage())
+                .httpStatus(HttpStatus.SERVICE_UNAVAILABLE)
+                .build();
+        return buildErrorResponseEntity(apiError);
+    }
+
+    // A concurrent writer committed between our read and our flush: same outcome as a failed If-Match.
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<?>> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException exception){
+        ApiError apiError = ApiError.builder()
+                .message("Resource was modified concurrently, reload and retry")
+                .httpStatus(HttpStatus.PRECONDITION_FAILED)
+                .build();
+        return buildErrorResponseEntity(apiError);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<?>> handleMethodArgumentNotValidException(MethodArgumentNotValidException ex){
 
@@ -1,17 +1,25 @@
 package com.SpringBoot.TestingHW.advises;
 
+import com.SpringBoot.TestingHW.TestingHwApplication;
+import com.SpringBoot.TestingHW.lookup.MultiGetResult;
+import com.SpringBoot.TestingHW.pagination.CursorPage;
 import org.springframework.core.MethodParameter;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
 
-@RestControllerAdvice
+// Application controllers only: actuator endpoints (e.g. the Prometheus text scrape) keep their own formats.
+@RestControllerAdvice(basePackageClasses = TestingHwApplication.class)
 public class GlobalResponseHandler implements ResponseBodyAdvice<Object> {
     @Override
     public boolean supports(MethodParameter returnType, Class converterType) {
-        return true;
+        // Only JSON-family bodies get the envelope; binary and text converters cannot write an ApiResponse.
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType)
+                && !returnType.hasMethodAnnotation(RawResponse.class)
+                && !returnType.getContainingClass().isAnnotationPresent(RawResponse.class);
     }
 
     @Override
@@ -19,6 +27,12 @@ public class GlobalResponseHandler implements ResponseBodyAdvice<Object> {
         if(body instanceof ApiResponse<?>){
             return body;
         }
+        if(body instanceof CursorPage<?> page){
+            return new ApiResponse<>(page.getItems(), page.getNextCursor());
+        }
+        if(body instanceof MultiGetResult<?> result){
+            return new ApiResponse<>(result.getItems(), result.getMissingIds());
+        }
         return new ApiResponse<>(body);
     }
 }
@@ -0,0 +1,18 @@
+package com.SpringBoot.TestingHW.advises;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Opts a controller method, or every method of a controller, out of the {@code ApiResponse} envelope. The body is
+ * written exactly as returned. Non-JSON bodies (bytes, strings, resources, streams) are never wrapped and need no
+ * annotation.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RawResponse {
+}
@@ -0,0 +1,73 @@
+package com.SpringBoot.TestingHW.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Binary alternatives to JSON for machine clients, chosen by {@code Accept}: CBOR ({@code application/cbor}) and
+ * Smile ({@code application/x-jackson-smile}). Both mappers start from Boot's {@link Jackson2ObjectMapperBuilder}
+ * (a fresh prototype per injection point), so they carry the same modules and features as the JSON one, and both
+ * converters go through {@code GlobalResponseHandler}, so the {@code ApiResponse} envelope and error bodies look the
+ * same in every format.
+ */
+@Configuration(proxyBeanMethods = false)
+public class BinaryFormatsConfig {
+    // RFC 8943: days since 1970-01-01, so a date is a 3-5 byte integer rather than a 10 character string.
+    static final int CBOR_EPOCH_DAYS_TAG = 100;
+
+    @Bean
+    MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(cborObjectMapper(builder));
+    }
+
+    @Bean
+    MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(smileObjectMapper(builder));
+    }
+
+    public static ObjectMapper cborObjectMapper(Jackson2ObjectMapperBuilder builder) {
+        SimpleModule epochDays = new SimpleModule("cbor-epoch-days");
+        epochDays.addSerializer(LocalDate.class, new EpochDaysLocalDateSerializer());
+        // Registered after Boot's modules, so it wins over JavaTimeModule's LocalDate serializer.
+        return builder.factory(new CBORFactory())
+                .postConfigurer(objectMapper -> objectMapper.registerModule(epochDays))
+                .build();
+    }
+
+    // Smile back-references repeated property names, which is where a list of DTOs spends most of its JSON bytes.
+    public static ObjectMapper smileObjectMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.factory(SmileFactory.builder().build()).build();
+    }
+
+    /**
+     * Writes {@link LocalDate} as CBOR tag 100 plus the epoch day. It replaces any {@code @JsonFormat} pattern on the
+     * DTOs for this format only. Jackson's {@code LocalDateDeserializer} already reads an integer as an epoch day.
+     */
+    static final class EpochDaysLocalDateSerializer extends StdSerializer<LocalDate> {
+        EpochDaysLocalDateSerializer() {
+            super(LocalDate.class);
+        }
+
+        @Override
+        public void serialize(LocalDate date, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            if (generator instanceof CBORGenerator cborGenerator) {
+                cborGenerator.writeTag(CBOR_EPOCH_DAYS_TAG);
+            }
+            generator.writeNumber(date.toEpochDay());
+        }
+    }
+}
@@ -1,15 +1,23 @@
 package com.SpringBoot.TestingHW.controller;
 
 import com.SpringBoot.TestingHW.dto.AuthorDTO;
+import com.SpringBoot.TestingHW.dto.BatchResultDTO;
+import com.SpringBoot.TestingHW.etag.ETags;
+import com.SpringBoot.TestingHW.lookup.IdLists;
+import com.SpringBoot.TestingHW.lookup.MultiGetResult;
+import com.SpringBoot.TestingHW.pagination.CursorPage;
 import com.SpringBoot.TestingHW.service.AuthorService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
 
 @RestController
 @RequestMapping(path = "/author")
@@ -19,33 +27,59 @@ public class AuthorController {
     private final AuthorService authorService;
 
     @GetMapping
-    public ResponseEntity<List<AuthorDTO>> getAllAuthors(){
-        return ResponseEntity.ok(authorService.getAllAuthors());
+    public ResponseEntity<CursorPage<AuthorDTO>> getAllAuthors(@RequestParam(required = false) String after,
+                                                               @RequestParam(required = false) Integer limit){
+        return ResponseEntity.ok(authorService.getAllAuthors(after, limit));
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<MultiGetResult<AuthorDTO>> getAuthorsByIds(@RequestParam String ids){
+        return ResponseEntity.ok(authorService.getAuthorsByIds(IdLists.parse(ids)));
+    }
+
+    // Same lookup for id lists too long for a query string; a read, see ReadYourWritesFilter.
+    @PostMapping(path = "/lookup", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<MultiGetResult<AuthorDTO>> lookupAuthors(@RequestBody long[] ids){
+        return ResponseEntity.ok(authorService.getAuthorsByIds(ids));
     }
 
     @GetMapping("/{authorId}")
     public ResponseEntity<AuthorDTO> getAuthorById(@PathVariable Long authorId){
-        return ResponseEntity.ok(authorService.getAuthorById(authorId));
+        // A matching If-None-Match is answered with 304 by Spring MVC before the body is serialized.
+        AuthorDTO authorDto = authorService.getAuthorById(authorId);
+        return ResponseEntity.ok().eTag(ETags.of(authorDto)).body(authorDto);
     }
 
     @PostMapping
     public ResponseEntity<AuthorDTO> createNewAuthor(@RequestBody @Valid AuthorDTO authorDto){
-        return new ResponseEntity(authorService.createNewAuthor(authorDto), HttpStatus.CREATED);
+        AuthorDTO createdAuthor = authorService.createNewAuthor(authorDto);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(ETags.of(createdAuthor)).body(createdAuthor);
+    }
+
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchResultDTO> createNewAuthors(InputStream body) throws IOException {
+        BatchResultDTO result = authorService.createNewAuthors(body);
+        return new ResponseEntity<>(result, result.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS);
     }
 
     @PutMapping("/{authorId}")
-    public ResponseEntity<AuthorDTO> updateAuthorById(@RequestBody @Valid AuthorDTO authorDto,@PathVariable Long authorId){
-        return ResponseEntity.ok(authorService.updateAuthorById(authorId,authorDto));
+    public ResponseEntity<AuthorDTO> updateAuthorById(@RequestBody @Valid AuthorDTO authorDto,@PathVariable Long authorId,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        AuthorDTO updatedAuthor = authorService.updateAuthorById(authorId,authorDto,ifMatch);
+        return ResponseEntity.ok().eTag(ETags.of(updatedAuthor)).body(updatedAuthor);
     }
 
     @DeleteMapping("/{authorId}")
-    public ResponseEntity<?> deleteAuthorById(@PathVariable Long authorId){
-        authorService.deleteAuthorById(authorId);
+    public ResponseEntity<?> deleteAuthorById(@PathVariable Long authorId,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        authorService.deleteAuthorById(authorId,ifMatch);
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/name/{name}")
-    public ResponseEntity<List<AuthorDTO>> getAuthorsByName(@PathVariable String name){
-        return ResponseEntity.ok(authorService.getAuthorsByName(name));
+    public ResponseEntity<CursorPage<AuthorDTO>> getAuthorsByName(@PathVariable String name,
+                                                                  @RequestParam(required = false) String after,
+                                                                  @RequestParam(required = false) Integer limit){
+        return ResponseEntity.ok(authorService.getAuthorsByName(name, after, limit));
     }
 }
@@ -1,16 +1,34 @@
 package com.SpringBoot.TestingHW.controller;
 
+import com.SpringBoot.TestingHW.dto.BatchResultDTO;
 import com.SpringBoot.TestingHW.dto.BookDTO;
+import com.SpringBoot.TestingHW.dto.ImportJobDTO;
+import com.SpringBoot.TestingHW.etag.ETags;
+import com.SpringBoot.TestingHW.imports.BookImportService;
+import com.SpringBoot.TestingHW.imports.ImportFormat;
+import com.SpringBoot.TestingHW.logging.LogPayloads;
+import com.SpringBoot.TestingHW.lookup.IdLists;
+import com.SpringBoot.TestingHW.lookup.MultiGetResult;
+import com.SpringBoot.TestingHW.pagination.CursorPage;
+import com.SpringBoot.TestingHW.service.BookExportService;
 import com.SpringBoot.TestingHW.service.BookService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.time.LocalDate;
-import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping(path = "/book")
@@ -18,53 +36,138 @@ import java.util.List;
 @Slf4j
 public class BookController {
     private final BookService bookService;
+    private final BookExportService bookExportService;
+    private final BookImportService bookImportService;
 
     @GetMapping
-    public ResponseEntity<List<BookDTO>> getAllBooks(){
-        return ResponseEntity.ok(bookService.getAllBooks());
+    public ResponseEntity<CursorPage<BookDTO>> getAllBooks(@RequestParam(required = false) String after,
+                                                           @RequestParam(required = false) Integer limit){
+        return ResponseEntity.ok(bookService.getAllBooks(after, limit));
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<MultiGetResult<BookDTO>> getBooksByIds(@RequestParam String ids){
+        return ResponseEntity.ok(bookService.getBooksByIds(IdLists.parse(ids)));
+    }
+
+    // Same lookup for id lists too long for a query string; a read, see ReadYourWritesFilter.
+    @PostMapping(path = "/lookup", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<MultiGetResult<BookDTO>> lookupBooks(@RequestBody long[] ids){
+        return ResponseEntity.ok(bookService.getBooksByIds(ids));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBooks(){
+        StreamingResponseBody body = outputStream -> bookExportService.exportBooks(outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping("/{bookId}")
     public ResponseEntity<BookDTO> getBookById(@PathVariable Long bookId){
-        return ResponseEntity.ok(bookService.getBookById(bookId));
+        // A matching If-None-Match is answered with 304 by Spring MVC before the body is serialized.
+        BookDTO bookDto = bookService.getBookById(bookId);
+        return ResponseEntity.ok().eTag(ETags.of(bookDto)).body(bookDto);
     }
 
     @PostMapping
     public ResponseEntity<BookDTO> createNewBook(@RequestBody @Valid BookDTO bookDto){
-        return new ResponseEntity(bookService.createNewBook(bookDto), HttpStatus.CREATED);
+        BookDTO createdBook = bookService.createNewBook(bookDto);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(ETags.of(createdBook)).body(createdBook);
+    }
+
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchResultDTO> createNewBooks(InputStream body) throws IOException {
+        BatchResultDTO result = bookService.createNewBooks(body);
+        return new ResponseEntity<>(result, result.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS);
+    }
+
+    @PostMapping(path = "/import", params = "!path",
+            consumes = {ImportFormat.CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ImportJobDTO> importBooks(InputStream body,
+                                                    @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType) throws IOException {
+        return accepted(bookImportService.submitUpload(body, contentType));
+    }
+
+    @PostMapping(path = "/import", params = "path")
+    public ResponseEntity<ImportJobDTO> importBooksFromFile(@RequestParam String path,
+                                                            @RequestParam(required = false) String format) throws IOException {
+        return accepted(bookImportService.submitFile(path, format));
+    }
+
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ImportJobDTO> getImportJob(@PathVariable UUID jobId){
+        return ResponseEntity.ok(bookImportService.getJob(jobId));
+    }
+
+    @GetMapping("/import/{jobId}/errors")
+    public ResponseEntity<Resource> getImportErrors(@PathVariable UUID jobId){
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(new FileSystemResource(bookImportService.getErrorFile(jobId)));
+    }
+
+    private static ResponseEntity<ImportJobDTO> accepted(ImportJobDTO job) {
+        return ResponseEntity.accepted().location(URI.create("/book/import/" + job.getId())).body(job);
     }
 
     @PutMapping("/{bookId}")
-    public ResponseEntity<BookDTO> updateBookById(@RequestBody @Valid BookDTO bookDto, @PathVariable Long bookId){
-        return ResponseEntity.ok(bookService.updateBookById(bookId,bookDto));
+    public ResponseEntity<BookDTO> updateBookById(@RequestBody @Valid BookDTO bookDto, @PathVariable Long bookId,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        BookDTO updatedBook = bookService.updateBookById(bookId,bookDto,ifMatch);
+        return ResponseEntity.ok().eTag(ETags.of(updatedBook)).body(updatedBook);
     }
 
     @DeleteMapping("/{bookId}")
-    public ResponseEntity<?> deleteBookById(@PathVariable Long bookId){
-        bookService.deleteBookById(bookId);
+    public ResponseEntity<?> deleteBookById(@PathVariable Long bookId,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        bookService.deleteBookById(bookId,ifMatch);
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/getAfterDate/{date}")
-    public ResponseEntity<List<BookDTO>> getBooksPublishedAfterDate(@PathVariable LocalDate date){
-        return ResponseEntity.ok(bookService.getBooksPublishedAfterDate(date));
+    public ResponseEntity<CursorPage<BookDTO>> getBooksPublishedAfterDate(@PathVariable LocalDate date,
+                                                                          @RequestParam(required = false) String after,
+                                                                          @RequestParam(required = false) Integer limit){
+        return ResponseEntity.ok(bookService.getBooksPublishedAfterDate(date, after, limit));
+    }
+
+    @GetMapping("/published")
+    public ResponseEntity<CursorPage<BookDTO>> getBooksPublishedBetween(@RequestParam LocalDate from,
+                                                                        @RequestParam LocalDate to,
+                                                                        @RequestParam(required = false) String after,
+                                                                        @RequestParam(required = false) Integer limit){
+        return ResponseEntity.ok(bookService.getBooksPublishedBetween(from, to, after, limit));
     }
 
     @GetMapping("/title/{title}")
-    public ResponseEntity<List<BookDTO>> getBooksByTitle(@PathVariable String title){
-        return ResponseEntity.ok(bookService.getBooksByTitle(title));
+    public ResponseEntity<CursorPage<BookDTO>> getBooksByTitle(@PathVariable String title,
+                                                               @RequestParam(required = false) String after,
+                                                               @RequestParam(required = false) Integer limit){
+        return ResponseEntity.ok(bookService.getBooksByTitle(title, after, limit));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<BookDTO>> searchBooks(@RequestParam String q,
+                                                           @RequestParam(required = false) String after,
+                                                           @RequestParam(required = false) Integer limit){
+        return ResponseEntity.ok(bookService.searchBooks(q, after, limit));
     }
 
     @GetMapping("/createdBy/{authorId}")
-    public ResponseEntity<List<BookDTO>> getBookByAuthor(@PathVariable Long authorId){
-        List<BookDTO> bookDTOS = bookService.getBooksAuthoredBy(authorId);
-        log.info("Fetched books:{}",bookDTOS);
+    public ResponseEntity<CursorPage<BookDTO>> getBookByAuthor(@PathVariable Long authorId,
+                                                               @RequestParam(required = false) String after,
+                                                               @RequestParam(required = false) Integer limit){
+        CursorPage<BookDTO> bookDTOS = bookService.getBooksAuthoredBy(authorId, after, limit);
+        log.info("Fetched {} books: {}",bookDTOS.getItems().size(),LogPayloads.capped(bookDTOS.getItems()));
         return ResponseEntity.ok(bookDTOS);
     }
 
     @PutMapping("{bookId}/assignAuthorToBook/{authorId}")
     public ResponseEntity<BookDTO> assignAuthorToBook(@PathVariable Long bookId,@PathVariable Long authorId){
-        return ResponseEntity.ok(bookService.assignAuthorToBook(bookId,authorId));
+        BookDTO bookDto = bookService.assignAuthorToBook(bookId,authorId);
+        return ResponseEntity.ok().eTag(ETags.of(bookDto)).body(bookDto);
     }
 
 }
@@ -0,0 +1,44 @@
+package com.SpringBoot.TestingHW.controller;
+
+import com.SpringBoot.TestingHW.dto.AuthorBookCountDTO;
+import com.SpringBoot.TestingHW.dto.CatalogStatsDTO;
+import com.SpringBoot.TestingHW.dto.MonthBookCountDTO;
+import com.SpringBoot.TestingHW.dto.YearBookCountDTO;
+import com.SpringBoot.TestingHW.pagination.CursorPage;
+import com.SpringBoot.TestingHW.service.StatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(path = "/stats")
+@RequiredArgsConstructor
+public class StatsController {
+    private final StatsService statsService;
+
+    @GetMapping
+    public ResponseEntity<CatalogStatsDTO> getCatalogStats(){
+        return ResponseEntity.ok(statsService.getCatalogStats());
+    }
+
+    @GetMapping("/authors")
+    public ResponseEntity<CursorPage<AuthorBookCountDTO>> getBooksPerAuthor(@RequestParam(required = false) String after,
+                                                                            @RequestParam(required = false) Integer limit){
+        return ResponseEntity.ok(statsService.getBooksPerAuthor(after, limit));
+    }
+
+    @GetMapping("/years")
+    public ResponseEntity<List<YearBookCountDTO>> getBooksPerYear(){
+        return ResponseEntity.ok(statsService.getBooksPerYear());
+    }
+
+    @GetMapping("/months")
+    public ResponseEntity<List<MonthBookCountDTO>> getBooksPerMonth(@RequestParam(required = false) Integer year){
+        return ResponseEntity.ok(statsService.getBooksPerMonth(year));
+    }
+}
@@ -0,0 +1,142 @@
+package com.SpringBoot.TestingHW.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends read-only transactions ({@code @Transactional(readOnly = true)}) to the replicas and everything else to the
+ * primary. The only {@code DataSource} bean is a {@link LazyConnectionDataSourceProxy}: it defers fetching a
+ * connection until the first statement, by which time the transaction has marked it read-only, and then takes it from
+ * the {@link ReplicaRoutingDataSource} instead of the primary pool. The pools themselves are deliberately not beans,
+ * so that Boot still configures JPA, Flyway and the statement-counting proxy against one {@code DataSource}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "datasource.replicas", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReadReplicaConfig implements DisposableBean {
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private ScheduledExecutorService lagChecker;
+
+    @Bean
+    DataSource dataSource(ObjectProvider<JdbcConnectionDetails> connectionDetails, DataSourceProperties properties,
+                          ReplicaProperties replicaProperties, Environment environment,
+                          ObjectProvider<MeterRegistry> meterRegistry) {
+        JdbcConnectionDetails primaryDetails = connectionDetails.getIfAvailable(() -> new JdbcConnectionDetails() {
+            @Override
+            public String getUsername() {
+                return properties.determineUsername();
+            }
+
+            @Override
+            public String getPassword() {
+                return properties.determinePassword();
+            }
+
+            @Override
+            public String getJdbcUrl() {
+                return properties.determineUrl();
+            }
+        });
+        HikariDataSource primary = pool(environment, "primary", primaryDetails.getJdbcUrl(),
+                primaryDetails.getUsername(), primaryDetails.getPassword());
+        primary.setDriverClassName(primaryDetails.getDriverClassName());
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaProperties.getUrls().size(); i++) {
+            String username = replicaProperties.getUsername() != null
+                    ? replicaProperties.getUsername() : primaryDetails.getUsername();
+            String password = replicaProperties.getPassword() != null
+                    ? replicaProperties.getPassword() : primaryDetails.getPassword();
+            HikariDataSource replica = pool(environment, "replica-" + (i + 1), replicaProperties.getUrls().get(i),
+                    username, password);
+            replica.setConnectionTimeout(replicaProperties.getConnectionTimeout().toMillis());
+            replica.setReadOnly(true);
+            meterRegistry.ifAvailable(registry ->
+                    replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            replicas.put(replica.getPoolName(), replica);
+        }
+
+        ReplicaRoutingDataSource routing =
+                new ReplicaRoutingDataSource(primary, replicas, replicaProperties.getMaxLag());
+        routing.checkLag();
+        lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = replicaProperties.getLagCheckInterval().toMillis();
+        lagChecker.scheduleWithFixedDelay(routing::checkLag, interval, interval, TimeUnit.MILLISECONDS);
+        meterRegistry.ifAvailable(registry -> bindMetrics(registry, routing));
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(routing);
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return dataSource;
+    }
+
+    @Bean
+    ReadYourWritesFilter readYourWritesFilter(ReplicaProperties replicaProperties) {
+        return new ReadYourWritesFilter(replicaProperties.getStickyWindow());
+    }
+
+    private HikariDataSource pool(Environment environment, String name, String url, String username, String password) {
+        HikariDataSource pool = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pools.add(pool);
+        return pool;
+    }
+
+    private static void bindMetrics(MeterRegistry registry, ReplicaRoutingDataSource routing) {
+        for (String replica : routing.replicaNames()) {
+            Gauge.builder("library.datasource.replica.lag", routing, r -> r.lagSeconds(replica))
+                    .description("Replay lag of the replica at the last check, NaN when the check failed")
+                    .baseUnit("seconds")
+                    .tag("replica", replica)
+                    .register(registry);
+        }
+        FunctionCounter.builder("library.datasource.replica.fallbacks", routing, ReplicaRoutingDataSource::fallbacks)
+                .description("Read-only connections served by the primary because no replica was usable")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        if (lagChecker != null) {
+            lagChecker.shutdownNow();
+        }
+        pools.forEach(HikariDataSource::close);
+    }
+}
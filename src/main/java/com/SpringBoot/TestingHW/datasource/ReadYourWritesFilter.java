@@ -0,0 +1,84 @@
+package com.SpringBoot.TestingHW.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Read-your-writes across requests: a write hands the client a {@value #COOKIE} cookie, and for the sticky window
+ * that follows, the client's reads are pinned to the primary instead of a replica that may not have replayed the
+ * write yet. The cookie carries its own expiry, so any application instance can honour it.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    public static final String COOKIE = "read-primary-until";
+    private static final String LOOKUP_PATH = "/lookup";
+
+    private final Duration stickyWindow;
+
+    public ReadYourWritesFilter(Duration stickyWindow) {
+        this.stickyWindow = stickyWindow;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        if (isWrite(request)) {
+            response.addHeader(HttpHeaders.SET_COOKIE, stickyCookie(now + stickyWindow.toMillis()));
+        } else if (!pinnedUntilAfter(request, now)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        ReplicaRoutingDataSource.pinToPrimary();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.unpin();
+        }
+    }
+
+    private String stickyCookie(long pinnedUntil) {
+        return ResponseCookie.from(COOKIE, String.valueOf(pinnedUntil))
+                .path("/")
+                .maxAge(stickyWindow)
+                .httpOnly(true)
+                .sameSite("Lax")
+                .build()
+                .toString();
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (HttpMethod.POST.matches(method) && request.getRequestURI().endsWith(LOOKUP_PATH)) {
+            // POST /book/lookup and /author/lookup only carry an id list too long for a query string.
+            return false;
+        }
+        return !(HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method));
+    }
+
+    private static boolean pinnedUntilAfter(HttpServletRequest request, long now) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > now;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
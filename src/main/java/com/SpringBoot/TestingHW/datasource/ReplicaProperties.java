@@ -0,0 +1,28 @@
+package com.SpringBoot.TestingHW.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas behind {@link ReadReplicaConfig}. Username and password default to the primary's; pool settings
+ * are taken from {@code spring.datasource.hikari.*} except the connection timeout, which is kept short so that an
+ * unreachable replica falls back to the primary quickly.
+ */
+@ConfigurationProperties(prefix = "datasource.replicas")
+@Getter
+@Setter
+public class ReplicaProperties {
+    private boolean enabled;
+    private List<String> urls = new ArrayList<>();
+    private String username;
+    private String password;
+    private Duration connectionTimeout = Duration.ofSeconds(1);
+    private Duration maxLag = Duration.ofSeconds(5);
+    private Duration lagCheckInterval = Duration.ofSeconds(2);
+    private Duration stickyWindow = Duration.ofSeconds(5);
+}
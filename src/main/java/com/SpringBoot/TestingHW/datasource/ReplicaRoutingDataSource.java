@@ -0,0 +1,148 @@
+package com.SpringBoot.TestingHW.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Connections for read-only transactions. Replicas are used round robin. A replica is skipped while its replay lag
+ * is above {@code maxLag}, while the lag check fails, or after it refused a connection, until the next successful
+ * check. Reads fall back to the primary when no replica is usable or when the current request is pinned to it
+ * ({@link #pinToPrimary()}, used for read-your-writes).
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+    // 0 on a caught-up standby (or on a server that is not one); otherwise the age of the last replayed transaction.
+    static final String LAG_QUERY = "select case when not pg_is_in_recovery() then 0"
+            + " when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0"
+            + " else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0) end";
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final double maxLagSeconds;
+    private final int lagQueryTimeoutSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration maxLag) {
+        this.primary = primary;
+        this.replicas = replicas.entrySet().stream()
+                .map(replica -> new Replica(replica.getKey(), replica.getValue()))
+                .toList();
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.lagQueryTimeoutSeconds = (int) Math.max(1, maxLag.toSeconds());
+    }
+
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (PINNED_TO_PRIMARY.get() == null && !replicas.isEmpty()) {
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((start + i) % replicas.size());
+                if (replica.usable) {
+                    try {
+                        return replica.dataSource.getConnection();
+                    } catch (SQLException e) {
+                        replica.markUnusable("refused a connection: " + e.getMessage());
+                    }
+                }
+            }
+            fallbacks.increment();
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException("Replica routing uses the configured credentials of each pool");
+    }
+
+    /**
+     * Measures every replica's replay lag; called periodically by {@link ReadReplicaConfig}.
+     */
+    public void checkLag() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(lagQueryTimeoutSeconds);
+                try (ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                    resultSet.next();
+                    replica.lagSeconds = resultSet.getDouble(1);
+                }
+                if (replica.lagSeconds > maxLagSeconds) {
+                    replica.markUnusable("is " + replica.lagSeconds + " s behind the primary");
+                } else {
+                    replica.markUsable();
+                }
+            } catch (SQLException e) {
+                replica.lagSeconds = Double.NaN;
+                replica.markUnusable("failed the lag check: " + e.getMessage());
+            }
+        }
+    }
+
+    public List<String> replicaNames() {
+        return replicas.stream().map(replica -> replica.name).toList();
+    }
+
+    public double lagSeconds(String replicaName) {
+        return replicas.stream()
+                .filter(replica -> replica.name.equals(replicaName))
+                .mapToDouble(replica -> replica.lagSeconds)
+                .findFirst()
+                .orElse(Double.NaN);
+    }
+
+    public long fallbacks() {
+        return fallbacks.sum();
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean usable;
+        private volatile boolean checked;
+        private volatile double lagSeconds = Double.NaN;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        private void markUsable() {
+            if (!usable) {
+                log.info("Replica {} is in rotation, {} s behind the primary", name, lagSeconds);
+            }
+            usable = true;
+            checked = true;
+        }
+
+        private void markUnusable(String reason) {
+            if (usable || !checked) {
+                log.warn("Replica {} is out of rotation, it {}", name, reason);
+            }
+            usable = false;
+            checked = true;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.SpringBoot.TestingHW.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AuthorBookCountDTO {
+
+    private Long authorId;
+
+    private String authorName;
+
+    private long books;
+}
@@ -20,6 +20,10 @@ public class AuthorDTO {
 
     private Long id;
 
+    // Optimistic-lock version; exposed through the ETag header, never in the body.
+    @JsonIgnore
+    private Long version;
+
     @NotBlank(message = "Name of the author must not be Blank after trim")
     @Size(min = 3, message = "Name of the author must be at least 3 characters")
     private String name;
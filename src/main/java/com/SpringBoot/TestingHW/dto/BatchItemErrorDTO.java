@@ -0,0 +1,20 @@
+package com.SpringBoot.TestingHW.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchItemErrorDTO {
+
+    // zero-based position of the item in the request array
+    private int index;
+
+    private List<String> messages;
+}
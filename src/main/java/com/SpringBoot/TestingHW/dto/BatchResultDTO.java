@@ -0,0 +1,22 @@
+package com.SpringBoot.TestingHW.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchResultDTO {
+
+    private int created;
+
+    private int failed;
+
+    // at most JsonBatchInserter.MAX_REPORTED_ERRORS entries; failed holds the full count
+    private List<BatchItemErrorDTO> errors;
+}
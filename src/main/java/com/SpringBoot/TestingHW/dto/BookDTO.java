@@ -1,6 +1,7 @@
 package com.SpringBoot.TestingHW.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.PastOrPresent;
 import jakarta.validation.constraints.Size;
@@ -19,6 +20,10 @@ public class BookDTO {
 
     private Long id;
 
+    // Optimistic-lock version; exposed through the ETag header, never in the body.
+    @JsonIgnore
+    private Long version;
+
     @NotBlank(message = "Title of book must not be Blank after trim")
     @Size(min = 3, message = "Name of the book must be at least 3 characters")
     private String title;
@@ -0,0 +1,25 @@
+package com.SpringBoot.TestingHW.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CatalogStatsDTO {
+
+    private long books;
+
+    // authors with at least one book
+    private long authors;
+
+    private long unassignedBooks;
+
+    private long undatedBooks;
+
+    // planner estimate from pg_class.reltuples, as of the last ANALYZE; null if the table was never analyzed
+    private Long estimatedBooks;
+}
@@ -0,0 +1,46 @@
+package com.SpringBoot.TestingHW.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportJobDTO {
+
+    private UUID id;
+
+    private String format;
+
+    // QUEUED, RUNNING, COMPLETED or FAILED
+    private String status;
+
+    private Instant submittedAt;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    private long rowsRead;
+
+    private long rowsImported;
+
+    // valid rows whose title already exists for the same author
+    private long rowsSkipped;
+
+    // rows listed in the errors file
+    private long rowsRejected;
+
+    private long authorsCreated;
+
+    // why a FAILED job stopped; rows imported before that stay imported
+    private String failure;
+}
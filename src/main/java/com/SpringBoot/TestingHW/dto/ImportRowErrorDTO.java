@@ -0,0 +1,33 @@
+package com.SpringBoot.TestingHW.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportRowErrorDTO {
+
+    // one-based line of the feed where the row starts
+    private long line;
+
+    private List<String> messages;
+
+    private String title;
+
+    private String description;
+
+    private String publishedOn;
+
+    private String author;
+
+    // start of the original text, for rows that could not be parsed at all
+    private String raw;
+}
@@ -0,0 +1,21 @@
+package com.SpringBoot.TestingHW.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.YearMonth;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MonthBookCountDTO {
+
+    @JsonFormat(pattern = "yyyy-MM")
+    private YearMonth month;
+
+    private long books;
+}
@@ -0,0 +1,17 @@
+package com.SpringBoot.TestingHW.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class YearBookCountDTO {
+
+    private int year;
+
+    private long books;
+}
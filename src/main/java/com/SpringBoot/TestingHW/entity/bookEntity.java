@@ -1,30 +1,49 @@
 package com.SpringBoot.TestingHW.entity;
 
+import com.SpringBoot.TestingHW.projection.BookView;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 
 @Entity
 @Table(name = "Book")
+@SqlResultSetMapping(name = "BookView", classes = @ConstructorResult(targetClass = BookView.class, columns = {
+        @ColumnResult(name = "id", type = Long.class),
+        @ColumnResult(name = "title", type = String.class),
+        @ColumnResult(name = "description", type = String.class),
+        @ColumnResult(name = "published_on", type = LocalDate.class),
+        @ColumnResult(name = "author_id", type = Long.class),
+        @ColumnResult(name = "author_name", type = String.class)
+}))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "book")
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 public class bookEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "book_seq")
+    @SequenceGenerator(name = "book_seq", sequenceName = "book_seq", allocationSize = 50)
     private Long id;
 
     private String title;
 
     private String description;
 
+    // Partition key of book (V5). Not mapped as @PartitionKey: Hibernate would bind "published_on = ?", which never
+    // matches the undated books in book_default. Lookups by id probe book_id_idx in each partition instead.
     private LocalDate publishedOn;
 
+    @Version
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id")
     private AuthorEntity authoredBy;
@@ -0,0 +1,58 @@
+package com.SpringBoot.TestingHW.etag;
+
+import com.SpringBoot.TestingHW.dto.AuthorDTO;
+import com.SpringBoot.TestingHW.dto.BookDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Strong entity tags derived from the optimistic-lock versions. A book's representation embeds its author's name,
+ * so its tag covers the author's version as well: renaming the author changes the book's tag too.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(AuthorDTO author) {
+        return quote(String.valueOf(author.getVersion()));
+    }
+
+    public static String of(BookDTO book) {
+        AuthorDTO author = book.getAuthored_by();
+        return author == null
+                ? quote(String.valueOf(book.getVersion()))
+                : quote(book.getVersion() + "-" + author.getVersion());
+    }
+
+    /**
+     * The versions an {@code If-Match} header (RFC 9110) accepts, or {@code null} when it accepts any version (header
+     * absent or {@code *}). Weak and unparseable tags are dropped, since only a strong comparison may pass. The
+     * writes guard on the row's own version only, so a book's composite tag contributes its leading book version.
+     */
+    public static List<Long> versions(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        List<Long> versions = new ArrayList<>();
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+                continue;
+            }
+            String value = tag.substring(1, tag.length() - 1);
+            int separator = value.indexOf('-');
+            try {
+                versions.add(Long.parseLong(separator < 0 ? value : value.substring(0, separator)));
+            } catch (NumberFormatException ignored) {
+                // not one of our tags, it can never match
+            }
+        }
+        return versions;
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+}
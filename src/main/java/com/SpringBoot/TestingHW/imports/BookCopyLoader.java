@@ -0,0 +1,157 @@
+package com.SpringBoot.TestingHW.imports;
+
+import com.SpringBoot.TestingHW.entity.AuthorEntity;
+import com.SpringBoot.TestingHW.entity.bookEntity;
+import com.SpringBoot.TestingHW.projection.AuthorView;
+import com.SpringBoot.TestingHW.repository.AuthorRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Loads one chunk of validated rows in a single transaction: resolve or create the authors, COPY the rows into
+ * book_import_staging, then move them into book with one INSERT ... SELECT. A book whose title already exists for
+ * the same author, in the table or earlier in the chunk, is skipped, so re-running a feed does not duplicate it.
+ */
+@Repository
+@RequiredArgsConstructor
+class BookCopyLoader {
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    static final String COPY_SQL = "COPY book_import_staging (job_id, line, id, title, description, published_on, author_id) " +
+            "FROM STDIN WITH (FORMAT csv)";
+
+    static final String MERGE_SQL = "insert into book (id, title, description, published_on, author_id, version) " +
+            "select distinct on (s.title, s.author_id) s.id, s.title, s.description, s.published_on, s.author_id, 0 " +
+            "from book_import_staging s " +
+            "where s.job_id = :jobId " +
+            "and not exists (select 1 from book b where b.title = s.title and b.author_id is not distinct from s.author_id) " +
+            "order by s.title, s.author_id, s.line";
+
+    private final EntityManager entityManager;
+    private final AuthorRepository authorRepository;
+
+    record Result(int imported, int skipped, Map<String, Long> authorIds, int authorsCreated) {
+    }
+
+    /**
+     * @param knownAuthors author ids already resolved by earlier chunks, by upper-case name
+     */
+    @Transactional
+    public Result load(UUID jobId, List<ImportRow> rows, Map<String, Long> knownAuthors) {
+        Map<String, Long> authorIds = new HashMap<>(knownAuthors);
+        int authorsCreated = resolveAuthors(rows, authorIds);
+        List<Long> ids = reserveBookIds(rows.size());
+
+        Session session = entityManager.unwrap(Session.class);
+        session.doWork(connection -> {
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    new PGCopyOutputStream(pgConnection, COPY_SQL, COPY_BUFFER_SIZE), StandardCharsets.UTF_8), COPY_BUFFER_SIZE)) {
+                for (int i = 0; i < rows.size(); i++) {
+                    ImportRow row = rows.get(i);
+                    writer.write(jobId.toString());
+                    writer.write(',');
+                    writer.write(Long.toString(row.line()));
+                    writer.write(',');
+                    writer.write(Long.toString(ids.get(i)));
+                    writer.write(',');
+                    writeQuoted(writer, row.title());
+                    writer.write(',');
+                    writeQuoted(writer, row.description());
+                    writer.write(',');
+                    if (row.publishedOn() != null) {
+                        writer.write(row.publishedOn().toString());
+                    }
+                    writer.write(',');
+                    if (row.author() != null) {
+                        writer.write(Long.toString(authorIds.get(row.author())));
+                    }
+                    writer.write('\n');
+                }
+            } catch (IOException e) {
+                throw new SQLException("COPY into book_import_staging failed", e);
+            }
+        });
+
+        // Naming the affected tables keeps Hibernate from invalidating every cached query region.
+        int imported = session.createNativeQuery(MERGE_SQL)
+                .setParameter("jobId", jobId)
+                .addSynchronizedEntityClass(bookEntity.class)
+                .executeUpdate();
+        session.createNativeQuery("delete from book_import_staging where job_id = :jobId")
+                .setParameter("jobId", jobId)
+                .addSynchronizedQuerySpace("book_import_staging")
+                .executeUpdate();
+        entityManager.clear();
+        return new Result(imported, rows.size() - imported, authorIds, authorsCreated);
+    }
+
+    private int resolveAuthors(List<ImportRow> rows, Map<String, Long> authorIds) {
+        Set<String> missing = new LinkedHashSet<>();
+        for (ImportRow row : rows) {
+            if (row.author() != null && !authorIds.containsKey(row.author())) {
+                missing.add(row.author());
+            }
+        }
+        if (missing.isEmpty()) {
+            return 0;
+        }
+        // Names are not unique; the oldest author of that name gets the books, as it would for any caller.
+        for (AuthorView author : authorRepository.findViewsByNameIn(missing)) {
+            authorIds.merge(author.name(), author.id(), Math::min);
+            missing.remove(author.name());
+        }
+        List<AuthorEntity> created = new ArrayList<>(missing.size());
+        for (String name : missing) {
+            created.add(AuthorEntity.builder().name(name).build());
+        }
+        authorRepository.saveAll(created);
+        authorRepository.flush();
+        for (AuthorEntity author : created) {
+            authorIds.put(author.getName(), author.getId());
+        }
+        return created.size();
+    }
+
+    /**
+     * Draws the ids from the generator Hibernate uses for bookEntity, and with it the same optimizer, so imported
+     * ids never collide with ids handed out to saved entities. The optimizer hits book_seq once per allocation block.
+     */
+    private List<Long> reserveBookIds(int count) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        IdentifierGenerator generator = (IdentifierGenerator) session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(bookEntity.class).getGenerator();
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(((Number) generator.generate(session, null)).longValue());
+        }
+        return ids;
+    }
+
+    private static void writeQuoted(Writer writer, String value) throws IOException {
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
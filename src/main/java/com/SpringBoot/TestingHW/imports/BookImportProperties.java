@@ -0,0 +1,27 @@
+package com.SpringBoot.TestingHW.imports;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * {@code directory} is the only place server-side files may be imported from ({@code POST /book/import?path=...});
+ * unset, only uploads are accepted. Uploads and per-job error files live under {@code workDirectory}.
+ */
+@Component
+@ConfigurationProperties(prefix = "book.import")
+@Getter
+@Setter
+public class BookImportProperties {
+    private Path directory;
+    private Path workDirectory = Path.of(System.getProperty("java.io.tmpdir"), "book-imports");
+    // Rows per COPY + merge transaction; also bounds the rows held in memory per running job.
+    private int chunkSize = 5000;
+    private int maxConcurrentJobs = 1;
+    private int maxQueuedJobs = 4;
+    // Finished jobs kept for GET /book/import/{id}; older ones are forgotten along with their error files.
+    private int retainedJobs = 100;
+}
@@ -0,0 +1,313 @@
+package com.SpringBoot.TestingHW.imports;
+
+import com.SpringBoot.TestingHW.dto.AuthorDTO;
+import com.SpringBoot.TestingHW.dto.BookDTO;
+import com.SpringBoot.TestingHW.dto.ImportJobDTO;
+import com.SpringBoot.TestingHW.dto.ImportRowErrorDTO;
+import com.SpringBoot.TestingHW.exceptions.BadRequestException;
+import com.SpringBoot.TestingHW.exceptions.ResourceNotFoundException;
+import com.SpringBoot.TestingHW.exceptions.ServiceUnavailableException;
+import com.SpringBoot.TestingHW.snapshot.CatalogSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs catalog imports in the background. A feed is read record by record from a memory-mapped file, validated
+ * like {@code POST /book}, and handed to {@link BookCopyLoader} one chunk at a time, so memory stays bounded by
+ * {@code book.import.chunk-size} whatever the feed size. Rejected rows go to a per-job NDJSON errors file.
+ */
+@Service
+@Slf4j
+public class BookImportService {
+    static final int MAX_COLUMN_LENGTH = 255;
+    private static final int MAX_CACHED_AUTHORS = 10_000;
+
+    private final BookImportProperties properties;
+    private final BookCopyLoader bookCopyLoader;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final CatalogSnapshot catalogSnapshot;
+    private final ThreadPoolExecutor executor;
+    private final Map<UUID, ImportJob> jobs = new ConcurrentHashMap<>();
+    // Author ids by upper-case name, shared by all jobs so a recurring author is looked up once.
+    private final Map<String, Long> authorIds = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                    return size() > MAX_CACHED_AUTHORS;
+                }
+            });
+
+    public BookImportService(BookImportProperties properties, BookCopyLoader bookCopyLoader,
+                             ObjectMapper objectMapper, Validator validator, CatalogSnapshot catalogSnapshot) {
+        this.properties = properties;
+        this.bookCopyLoader = bookCopyLoader;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.catalogSnapshot = catalogSnapshot;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getMaxConcurrentJobs(), properties.getMaxConcurrentJobs(),
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getMaxQueuedJobs()), runnable -> {
+            Thread thread = new Thread(runnable, "book-import-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public ImportJobDTO submitUpload(InputStream body, MediaType contentType) throws IOException {
+        ImportFormat format = ImportFormat.of(contentType);
+        Files.createDirectories(properties.getWorkDirectory());
+        Path upload = Files.createTempFile(properties.getWorkDirectory(), "upload-", "." + format.name().toLowerCase());
+        try {
+            Files.copy(body, upload, StandardCopyOption.REPLACE_EXISTING);
+            return submit(format, upload, true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(upload);
+            throw e;
+        }
+    }
+
+    public ImportJobDTO submitFile(String path, String format) throws IOException {
+        if (properties.getDirectory() == null) {
+            throw new BadRequestException("Importing server-side files is disabled, upload the feed instead");
+        }
+        Path directory = properties.getDirectory().toAbsolutePath().normalize();
+        Path file = directory.resolve(path).normalize();
+        if (!file.startsWith(directory)) {
+            throw new BadRequestException("Import path must stay inside the import directory:" + path);
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new ResourceNotFoundException("Import file not found:" + path);
+        }
+        return submit(ImportFormat.of(format, file), file, false);
+    }
+
+    public ImportJobDTO getJob(UUID jobId) {
+        return job(jobId).toDto();
+    }
+
+    public Path getErrorFile(UUID jobId) {
+        ImportJob job = job(jobId);
+        if (!Files.exists(job.getErrorFile())) {
+            throw new ResourceNotFoundException("Import job has not started yet:" + jobId);
+        }
+        return job.getErrorFile();
+    }
+
+    private ImportJob job(UUID jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job not found:" + jobId);
+        }
+        return job;
+    }
+
+    private ImportJobDTO submit(ImportFormat format, Path file, boolean upload) throws IOException {
+        Files.createDirectories(properties.getWorkDirectory());
+        // Opening the reader checks the CSV header, so a feed missing required columns fails the request itself.
+        BookRecordReader reader = format.open(file, objectMapper);
+        ImportJob job = new ImportJob(format, file, upload, properties.getWorkDirectory());
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, reader));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            reader.close();
+            throw new ServiceUnavailableException("Too many imports in progress, retry later");
+        }
+        log.info("Queued {} import job {} for {}", format, job.getId(), file.getFileName());
+        evictFinishedJobs();
+        return job.toDto();
+    }
+
+    void run(ImportJob job, BookRecordReader reader) {
+        job.start();
+        log.info("Started import job {}", job.getId());
+        try (reader; Writer errors = Files.newBufferedWriter(job.getErrorFile())) {
+            List<ImportRow> chunk = new ArrayList<>(properties.getChunkSize());
+            BookRecord record;
+            while ((record = reader.next()) != null) {
+                job.getRowsRead().incrementAndGet();
+                ImportRow row = validate(record, job, errors);
+                if (row != null) {
+                    chunk.add(row);
+                    if (chunk.size() == properties.getChunkSize()) {
+                        load(job, chunk, errors);
+                    }
+                }
+            }
+            load(job, chunk, errors);
+            job.complete();
+            log.info("Finished import job {}: {} imported, {} skipped, {} rejected", job.getId(),
+                    job.getRowsImported(), job.getRowsSkipped(), job.getRowsRejected());
+        } catch (IOException | RuntimeException e) {
+            log.error("Import job {} failed after {} rows", job.getId(), job.getRowsRead(), e);
+            job.fail(e.getMessage());
+        } finally {
+            if (job.isUpload()) {
+                deleteQuietly(job.getFile());
+            }
+            // COPY bypasses the per-book snapshot hooks; even a failed job may have committed earlier chunks.
+            if (job.getRowsImported().get() > 0) {
+                catalogSnapshot.reload();
+            }
+        }
+    }
+
+    private ImportRow validate(BookRecord record, ImportJob job, Writer errors) throws IOException {
+        List<String> messages = new ArrayList<>();
+        LocalDate publishedOn = null;
+        String author = record.author() == null || record.author().isBlank() ? null : record.author().trim();
+        if (record.error() != null) {
+            messages.add(record.error());
+        } else {
+            if (record.publishedOn() != null) {
+                try {
+                    publishedOn = LocalDate.parse(record.publishedOn().trim());
+                } catch (DateTimeParseException e) {
+                    messages.add("Book publish date must be formatted as yyyy-MM-dd");
+                }
+            }
+            BookDTO book = BookDTO.builder()
+                    .title(record.title())
+                    .description(record.description())
+                    .publishedOn(publishedOn)
+                    .build();
+            violations(validator.validate(book), messages);
+            if (author != null) {
+                violations(validator.validate(AuthorDTO.builder().name(author).build()), messages);
+            }
+            // The columns are varchar(255); longer values would fail the whole chunk's COPY.
+            checkLength("Title", record.title(), messages);
+            checkLength("Description", record.description(), messages);
+            checkLength("Author name", author, messages);
+        }
+        if (!messages.isEmpty()) {
+            Collections.sort(messages);
+            reject(job, errors, ImportRowErrorDTO.builder()
+                    .line(record.line())
+                    .messages(messages)
+                    .title(record.title())
+                    .description(record.description())
+                    .publishedOn(record.publishedOn())
+                    .author(record.author())
+                    .raw(record.raw())
+                    .build());
+            return null;
+        }
+        return new ImportRow(record.line(), record.title().toUpperCase(), record.description(), publishedOn,
+                author == null ? null : author.toUpperCase());
+    }
+
+    private static <T> void violations(Set<ConstraintViolation<T>> violations, List<String> messages) {
+        for (ConstraintViolation<T> violation : violations) {
+            messages.add(violation.getMessage());
+        }
+    }
+
+    private static void checkLength(String field, String value, List<String> messages) {
+        if (value != null && value.length() > MAX_COLUMN_LENGTH) {
+            messages.add(field + " must be at most " + MAX_COLUMN_LENGTH + " characters");
+        }
+    }
+
+    private void load(ImportJob job, List<ImportRow> chunk, Writer errors) throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Map<String, Long> knownAuthors = new HashMap<>();
+        for (ImportRow row : chunk) {
+            Long authorId = row.author() == null ? null : authorIds.get(row.author());
+            if (authorId != null) {
+                knownAuthors.put(row.author(), authorId);
+            }
+        }
+        try {
+            BookCopyLoader.Result result = bookCopyLoader.load(job.getId(), chunk, knownAuthors);
+            authorIds.putAll(result.authorIds());
+            job.getRowsImported().addAndGet(result.imported());
+            job.getRowsSkipped().addAndGet(result.skipped());
+            job.getAuthorsCreated().addAndGet(result.authorsCreated());
+        } catch (DataAccessException e) {
+            log.error("Failed to load import chunk of {} rows for job {}", chunk.size(), job.getId(), e);
+            // A cached author may have been deleted meanwhile; look every author up again from now on.
+            authorIds.clear();
+            List<String> messages = List.of("Could not be stored: " + e.getMostSpecificCause().getMessage());
+            for (ImportRow row : chunk) {
+                reject(job, errors, ImportRowErrorDTO.builder()
+                        .line(row.line())
+                        .messages(messages)
+                        .title(row.title())
+                        .description(row.description())
+                        .publishedOn(row.publishedOn() == null ? null : row.publishedOn().toString())
+                        .author(row.author())
+                        .build());
+            }
+        }
+        chunk.clear();
+    }
+
+    private void reject(ImportJob job, Writer errors, ImportRowErrorDTO error) throws IOException {
+        job.getRowsRejected().incrementAndGet();
+        errors.write(objectMapper.writeValueAsString(error));
+        errors.write('\n');
+    }
+
+    private void evictFinishedJobs() {
+        int excess = jobs.size() - properties.getRetainedJobs();
+        if (excess <= 0) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(ImportJob::isFinished)
+                .sorted(Comparator.comparing(ImportJob::getFinishedAt))
+                .limit(excess)
+                .forEach(job -> {
+                    jobs.remove(job.getId());
+                    deleteQuietly(job.getErrorFile());
+                });
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.error("Could not delete import file {}", file, e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
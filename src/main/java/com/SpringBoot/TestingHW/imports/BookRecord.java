@@ -0,0 +1,19 @@
+package com.SpringBoot.TestingHW.imports;
+
+/**
+ * One book as read from a feed, before validation. {@code line} is where the record starts (1-based). When the
+ * record could not be parsed, {@code error} says why and {@code raw} holds the start of its text.
+ */
+record BookRecord(long line, String title, String description, String publishedOn, String author,
+                  String error, String raw) {
+    static final int MAX_RAW_LENGTH = 1000;
+
+    static BookRecord of(long line, String title, String description, String publishedOn, String author) {
+        return new BookRecord(line, title, description, publishedOn, author, null, null);
+    }
+
+    static BookRecord malformed(long line, String error, String raw) {
+        return new BookRecord(line, null, null, null, null, error,
+                raw.length() > MAX_RAW_LENGTH ? raw.substring(0, MAX_RAW_LENGTH) : raw);
+    }
+}
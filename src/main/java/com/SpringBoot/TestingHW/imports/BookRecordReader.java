@@ -0,0 +1,10 @@
+package com.SpringBoot.TestingHW.imports;
+
+import java.io.Closeable;
+
+/**
+ * Reads a feed one record at a time; {@link #next()} returns null at the end of the file.
+ */
+interface BookRecordReader extends Closeable {
+    BookRecord next();
+}
@@ -0,0 +1,185 @@
+package com.SpringBoot.TestingHW.imports;
+
+import com.SpringBoot.TestingHW.exceptions.BadRequestException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * RFC 4180 reader working directly on the mapped bytes: quoted fields may hold commas, doubled quotes and line
+ * breaks. Only complete field values are decoded into strings. A row with the wrong number of columns or a broken
+ * quote becomes a malformed record and reading resumes on the next line.
+ */
+final class CsvBookRecordReader implements BookRecordReader {
+    private static final int QUOTE = '"';
+    private static final int COMMA = ',';
+    private static final int CR = '\r';
+    private static final int LF = '\n';
+
+    private final MappedFile file;
+    private final int titleColumn;
+    private final int descriptionColumn;
+    private final int publishedOnColumn;
+    private final int authorColumn;
+    private final int columns;
+    private long position;
+    private long line = 1;
+
+    CsvBookRecordReader(MappedFile file) {
+        this.file = file;
+        this.position = file.contentStart();
+        List<String> header = readRow();
+        if (header == null) {
+            throw new BadRequestException("CSV import is empty, expected a header row");
+        }
+        this.columns = header.size();
+        this.titleColumn = column(header, "title");
+        this.descriptionColumn = column(header, "description");
+        this.publishedOnColumn = column(header, "publishedon");
+        this.authorColumn = Math.max(column(header, "author"), Math.max(column(header, "authorname"), column(header, "authoredby")));
+        if (titleColumn < 0 || descriptionColumn < 0) {
+            throw new BadRequestException("CSV header must name the title and description columns, got:" + header);
+        }
+    }
+
+    private static int column(List<String> header, String name) {
+        for (int i = 0; i < header.size(); i++) {
+            if (header.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT).equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public BookRecord next() {
+        while (position < file.size()) {
+            long start = position;
+            long startLine = line;
+            List<String> row;
+            try {
+                row = readRow();
+            } catch (MalformedRowException e) {
+                if (e.unterminated) {
+                    // without its closing quote the row's extent is unknown, so give up on its first physical line only
+                    position = start;
+                    line = startLine;
+                }
+                skipLine();
+                return BookRecord.malformed(startLine, e.getMessage(), raw(start));
+            }
+            if (row.size() == 1 && row.get(0).isEmpty()) {
+                continue;
+            }
+            if (row.size() != columns) {
+                return BookRecord.malformed(startLine, "Expected " + columns + " columns but found " + row.size(), raw(start));
+            }
+            return BookRecord.of(startLine, row.get(titleColumn), row.get(descriptionColumn),
+                    value(row, publishedOnColumn), value(row, authorColumn));
+        }
+        return null;
+    }
+
+    private String raw(long start) {
+        return file.string(start, Math.min(position, start + BookRecord.MAX_RAW_LENGTH)).stripTrailing();
+    }
+
+    private static String value(List<String> row, int column) {
+        if (column < 0 || row.get(column).isEmpty()) {
+            return null;
+        }
+        return row.get(column);
+    }
+
+    /**
+     * Reads the fields of the row at {@link #position} and leaves it on the first byte of the following row.
+     */
+    private List<String> readRow() {
+        long size = file.size();
+        if (position >= size) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        while (true) {
+            if (position < size && file.byteAt(position) == QUOTE) {
+                fields.add(readQuoted());
+            } else {
+                long start = position;
+                while (position < size && !isDelimiter(file.byteAt(position))) {
+                    position++;
+                }
+                fields.add(file.string(start, position));
+            }
+            if (position >= size) {
+                return fields;
+            }
+            int delimiter = file.byteAt(position++);
+            if (delimiter == COMMA) {
+                continue;
+            }
+            if (delimiter == CR && position < size && file.byteAt(position) == LF) {
+                position++;
+            }
+            line++;
+            return fields;
+        }
+    }
+
+    private String readQuoted() {
+        long size = file.size();
+        long start = ++position;
+        boolean escaped = false;
+        while (true) {
+            if (position >= size) {
+                throw new MalformedRowException("Unterminated quoted field", true);
+            }
+            int b = file.byteAt(position);
+            if (b == QUOTE) {
+                if (position + 1 < size && file.byteAt(position + 1) == QUOTE) {
+                    escaped = true;
+                    position += 2;
+                    continue;
+                }
+                String value = file.string(start, position++);
+                if (position < size && !isDelimiter(file.byteAt(position))) {
+                    throw new MalformedRowException("Unexpected character after closing quote", false);
+                }
+                return escaped ? value.replace("\"\"", "\"") : value;
+            }
+            if (b == LF) {
+                line++;
+            }
+            position++;
+        }
+    }
+
+    private void skipLine() {
+        long size = file.size();
+        while (position < size) {
+            if (file.byteAt(position++) == LF) {
+                line++;
+                return;
+            }
+        }
+    }
+
+    private static boolean isDelimiter(int b) {
+        return b == COMMA || b == LF || b == CR;
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+
+    private static final class MalformedRowException extends RuntimeException {
+        private final boolean unterminated;
+
+        MalformedRowException(String message, boolean unterminated) {
+            super(message, null, false, false);
+            this.unterminated = unterminated;
+        }
+    }
+}
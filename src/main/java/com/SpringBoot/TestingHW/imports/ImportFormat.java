@@ -0,0 +1,58 @@
+package com.SpringBoot.TestingHW.imports;
+
+import com.SpringBoot.TestingHW.exceptions.BadRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Feed formats accepted by {@code /book/import}. CSV needs a header row naming at least {@code title} and
+ * {@code description}; {@code published_on} and {@code author} are optional. NDJSON holds one object per line with
+ * the same fields ({@code publishedOn} and {@code authored_by.name} are accepted too).
+ */
+public enum ImportFormat {
+    CSV(new MediaType("text", "csv")),
+    NDJSON(MediaType.APPLICATION_NDJSON);
+
+    public static final String CSV_VALUE = "text/csv";
+
+    private final MediaType mediaType;
+
+    ImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public static ImportFormat of(MediaType contentType) {
+        for (ImportFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(contentType)) {
+                return format;
+            }
+        }
+        throw new BadRequestException("Unsupported import content type:" + contentType);
+    }
+
+    public static ImportFormat of(String format, Path file) {
+        String name = format != null ? format : file.getFileName().toString();
+        String lowerCase = name.toLowerCase(Locale.ROOT);
+        if (lowerCase.equals("csv") || lowerCase.endsWith(".csv")) {
+            return CSV;
+        }
+        if (lowerCase.equals("ndjson") || lowerCase.endsWith(".ndjson") || lowerCase.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new BadRequestException("Cannot tell the import format of " + name + ", pass format=csv or format=ndjson");
+    }
+
+    BookRecordReader open(Path file, ObjectMapper objectMapper) throws IOException {
+        MappedFile mappedFile = new MappedFile(file);
+        try {
+            return this == CSV ? new CsvBookRecordReader(mappedFile) : new NdjsonBookRecordReader(mappedFile, objectMapper);
+        } catch (RuntimeException e) {
+            mappedFile.close();
+            throw e;
+        }
+    }
+}
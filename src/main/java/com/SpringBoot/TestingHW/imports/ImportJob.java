@@ -0,0 +1,78 @@
+package com.SpringBoot.TestingHW.imports;
+
+import com.SpringBoot.TestingHW.dto.ImportJobDTO;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one import. Written by its worker thread and read by GET requests, hence the atomics and volatiles.
+ */
+@Getter
+class ImportJob {
+    enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final UUID id = UUID.randomUUID();
+    private final ImportFormat format;
+    private final Path file;
+    // true when file is a copy of an upload that the job deletes when it finishes
+    private final boolean upload;
+    private final Path errorFile;
+    private final Instant submittedAt = Instant.now();
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String failure;
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsImported = new AtomicLong();
+    private final AtomicLong rowsSkipped = new AtomicLong();
+    private final AtomicLong rowsRejected = new AtomicLong();
+    private final AtomicLong authorsCreated = new AtomicLong();
+
+    ImportJob(ImportFormat format, Path file, boolean upload, Path workDirectory) {
+        this.format = format;
+        this.file = file;
+        this.upload = upload;
+        this.errorFile = workDirectory.resolve("errors-" + id + ".ndjson");
+    }
+
+    void start() {
+        startedAt = Instant.now();
+        status = Status.RUNNING;
+    }
+
+    void complete() {
+        finishedAt = Instant.now();
+        status = Status.COMPLETED;
+    }
+
+    void fail(String reason) {
+        failure = reason;
+        finishedAt = Instant.now();
+        status = Status.FAILED;
+    }
+
+    boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    ImportJobDTO toDto() {
+        return ImportJobDTO.builder()
+                .id(id)
+                .format(format.name())
+                .status(status.name())
+                .submittedAt(submittedAt)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .rowsRead(rowsRead.get())
+                .rowsImported(rowsImported.get())
+                .rowsSkipped(rowsSkipped.get())
+                .rowsRejected(rowsRejected.get())
+                .authorsCreated(authorsCreated.get())
+                .failure(failure)
+                .build();
+    }
+}
@@ -0,0 +1,9 @@
+package com.SpringBoot.TestingHW.imports;
+
+import java.time.LocalDate;
+
+/**
+ * A validated feed row, normalized the way BookService stores books: title and author name upper-cased.
+ */
+record ImportRow(long line, String title, String description, LocalDate publishedOn, String author) {
+}
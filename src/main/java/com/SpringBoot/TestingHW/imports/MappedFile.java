@@ -0,0 +1,92 @@
+package com.SpringBoot.TestingHW.imports;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only view of a file through a sliding memory-mapped window, so files of any size are read without copying
+ * them onto the heap. Callers move forward through the file; a value that straddles the window is re-mapped from its
+ * first byte, which limits a single record to the window size.
+ */
+final class MappedFile implements Closeable {
+    static final int DEFAULT_WINDOW_SIZE = 64 << 20;
+
+    private final FileChannel channel;
+    private final long size;
+    private final int windowSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int windowLength;
+
+    MappedFile(Path path) throws IOException {
+        this(path, DEFAULT_WINDOW_SIZE);
+    }
+
+    MappedFile(Path path, int windowSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.windowSize = windowSize;
+    }
+
+    long size() {
+        return size;
+    }
+
+    /**
+     * Position of the first byte after a UTF-8 byte order mark, if the file starts with one.
+     */
+    long contentStart() {
+        return size >= 3 && byteAt(0) == 0xEF && byteAt(1) == 0xBB && byteAt(2) == 0xBF ? 3 : 0;
+    }
+
+    /**
+     * The unsigned byte at {@code position}, which must be below {@link #size()}.
+     */
+    int byteAt(long position) {
+        long offset = position - windowStart;
+        if (offset < 0 || offset >= windowLength) {
+            map(position);
+            offset = 0;
+        }
+        return window.get((int) offset) & 0xFF;
+    }
+
+    byte[] bytes(long from, long to) {
+        long length = to - from;
+        if (length > windowSize) {
+            throw new IllegalStateException("Record at byte " + from + " is longer than " + windowSize + " bytes");
+        }
+        if (from < windowStart || to > windowStart + windowLength) {
+            map(from);
+        }
+        byte[] bytes = new byte[(int) length];
+        window.get((int) (from - windowStart), bytes);
+        return bytes;
+    }
+
+    String string(long from, long to) {
+        return new String(bytes(from, to), StandardCharsets.UTF_8);
+    }
+
+    private void map(long position) {
+        try {
+            windowStart = position;
+            windowLength = (int) Math.min(windowSize, size - position);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowLength);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+}
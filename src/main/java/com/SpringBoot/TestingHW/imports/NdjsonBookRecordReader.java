@@ -0,0 +1,67 @@
+package com.SpringBoot.TestingHW.imports;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+
+/**
+ * Newline-delimited JSON reader: each non-blank line is parsed on its own, so one broken line only costs that record.
+ */
+final class NdjsonBookRecordReader implements BookRecordReader {
+    private static final int LF = '\n';
+
+    private final MappedFile file;
+    private final ObjectMapper objectMapper;
+    private long position;
+    private long line;
+
+    NdjsonBookRecordReader(MappedFile file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+        this.position = file.contentStart();
+    }
+
+    @Override
+    public BookRecord next() {
+        long size = file.size();
+        while (position < size) {
+            long start = position;
+            while (position < size && file.byteAt(position) != LF) {
+                position++;
+            }
+            String json = file.string(start, position).strip();
+            position++;
+            line++;
+            if (json.isEmpty()) {
+                continue;
+            }
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(json);
+            } catch (JsonProcessingException e) {
+                return BookRecord.malformed(line, "Invalid JSON: " + e.getOriginalMessage(), json);
+            }
+            if (!node.isObject()) {
+                return BookRecord.malformed(line, "Expected a JSON object", json);
+            }
+            String publishedOn = text(node.get("publishedOn"));
+            String author = text(node.get("author"));
+            JsonNode authoredBy = node.has("authored_by") ? node.get("authored_by") : node.get("authoredBy");
+            return BookRecord.of(line, text(node.get("title")), text(node.get("description")),
+                    publishedOn != null ? publishedOn : text(node.get("published_on")),
+                    author != null ? author : text(authoredBy != null ? authoredBy.get("name") : null));
+        }
+        return null;
+    }
+
+    private static String text(JsonNode node) {
+        return node == null || node.isNull() || node.isContainerNode() ? null : node.asText();
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+}
@@ -0,0 +1,176 @@
+package com.SpringBoot.TestingHW.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+import org.slf4j.MDC;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Logback appender that hands events to a {@link MpscRingBuffer} and writes them to the nested appenders from a
+ * single daemon thread, so encoding and console/file I/O stay off request threads. The calling thread only formats
+ * the message (see {@link LogPayloads} for keeping that bounded) and claims a slot.
+ * <p>
+ * When the buffer is full, INFO and below are dropped while WARN and ERROR are written synchronously instead
+ * ("overflow"). Events below WARN logged while {@value #SAMPLED_OUT_MDC_KEY} is in the MDC are skipped before any
+ * formatting; {@link RequestLogSamplingFilter} sets it for requests that were not sampled. All outcomes are counted
+ * and published by {@link RequestLogMetrics}.
+ */
+public class AsyncRingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+    public static final String SAMPLED_OUT_MDC_KEY = "requestLog.sampledOut";
+
+    private static final int DRAIN_BATCH = 256;
+    private static final long MAX_IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long STOP_TIMEOUT_MILLIS = 1000;
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+    private final LongAdder sampledOut = new LongAdder();
+    private int capacity = 8192;
+    private MpscRingBuffer<ILoggingEvent> ring;
+    private Thread writer;
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addError("No appender attached to [" + name + "]");
+            return;
+        }
+        ring = new MpscRingBuffer<>(capacity);
+        writer = new Thread(this::drainLoop, "log-writer-" + name);
+        writer.setDaemon(true);
+        super.start();
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        LockSupport.unpark(writer);
+        try {
+            writer.join(STOP_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            addWarn("Writer of [" + name + "] did not finish within " + STOP_TIMEOUT_MILLIS + " ms, "
+                    + ring.size() + " events may be lost");
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        boolean important = event.getLevel().isGreaterOrEqual(Level.WARN);
+        if (!important && MDC.get(SAMPLED_OUT_MDC_KEY) != null) {
+            sampledOut.increment();
+            return;
+        }
+        event.prepareForDeferredProcessing();
+        if (ring.offer(event)) {
+            enqueued.increment();
+        } else if (important) {
+            overflowed.increment();
+            appenders.appendLoopOnAppenders(event);
+        } else {
+            dropped.increment();
+        }
+    }
+
+    private void drainLoop() {
+        int idleRounds = 0;
+        while (isStarted()) {
+            if (drain(DRAIN_BATCH) > 0) {
+                idleRounds = 0;
+            } else {
+                LockSupport.parkNanos(Math.min(MAX_IDLE_PARK_NANOS, 1_000L << Math.min(idleRounds++, 10)));
+            }
+        }
+        drain(Integer.MAX_VALUE);
+        appenders.detachAndStopAllAppenders();
+    }
+
+    private int drain(int limit) {
+        int drained = 0;
+        ILoggingEvent event;
+        while (drained < limit && (event = ring.poll()) != null) {
+            appenders.appendLoopOnAppenders(event);
+            drained++;
+        }
+        return drained;
+    }
+
+    public long enqueued() {
+        return enqueued.sum();
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    public long overflowed() {
+        return overflowed.sum();
+    }
+
+    public long sampledOut() {
+        return sampledOut.sum();
+    }
+
+    public int queueSize() {
+        return ring == null ? 0 : ring.size();
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
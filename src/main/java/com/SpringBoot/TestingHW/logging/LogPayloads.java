@@ -0,0 +1,48 @@
+package com.SpringBoot.TestingHW.logging;
+
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * Log arguments whose {@code toString} stops after a fixed number of characters, so logging a page of DTOs costs
+ * the same whether it holds ten rows or ten thousand. Rendering happens only when the event is actually logged.
+ */
+public final class LogPayloads {
+    public static final int MAX_CHARS = 512;
+
+    private LogPayloads() {
+    }
+
+    public static Object capped(Collection<?> items) {
+        return new CappedCollection(items, MAX_CHARS);
+    }
+
+    public static Object capped(Collection<?> items, int maxChars) {
+        return new CappedCollection(items, maxChars);
+    }
+
+    private record CappedCollection(Collection<?> items, int maxChars) {
+        @Override
+        public String toString() {
+            StringBuilder rendered = new StringBuilder(Math.min(maxChars, 64) + 32).append('[');
+            Iterator<?> iterator = items.iterator();
+            int shown = 0;
+            while (iterator.hasNext()) {
+                if (shown > 0) {
+                    rendered.append(", ");
+                }
+                rendered.append(iterator.next());
+                shown++;
+                if (rendered.length() > maxChars && iterator.hasNext()) {
+                    rendered.setLength(maxChars);
+                    return rendered.append("... (+").append(items.size() - shown).append(" more)]").toString();
+                }
+            }
+            if (rendered.length() > maxChars) {
+                rendered.setLength(maxChars);
+                rendered.append("...");
+            }
+            return rendered.append(']').toString();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.SpringBoot.TestingHW.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the counters of every {@link AsyncRingBufferAppender} on the root logger as
+ * {@code library.requestlog.events} (tagged {@code outcome} = enqueued, dropped, overflowed, sampled_out) and the
+ * current backlog as {@code library.requestlog.queue.size}.
+ */
+@Component
+public class RequestLogMetrics implements MeterBinder {
+    public static final String EVENTS_COUNTER = "library.requestlog.events";
+    public static final String QUEUE_GAUGE = "library.requestlog.queue.size";
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext loggerContext)) {
+            return;
+        }
+        Iterator<Appender<ILoggingEvent>> appenders =
+                loggerContext.getLogger(Logger.ROOT_LOGGER_NAME).iteratorForAppenders();
+        while (appenders.hasNext()) {
+            if (appenders.next() instanceof AsyncRingBufferAppender appender) {
+                counter(registry, appender, "enqueued", AsyncRingBufferAppender::enqueued);
+                counter(registry, appender, "dropped", AsyncRingBufferAppender::dropped);
+                counter(registry, appender, "overflowed", AsyncRingBufferAppender::overflowed);
+                counter(registry, appender, "sampled_out", AsyncRingBufferAppender::sampledOut);
+                Gauge.builder(QUEUE_GAUGE, appender, AsyncRingBufferAppender::queueSize)
+                        .description("Log events waiting for the writer thread")
+                        .tag("appender", appender.getName())
+                        .register(registry);
+            }
+        }
+    }
+
+    private static void counter(MeterRegistry registry, AsyncRingBufferAppender appender, String outcome,
+                                ToDoubleFunction<AsyncRingBufferAppender> count) {
+        FunctionCounter.builder(EVENTS_COUNTER, appender, count)
+                .description("Log events by what the asynchronous appender did with them")
+                .tag("appender", appender.getName())
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
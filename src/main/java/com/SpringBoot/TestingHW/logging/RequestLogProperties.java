@@ -0,0 +1,22 @@
+package com.SpringBoot.TestingHW.logging;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Share of requests whose INFO logging is kept, from 0.0 (none) to 1.0 (all). {@code routes} maps path patterns
+ * such as {@code /book/**} to a rate; the most specific matching pattern wins, other paths use {@code defaultRate}.
+ */
+@Component
+@ConfigurationProperties(prefix = "request.log.sampling")
+@Getter
+@Setter
+public class RequestLogProperties {
+    private double defaultRate = 1.0;
+    private Map<String, Double> routes = new LinkedHashMap<>();
+}
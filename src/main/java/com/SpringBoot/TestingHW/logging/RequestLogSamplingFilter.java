@@ -0,0 +1,68 @@
+package com.SpringBoot.TestingHW.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides once per request whether its INFO logging is kept, so a sampled request keeps all of its lines. Requests
+ * that are not sampled run with {@value AsyncRingBufferAppender#SAMPLED_OUT_MDC_KEY} in the MDC; WARN and ERROR are
+ * always logged. Runs first so that the other filters' lines are sampled too.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestLogSamplingFilter extends OncePerRequestFilter {
+    private final double defaultRate;
+    private final List<Map.Entry<PathPattern, Double>> routeRates;
+
+    public RequestLogSamplingFilter(RequestLogProperties properties) {
+        this.defaultRate = properties.getDefaultRate();
+        this.routeRates = properties.getRoutes().entrySet().stream()
+                .map(route -> Map.entry(PathPatternParser.defaultInstance.parse(route.getKey()), route.getValue()))
+                .sorted(Map.Entry.comparingByKey(PathPattern.SPECIFICITY_COMPARATOR))
+                .toList();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        double rate = rateFor(request.getRequestURI().substring(request.getContextPath().length()));
+        if (rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        MDC.put(AsyncRingBufferAppender.SAMPLED_OUT_MDC_KEY, "true");
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(AsyncRingBufferAppender.SAMPLED_OUT_MDC_KEY);
+        }
+    }
+
+    double rateFor(String path) {
+        if (routeRates.isEmpty()) {
+            return defaultRate;
+        }
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        for (Map.Entry<PathPattern, Double> route : routeRates) {
+            if (route.getKey().matches(pathContainer)) {
+                return route.getValue();
+            }
+        }
+        return defaultRate;
+    }
+}
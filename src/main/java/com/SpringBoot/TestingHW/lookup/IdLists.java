@@ -0,0 +1,82 @@
+package com.SpringBoot.TestingHW.lookup;
+
+import com.SpringBoot.TestingHW.exceptions.BadRequestException;
+
+import java.util.Arrays;
+
+/**
+ * Id lists of the multi-get endpoints, kept as {@code long[]} from the query string to the query parameter: a page
+ * resolving a few hundred ids should not allocate a {@code Long} and a substring per id on the way in.
+ */
+public final class IdLists {
+    public static final int MAX_IDS = 1000;
+
+    private IdLists() {
+    }
+
+    /**
+     * Parses {@code ids=1,2,3} (spaces around commas allowed) without splitting the string.
+     */
+    public static long[] parse(String ids) {
+        long[] parsed = new long[Math.min(ids.length() / 2 + 1, MAX_IDS)];
+        int count = 0;
+        int start = 0;
+        while (start <= ids.length()) {
+            int end = ids.indexOf(',', start);
+            if (end < 0) {
+                end = ids.length();
+            }
+            int from = start;
+            int to = end;
+            while (from < to && ids.charAt(from) == ' ') {
+                from++;
+            }
+            while (to > from && ids.charAt(to - 1) == ' ') {
+                to--;
+            }
+            if (count == parsed.length) {
+                throw tooMany();
+            }
+            try {
+                parsed[count++] = Long.parseLong(ids, from, to, 10);
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("Invalid id: '" + ids.substring(from, to) + "'");
+            }
+            start = end + 1;
+        }
+        return Arrays.copyOf(parsed, count);
+    }
+
+    /**
+     * The ids in request order with repeats dropped; rejects empty and oversized lists.
+     */
+    public static long[] distinct(long[] ids) {
+        if (ids.length == 0) {
+            throw new BadRequestException("At least one id is required");
+        }
+        if (ids.length > MAX_IDS) {
+            throw tooMany();
+        }
+        long[] sorted = ids.clone();
+        Arrays.sort(sorted);
+        boolean[] seen = new boolean[sorted.length];
+        long[] distinct = new long[ids.length];
+        int count = 0;
+        for (long id : ids) {
+            // binarySearch may land on any copy of a repeated id, so mark the first one.
+            int position = Arrays.binarySearch(sorted, id);
+            while (position > 0 && sorted[position - 1] == id) {
+                position--;
+            }
+            if (!seen[position]) {
+                seen[position] = true;
+                distinct[count++] = id;
+            }
+        }
+        return count == ids.length ? distinct : Arrays.copyOf(distinct, count);
+    }
+
+    private static BadRequestException tooMany() {
+        return new BadRequestException("At most " + MAX_IDS + " ids can be fetched at once");
+    }
+}
@@ -0,0 +1,44 @@
+package com.SpringBoot.TestingHW.lookup;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Result of a multi-get: the rows found, in request order, and the requested ids that matched nothing.
+ * Unwrapped into the {@code ApiResponse} envelope by {@code GlobalResponseHandler}.
+ */
+@Data
+@AllArgsConstructor
+public class MultiGetResult<T> {
+    private List<T> items;
+    private long[] missingIds;
+
+    /**
+     * Puts {@code rows}, fetched in id order, back into the order of the distinct {@code ids}. Each id yields at most
+     * one item, so the result stays well-formed even if {@code rows} repeats an id.
+     */
+    public static <E, T> MultiGetResult<T> of(long[] ids, List<E> rows, ToLongFunction<E> idOf, Function<E, T> mapper) {
+        long[] rowIds = new long[rows.size()];
+        for (int i = 0; i < rowIds.length; i++) {
+            rowIds[i] = idOf.applyAsLong(rows.get(i));
+        }
+        List<T> items = new ArrayList<>(rows.size());
+        long[] missing = new long[ids.length];
+        int missingCount = 0;
+        for (long id : ids) {
+            int position = Arrays.binarySearch(rowIds, id);
+            if (position >= 0) {
+                items.add(mapper.apply(rows.get(position)));
+            } else {
+                missing[missingCount++] = id;
+            }
+        }
+        return new MultiGetResult<>(items, Arrays.copyOf(missing, missingCount));
+    }
+}
@@ -0,0 +1,45 @@
+package com.SpringBoot.TestingHW.mapper;
+
+import com.SpringBoot.TestingHW.dto.AuthorDTO;
+import com.SpringBoot.TestingHW.entity.AuthorEntity;
+import com.SpringBoot.TestingHW.projection.AuthorView;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hand-written replacement for the reflective {@code ModelMapper} on author read/write paths.
+ * Copies id and name only, so the lazy {@code bookEntityList} collection is never initialized.
+ */
+@Component
+public class AuthorMapper {
+
+    public AuthorDTO toDto(AuthorEntity author) {
+        if (author == null) {
+            return null;
+        }
+        return AuthorDTO.builder()
+                .id(author.getId())
+                .version(author.getVersion())
+                .name(author.getName())
+                .build();
+    }
+
+    public AuthorDTO toDto(AuthorView view) {
+        if (view == null) {
+            return null;
+        }
+        return AuthorDTO.builder()
+                .id(view.id())
+                .name(view.name())
+                .build();
+    }
+
+    public AuthorEntity toEntity(AuthorDTO authorDto) {
+        if (authorDto == null) {
+            return null;
+        }
+        return AuthorEntity.builder()
+                .id(authorDto.getId())
+                .name(authorDto.getName())
+                .build();
+    }
+}
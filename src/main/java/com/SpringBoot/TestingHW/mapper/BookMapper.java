@@ -0,0 +1,61 @@
+package com.SpringBoot.TestingHW.mapper;
+
+import com.SpringBoot.TestingHW.dto.AuthorDTO;
+import com.SpringBoot.TestingHW.dto.BookDTO;
+import com.SpringBoot.TestingHW.entity.bookEntity;
+import com.SpringBoot.TestingHW.projection.BookView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hand-written replacement for the reflective {@code ModelMapper} on book read/write paths.
+ * The author is mapped as a summary (id and name) through {@link AuthorMapper}. {@link #toEntity} leaves the
+ * author unset: BookService resolves it by id, a detached author built from the DTO has no version to persist with.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookMapper {
+    private final AuthorMapper authorMapper;
+
+    public BookDTO toDto(bookEntity book) {
+        if (book == null) {
+            return null;
+        }
+        return BookDTO.builder()
+                .id(book.getId())
+                .version(book.getVersion())
+                .title(book.getTitle())
+                .description(book.getDescription())
+                .publishedOn(book.getPublishedOn())
+                .authored_by(authorMapper.toDto(book.getAuthoredBy()))
+                .build();
+    }
+
+    public BookDTO toDto(BookView view) {
+        if (view == null) {
+            return null;
+        }
+        return BookDTO.builder()
+                .id(view.id())
+                .title(view.title())
+                .description(view.description())
+                .publishedOn(view.publishedOn())
+                .authored_by(view.authorId() == null ? null : AuthorDTO.builder()
+                        .id(view.authorId())
+                        .name(view.authorName())
+                        .build())
+                .build();
+    }
+
+    public bookEntity toEntity(BookDTO bookDto) {
+        if (bookDto == null) {
+            return null;
+        }
+        return bookEntity.builder()
+                .id(bookDto.getId())
+                .title(bookDto.getTitle())
+                .description(bookDto.getDescription())
+                .publishedOn(bookDto.getPublishedOn())
+                .build();
+    }
+}
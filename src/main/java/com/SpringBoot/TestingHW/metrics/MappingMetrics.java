@@ -0,0 +1,39 @@
+package com.SpringBoot.TestingHW.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Timers around the entity/projection to DTO mapping in the services, published as {@code library.mapping} with a
+ * {@code type} tag. The timers are registered once, so recording a mapping is a clock read and an atomic add.
+ */
+@Component
+public class MappingMetrics {
+    public static final String MAPPING_TIMER = "library.mapping";
+
+    private final Timer bookMapping;
+    private final Timer authorMapping;
+
+    public MappingMetrics(MeterRegistry meterRegistry) {
+        this.bookMapping = timer(meterRegistry, "book");
+        this.authorMapping = timer(meterRegistry, "author");
+    }
+
+    public <T> T book(Supplier<T> mapping) {
+        return bookMapping.record(mapping);
+    }
+
+    public <T> T author(Supplier<T> mapping) {
+        return authorMapping.record(mapping);
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String type) {
+        return Timer.builder(MAPPING_TIMER)
+                .description("Time spent mapping entities and projections to DTOs")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,44 @@
+package com.SpringBoot.TestingHW.metrics;
+
+/**
+ * Per-thread tally of the JDBC statements executed through the proxied {@code DataSource} and the time the database
+ * spent on them. A servlet request runs on one thread from start to finish, so {@link SqlStatementCountingFilter}
+ * resets it when a request comes in and reads it on the way out. Tests call {@link #reset()} before the code under test.
+ * Statements run on other threads (async request processing, the NDJSON export, import jobs) land in those threads'
+ * tallies, so the request that started them reports only what ran on its own thread.
+ */
+public final class SqlStatementCounter {
+    public static final String COUNT_HEADER = "X-SQL-Count";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    private static final ThreadLocal<Tally> TALLY = ThreadLocal.withInitial(Tally::new);
+
+    private SqlStatementCounter() {
+    }
+
+    public static void reset() {
+        Tally tally = TALLY.get();
+        tally.statements = 0;
+        tally.elapsedMillis = 0;
+    }
+
+    public static int statements() {
+        return TALLY.get().statements;
+    }
+
+    public static long elapsedMillis() {
+        return TALLY.get().elapsedMillis;
+    }
+
+    static void record(long elapsedMillis) {
+        Tally tally = TALLY.get();
+        tally.statements++;
+        tally.elapsedMillis += elapsedMillis;
+    }
+
+    // Mutable so recording a statement does not allocate.
+    private static final class Tally {
+        private int statements;
+        private long elapsedMillis;
+    }
+}
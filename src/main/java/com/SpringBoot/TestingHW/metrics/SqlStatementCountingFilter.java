@@ -0,0 +1,98 @@
+package com.SpringBoot.TestingHW.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Counts the SQL statements each HTTP request issued and the time the database took for them. A request over the
+ * {@code sql.statements.budget.*} limits is logged at WARN, every other request only at DEBUG. When
+ * {@code sql.statements.header.enabled} is set, the same figures go out as {@value SqlStatementCounter#COUNT_HEADER}
+ * and {@value SqlStatementCounter#TIME_HEADER}. They are stamped just before the body starts, or at the end for
+ * responses without a body.
+ * <p>
+ * Only statements issued on the request thread are counted (see {@link SqlStatementCounter}): work handed to another
+ * thread, such as a {@code StreamingResponseBody} export or an import job, is not included in the figures.
+ */
+@Component
+@Slf4j
+public class SqlStatementCountingFilter extends OncePerRequestFilter {
+    private final boolean headerEnabled;
+    private final int maxStatements;
+    private final long maxMillis;
+
+    public SqlStatementCountingFilter(@Value("${sql.statements.header.enabled:false}") boolean headerEnabled,
+                                      @Value("${sql.statements.budget.max-statements:50}") int maxStatements,
+                                      @Value("${sql.statements.budget.max-millis:500}") long maxMillis) {
+        this.headerEnabled = headerEnabled;
+        this.maxStatements = maxStatements;
+        this.maxMillis = maxMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementCounter.reset();
+        try {
+            filterChain.doFilter(request, headerEnabled ? new StampingResponse(response) : response);
+        } finally {
+            if (headerEnabled && !response.isCommitted()) {
+                stamp(response);
+            }
+            int statements = SqlStatementCounter.statements();
+            long elapsedMillis = SqlStatementCounter.elapsedMillis();
+            if (statements > maxStatements || elapsedMillis > maxMillis) {
+                log.warn("{} {} issued {} SQL statements, {} ms in the database, over the budget of {} statements / {} ms",
+                        request.getMethod(), request.getRequestURI(), statements, elapsedMillis, maxStatements, maxMillis);
+            } else if (log.isDebugEnabled()) {
+                log.debug("{} {} issued {} SQL statements, {} ms in the database",
+                        request.getMethod(), request.getRequestURI(), statements, elapsedMillis);
+            }
+        }
+    }
+
+    private static void stamp(HttpServletResponse response) {
+        response.setHeader(SqlStatementCounter.COUNT_HEADER, String.valueOf(SqlStatementCounter.statements()));
+        response.setHeader(SqlStatementCounter.TIME_HEADER, String.valueOf(SqlStatementCounter.elapsedMillis()));
+    }
+
+    private static final class StampingResponse extends HttpServletResponseWrapper {
+        private StampingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            stampIfUncommitted();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            stampIfUncommitted();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            stampIfUncommitted();
+            super.flushBuffer();
+        }
+
+        private void stampIfUncommitted() {
+            if (!isCommitted()) {
+                stamp((HttpServletResponse) getResponse());
+            }
+        }
+    }
+}
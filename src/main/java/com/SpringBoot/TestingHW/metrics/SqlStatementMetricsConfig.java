@@ -0,0 +1,49 @@
+package com.SpringBoot.TestingHW.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Wraps the JDBC {@code DataSource} in a datasource-proxy that feeds {@link SqlStatementCounter}. One execution
+ * (a statement, or a whole JDBC batch) counts as one round trip. The proxy still unwraps to the Hikari pool, so the
+ * pool metrics keep working.
+ */
+@Configuration(proxyBeanMethods = false)
+public class SqlStatementMetricsConfig {
+
+    @Bean
+    static BeanPostProcessor sqlStatementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new CountingListener())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static final class CountingListener implements QueryExecutionListener {
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            SqlStatementCounter.record(execInfo.getElapsedTime());
+        }
+    }
+}
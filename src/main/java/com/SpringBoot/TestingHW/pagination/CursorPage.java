@@ -0,0 +1,32 @@
+package com.SpringBoot.TestingHW.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One page of a keyset-paginated list. {@code nextCursor} is null on the last page.
+ * Unwrapped into the {@code ApiResponse} envelope by {@code GlobalResponseHandler}.
+ */
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+
+    /**
+     * Builds a page from rows fetched with {@code limit + 1}; the extra row only signals that another page exists.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int limit, Function<E, T> mapper, Function<E, String> cursorOf) {
+        boolean hasNext = rows.size() > limit;
+        List<E> pageRows = hasNext ? rows.subList(0, limit) : rows;
+        List<T> items = pageRows.stream()
+                .map(mapper)
+                .collect(Collectors.toList());
+        String nextCursor = hasNext ? cursorOf.apply(pageRows.get(limit - 1)) : null;
+        return new CursorPage<>(items, nextCursor);
+    }
+}
@@ -0,0 +1,139 @@
+package com.SpringBoot.TestingHW.pagination;
+
+import com.SpringBoot.TestingHW.exceptions.BadRequestException;
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque {@code after} tokens used for keyset pagination.
+ * Tokens are url-safe base64 of {@code i:<id>}, {@code d:<epochDay>:<id>} or {@code o:<offset>};
+ * clients must treat them as opaque.
+ */
+public final class Cursors {
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private static final String ID_PREFIX = "i:";
+    private static final String DATE_ID_PREFIX = "d:";
+    private static final String OFFSET_PREFIX = "o:";
+
+    private Cursors() {
+    }
+
+    public static int clampLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be at least 1");
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * Query limit for a page of {@code pageSize}: one extra row tells whether a next page exists.
+     */
+    public static Limit fetchLimit(int pageSize) {
+        return Limit.of(pageSize + 1);
+    }
+
+    public static String encodeId(long id) {
+        return encode(ID_PREFIX + id);
+    }
+
+    /**
+     * Returns the last seen id, or 0 for the first page (ids are always positive).
+     */
+    public static long decodeId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        String value = decode(cursor);
+        if (!value.startsWith(ID_PREFIX)) {
+            throw invalid(cursor);
+        }
+        return parseLong(value.substring(ID_PREFIX.length()), cursor);
+    }
+
+    public static String encodeDateAndId(LocalDate date, long id) {
+        return encode(DATE_ID_PREFIX + date.toEpochDay() + ":" + id);
+    }
+
+    /**
+     * Returns the last seen {@code (publishedOn, id)} key, or null for the first page.
+     */
+    public static DateIdKey decodeDateAndId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String value = decode(cursor);
+        if (!value.startsWith(DATE_ID_PREFIX)) {
+            throw invalid(cursor);
+        }
+        String[] parts = value.substring(DATE_ID_PREFIX.length()).split(":");
+        if (parts.length != 2) {
+            throw invalid(cursor);
+        }
+        LocalDate date;
+        try {
+            date = LocalDate.ofEpochDay(parseLong(parts[0], cursor));
+        } catch (DateTimeException e) {
+            throw invalid(cursor);
+        }
+        return new DateIdKey(date, parseLong(parts[1], cursor));
+    }
+
+    public static String encodeOffset(long offset) {
+        return encode(OFFSET_PREFIX + offset);
+    }
+
+    /**
+     * Returns the number of rows already returned, or 0 for the first page. Only used for ranked results
+     * (search), where every match has to be scored before the first row is known anyway.
+     */
+    public static long decodeOffset(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        String value = decode(cursor);
+        if (!value.startsWith(OFFSET_PREFIX)) {
+            throw invalid(cursor);
+        }
+        long offset = parseLong(value.substring(OFFSET_PREFIX.length()), cursor);
+        if (offset < 0) {
+            throw invalid(cursor);
+        }
+        return offset;
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+        } catch (IllegalArgumentException e) {
+            throw invalid(cursor);
+        }
+    }
+
+    private static long parseLong(String value, String cursor) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw invalid(cursor);
+        }
+    }
+
+    private static BadRequestException invalid(String cursor) {
+        return new BadRequestException("Invalid cursor:" + cursor);
+    }
+
+    public record DateIdKey(LocalDate publishedOn, long id) {
+    }
+}
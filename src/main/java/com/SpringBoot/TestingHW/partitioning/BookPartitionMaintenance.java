@@ -0,0 +1,59 @@
+package com.SpringBoot.TestingHW.partitioning;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps book partitioned ahead of time: a book published in a year without a partition would otherwise sit in
+ * book_default, which every date-range query has to scan. Several instances may run this at once; the database
+ * function serializes them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookPartitionMaintenance {
+    private final BookPartitionProperties properties;
+    private final BookPartitionRepository bookPartitionRepository;
+    private ScheduledExecutorService scheduler;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "book-partitions");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getCheckInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::createPartitions, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    void createPartitions() {
+        try {
+            List<String> created = bookPartitionRepository.createPartitions(properties.getYearsAhead());
+            if (!created.isEmpty()) {
+                log.info("Created book partitions: {}", created);
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not create book partitions, retrying in {}", properties.getCheckInterval(), e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.SpringBoot.TestingHW.partitioning;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Yearly partitions of book (V5). Every {@code checkInterval} the partitions for the current year and the next
+ * {@code yearsAhead} are created if missing, and years that collected rows in the default partition get their own.
+ */
+@Component
+@ConfigurationProperties(prefix = "book.partitions")
+@Getter
+@Setter
+public class BookPartitionProperties {
+    private boolean enabled = true;
+    private int yearsAhead = 2;
+    private Duration checkInterval = Duration.ofHours(12);
+}
@@ -0,0 +1,27 @@
+package com.SpringBoot.TestingHW.partitioning;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public class BookPartitionRepository {
+    static final String CREATE_PARTITIONS_SQL = "select p from create_book_partitions(:yearsAhead) p";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Runs the V5 maintenance function on the primary; returns the names of the partitions it created.
+     */
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public List<String> createPartitions(int yearsAhead) {
+        return entityManager.createNativeQuery(CREATE_PARTITIONS_SQL, String.class)
+                .setParameter("yearsAhead", yearsAhead)
+                .getResultList();
+    }
+}
@@ -0,0 +1,7 @@
+package com.SpringBoot.TestingHW.projection;
+
+/**
+ * Read-only row selected by the author list queries. Instances are never managed by the persistence context.
+ */
+public record AuthorView(Long id, String name) {
+}
@@ -0,0 +1,11 @@
+package com.SpringBoot.TestingHW.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only row selected by the book list queries: just the columns a {@code BookDTO} needs, with the
+ * author summary flattened in. Instances are never managed by the persistence context.
+ */
+public record BookView(Long id, String title, String description, LocalDate publishedOn,
+                       Long authorId, String authorName) {
+}
@@ -0,0 +1,32 @@
+package com.SpringBoot.TestingHW.reactive;
+
+import com.SpringBoot.TestingHW.dto.AuthorDTO;
+import com.SpringBoot.TestingHW.mapper.AuthorMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive mirror of the {@code AuthorController} GET routes; see {@link ReactiveBookHandler}.
+ */
+@RequiredArgsConstructor
+public class ReactiveAuthorHandler {
+    private final ReactiveAuthorRepository authorRepository;
+    private final AuthorMapper authorMapper;
+
+    public Mono<ServerResponse> getAllAuthors(ServerRequest request) {
+        return ReactiveResponses.stream(request, authorRepository.findAll().map(authorMapper::toDto), AuthorDTO.class);
+    }
+
+    public Mono<ServerResponse> getAuthorById(ServerRequest request) {
+        long authorId = Long.parseLong(request.pathVariable("authorId"));
+        return ReactiveResponses.item(authorRepository.findById(authorId).map(authorMapper::toDto),
+                "Author not found by id:" + authorId);
+    }
+
+    public Mono<ServerResponse> getAuthorsByName(ServerRequest request) {
+        String name = request.pathVariable("name").toUpperCase();
+        return ReactiveResponses.stream(request, authorRepository.findByName(name).map(authorMapper::toDto), AuthorDTO.class);
+    }
+}
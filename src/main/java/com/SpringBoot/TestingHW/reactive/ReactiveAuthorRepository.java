@@ -0,0 +1,52 @@
+package com.SpringBoot.TestingHW.reactive;
+
+import com.SpringBoot.TestingHW.projection.AuthorView;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of the {@code AuthorRepository} read queries; see {@link ReactiveBookRepository}.
+ */
+@RequiredArgsConstructor
+public class ReactiveAuthorRepository {
+    private static final String AUTHOR_VIEW = "select a.id, a.name from author a ";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<AuthorView> findById(long id) {
+        return databaseClient.sql(AUTHOR_VIEW + "where a.id = :id")
+                .bind("id", id)
+                .map(ReactiveAuthorRepository::toView)
+                .one();
+    }
+
+    public Mono<Boolean> existsById(long id) {
+        return databaseClient.sql("select exists(select 1 from author where id = :id)")
+                .bind("id", id)
+                .map(row -> row.get(0, Boolean.class))
+                .one();
+    }
+
+    public Flux<AuthorView> findAll() {
+        return stream(databaseClient.sql(AUTHOR_VIEW + "order by a.id"));
+    }
+
+    public Flux<AuthorView> findByName(String upperCase) {
+        return stream(databaseClient.sql(AUTHOR_VIEW + "where a.name = :name order by a.id")
+                .bind("name", upperCase));
+    }
+
+    private static Flux<AuthorView> stream(DatabaseClient.GenericExecuteSpec spec) {
+        return spec
+                .filter(statement -> statement.fetchSize(ReactiveBookRepository.FETCH_SIZE))
+                .map(ReactiveAuthorRepository::toView)
+                .all();
+    }
+
+    private static AuthorView toView(Readable row) {
+        return new AuthorView(row.get("id", Long.class), row.get("name", String.class));
+    }
+}
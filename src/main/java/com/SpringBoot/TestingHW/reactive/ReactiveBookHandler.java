@@ -0,0 +1,64 @@
+package com.SpringBoot.TestingHW.reactive;
+
+import com.SpringBoot.TestingHW.dto.BookDTO;
+import com.SpringBoot.TestingHW.exceptions.BadRequestException;
+import com.SpringBoot.TestingHW.exceptions.ResourceNotFoundException;
+import com.SpringBoot.TestingHW.mapper.BookMapper;
+import com.SpringBoot.TestingHW.projection.BookView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Reactive mirror of the {@code BookController} GET routes. List routes stream the whole result, paced by the
+ * client; they take no {@code after}/{@code limit}, since a streamed body has nowhere to put the next cursor.
+ */
+@RequiredArgsConstructor
+public class ReactiveBookHandler {
+    private final ReactiveBookRepository bookRepository;
+    private final ReactiveAuthorRepository authorRepository;
+    private final BookMapper bookMapper;
+
+    public Mono<ServerResponse> getAllBooks(ServerRequest request) {
+        return stream(request, bookRepository.findAll());
+    }
+
+    public Mono<ServerResponse> getBookById(ServerRequest request) {
+        long bookId = Long.parseLong(request.pathVariable("bookId"));
+        return ReactiveResponses.item(bookRepository.findById(bookId).map(bookMapper::toDto),
+                "Book not found by id:" + bookId);
+    }
+
+    public Mono<ServerResponse> getBooksPublishedAfterDate(ServerRequest request) {
+        LocalDate date = LocalDate.parse(request.pathVariable("date"));
+        return stream(request, bookRepository.findPublishedAfter(date));
+    }
+
+    public Mono<ServerResponse> getBooksByTitle(ServerRequest request) {
+        String title = request.pathVariable("title").toUpperCase();
+        return stream(request, bookRepository.findByTitle(title));
+    }
+
+    public Mono<ServerResponse> getBooksAuthoredBy(ServerRequest request) {
+        long authorId = Long.parseLong(request.pathVariable("authorId"));
+        return authorRepository.existsById(authorId)
+                .flatMap(exists -> exists
+                        ? stream(request, bookRepository.findByAuthor(authorId))
+                        : Mono.error(new ResourceNotFoundException("Author not found by id:" + authorId)));
+    }
+
+    public Mono<ServerResponse> searchBooks(ServerRequest request) {
+        String query = request.queryParam("q")
+                .filter(q -> !q.isBlank())
+                .orElseThrow(() -> new BadRequestException("Search query must not be blank"));
+        return stream(request, bookRepository.search(query.trim()));
+    }
+
+    private Mono<ServerResponse> stream(ServerRequest request, Flux<BookView> rows) {
+        return ReactiveResponses.stream(request, rows.map(bookMapper::toDto), BookDTO.class);
+    }
+}
@@ -0,0 +1,80 @@
+package com.SpringBoot.TestingHW.reactive;
+
+import com.SpringBoot.TestingHW.projection.BookView;
+import com.SpringBoot.TestingHW.repository.BookSearchRepository;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Non-blocking counterpart of the {@code BookRepository} read queries. List queries run with a fetch size, so
+ * PostgreSQL hands rows over in batches as the subscriber requests them instead of buffering the whole result.
+ * There is no paging: each query streams its whole result and the subscriber's demand paces it.
+ */
+@RequiredArgsConstructor
+public class ReactiveBookRepository {
+    static final int FETCH_SIZE = 256;
+
+    private static final String BOOK_VIEW = """
+            select b.id, b.title, b.description, b.published_on, a.id as author_id, a.name as author_name
+            from book b
+            left join author a on a.id = b.author_id
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<BookView> findById(long id) {
+        return databaseClient.sql(BOOK_VIEW + "where b.id = :id")
+                .bind("id", id)
+                .map(ReactiveBookRepository::toView)
+                .one();
+    }
+
+    public Flux<BookView> findAll() {
+        return stream(databaseClient.sql(BOOK_VIEW + "order by b.id"));
+    }
+
+    public Flux<BookView> findByTitle(String upperCase) {
+        return stream(databaseClient.sql(BOOK_VIEW + "where b.title = :title order by b.id")
+                .bind("title", upperCase));
+    }
+
+    public Flux<BookView> findByAuthor(long authorId) {
+        return stream(databaseClient.sql(BOOK_VIEW + "where b.author_id = :authorId order by b.id")
+                .bind("authorId", authorId));
+    }
+
+    public Flux<BookView> findPublishedAfter(LocalDate date) {
+        return stream(databaseClient.sql(BOOK_VIEW + "where b.published_on > :date order by b.published_on, b.id")
+                .bind("date", date));
+    }
+
+    // Same ranking as the MVC search, from the first hit to the last (LIMIT NULL means no limit).
+    public Flux<BookView> search(String query) {
+        return stream(databaseClient.sql(BookSearchRepository.SEARCH_SQL)
+                .bind("query", query)
+                .bind("offset", 0L)
+                .bindNull("limit", Integer.class));
+    }
+
+    private static Flux<BookView> stream(DatabaseClient.GenericExecuteSpec spec) {
+        return spec
+                .filter(statement -> statement.fetchSize(FETCH_SIZE))
+                .map(ReactiveBookRepository::toView)
+                .all();
+    }
+
+    private static BookView toView(Readable row) {
+        return new BookView(
+                row.get("id", Long.class),
+                row.get("title", String.class),
+                row.get("description", String.class),
+                row.get("published_on", LocalDate.class),
+                row.get("author_id", Long.class),
+                row.get("author_name", String.class));
+    }
+}
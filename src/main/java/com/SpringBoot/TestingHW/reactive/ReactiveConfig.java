@@ -0,0 +1,115 @@
+package com.SpringBoot.TestingHW.reactive;
+
+import com.SpringBoot.TestingHW.mapper.AuthorMapper;
+import com.SpringBoot.TestingHW.mapper.BookMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcConnectionDetails;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.time.Duration;
+
+/**
+ * Reactive read API served by Reactor Netty on its own port, next to the Tomcat/MVC application.
+ * The R2DBC pool is deliberately not a bean: a {@code ConnectionFactory} bean would make Boot back off the
+ * JDBC {@code DataSource} that JPA, Flyway and the write paths still use.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "reactive.server", name = "enabled", havingValue = "true")
+public class ReactiveConfig implements DisposableBean {
+    private ConnectionPool connectionPool;
+
+    @Bean
+    DatabaseClient reactiveDatabaseClient(ObjectProvider<R2dbcConnectionDetails> connectionDetails,
+                                          @Value("${spring.r2dbc.url}") String url,
+                                          @Value("${spring.r2dbc.username}") String username,
+                                          @Value("${spring.r2dbc.password}") String password,
+                                          @Value("${spring.r2dbc.pool.max-size:20}") int maxSize) {
+        ConnectionFactoryOptions options = connectionDetails
+                .getIfAvailable(() -> () -> ConnectionFactoryOptions.parse(url).mutate()
+                        .option(ConnectionFactoryOptions.USER, username)
+                        .option(ConnectionFactoryOptions.PASSWORD, password)
+                        .build())
+                .getConnectionFactoryOptions();
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(maxSize)
+                .maxIdleTime(Duration.ofMinutes(30))
+                .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Bean
+    ReactiveBookRepository reactiveBookRepository(DatabaseClient reactiveDatabaseClient) {
+        return new ReactiveBookRepository(reactiveDatabaseClient);
+    }
+
+    @Bean
+    ReactiveAuthorRepository reactiveAuthorRepository(DatabaseClient reactiveDatabaseClient) {
+        return new ReactiveAuthorRepository(reactiveDatabaseClient);
+    }
+
+    @Bean
+    ReactiveBookHandler reactiveBookHandler(ReactiveBookRepository reactiveBookRepository,
+                                            ReactiveAuthorRepository reactiveAuthorRepository,
+                                            BookMapper bookMapper) {
+        return new ReactiveBookHandler(reactiveBookRepository, reactiveAuthorRepository, bookMapper);
+    }
+
+    @Bean
+    ReactiveAuthorHandler reactiveAuthorHandler(ReactiveAuthorRepository reactiveAuthorRepository,
+                                                AuthorMapper authorMapper) {
+        return new ReactiveAuthorHandler(reactiveAuthorRepository, authorMapper);
+    }
+
+    @Bean
+    RouterFunction<ServerResponse> reactiveReadRoutes(ReactiveBookHandler books, ReactiveAuthorHandler authors) {
+        return RouterFunctions.route()
+                .path("/book", builder -> builder
+                        .GET("", books::getAllBooks)
+                        .GET("/search", books::searchBooks)
+                        .GET("/getAfterDate/{date}", books::getBooksPublishedAfterDate)
+                        .GET("/title/{title}", books::getBooksByTitle)
+                        .GET("/createdBy/{authorId}", books::getBooksAuthoredBy)
+                        .GET("/{bookId}", books::getBookById))
+                .path("/author", builder -> builder
+                        .GET("", authors::getAllAuthors)
+                        .GET("/name/{name}", authors::getAuthorsByName)
+                        .GET("/{authorId}", authors::getAuthorById))
+                .filter(ReactiveResponses::handleErrors)
+                .build();
+    }
+
+    @Bean
+    ReactiveServer reactiveServer(RouterFunction<ServerResponse> reactiveReadRoutes, ObjectMapper objectMapper,
+                                  @Value("${reactive.server.port}") int port) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        return new ReactiveServer(RouterFunctions.toHttpHandler(reactiveReadRoutes, strategies), port);
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.SpringBoot.TestingHW.reactive;
+
+import com.SpringBoot.TestingHW.advises.ApiError;
+import com.SpringBoot.TestingHW.advises.ApiResponse;
+import com.SpringBoot.TestingHW.exceptions.BadRequestException;
+import com.SpringBoot.TestingHW.exceptions.ResourceNotFoundException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.DateTimeException;
+
+/**
+ * Response conventions of the reactive read API, kept in line with the MVC controllers: single items and errors
+ * use the {@code ApiResponse} envelope, lists are streamed element by element (JSON array, or NDJSON when asked for).
+ */
+final class ReactiveResponses {
+
+    private ReactiveResponses() {
+    }
+
+    static <T> Mono<ServerResponse> item(Mono<T> item, String notFoundMessage) {
+        return item
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(notFoundMessage)))
+                .flatMap(body -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(new ApiResponse<>(body)));
+    }
+
+    static <T> Mono<ServerResponse> stream(ServerRequest request, Flux<T> items, Class<T> type) {
+        // A streamed body has no place for a next cursor, so paging is left to the MVC routes rather than ignored.
+        if (request.queryParam("after").isPresent() || request.queryParam("limit").isPresent()) {
+            return Mono.error(new BadRequestException("Reactive list routes stream the whole result; " +
+                    "use the paged routes for after/limit"));
+        }
+        MediaType contentType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok()
+                .contentType(contentType)
+                .body(items, type);
+    }
+
+    /**
+     * Maps the application exceptions the way {@code GlobalExceptionHandler} does. Handlers may throw while
+     * parsing parameters, so the call is deferred to turn those into error signals as well.
+     */
+    static Mono<ServerResponse> handleErrors(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        return Mono.defer(() -> {
+                    try {
+                        return next.handle(request);
+                    } catch (Exception e) {
+                        return Mono.error(e);
+                    }
+                })
+                .onErrorResume(ResourceNotFoundException.class, e -> error(HttpStatus.NOT_FOUND, e))
+                .onErrorResume(BadRequestException.class, e -> error(HttpStatus.BAD_REQUEST, e))
+                .onErrorResume(IllegalArgumentException.class, e -> error(HttpStatus.BAD_REQUEST, e))
+                .onErrorResume(DateTimeException.class, e -> error(HttpStatus.BAD_REQUEST, e));
+    }
+
+    private static Mono<ServerResponse> error(HttpStatus status, Exception exception) {
+        ApiError apiError = ApiError.builder()
+                .message(exception.getLocalizedMessage())
+                .httpStatus(status)
+                .build();
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ApiResponse<>(apiError));
+    }
+}
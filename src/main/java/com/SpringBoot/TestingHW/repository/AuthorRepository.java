@@ -1,12 +1,49 @@
 package com.SpringBoot.TestingHW.repository;
 
 import com.SpringBoot.TestingHW.entity.AuthorEntity;
+import com.SpringBoot.TestingHW.projection.AuthorView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface AuthorRepository extends JpaRepository<AuthorEntity,Long> {
+public interface AuthorRepository extends JpaRepository<AuthorEntity,Long>, AuthorWriteRepository {
+    String AUTHOR_VIEW = "select new com.SpringBoot.TestingHW.projection.AuthorView(a.id, a.name) from AuthorEntity a ";
+
+    // Query results are cached; Hibernate invalidates them whenever the Author table is written.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<AuthorEntity> findByName(String upperCase);
+
+    // DTO projections for the GET list endpoints: id and name only, no managed entities.
+
+    @Query(AUTHOR_VIEW + "where a.id > :afterId order by a.id")
+    List<AuthorView> findViewsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(AUTHOR_VIEW + "where a.name = :name and a.id > :afterId order by a.id")
+    List<AuthorView> findViewsByNameAfter(@Param("name") String upperCase, @Param("afterId") Long afterId, Limit limit);
+
+    // Multi-get: one statement for the whole id list, rows in id order for MultiGetResult.of.
+    @Query(AUTHOR_VIEW + "where a.id in :ids order by a.id")
+    List<AuthorView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Bulk name lookup for /book/import; names are not unique, callers pick among duplicates.
+    @Query(AUTHOR_VIEW + "where a.name in :names")
+    List<AuthorView> findViewsByNameIn(@Param("names") Collection<String> upperCaseNames);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(AUTHOR_VIEW + "order by a.id")
+    Stream<AuthorView> streamAllViews();
 }
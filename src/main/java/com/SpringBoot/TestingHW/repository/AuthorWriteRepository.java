@@ -0,0 +1,13 @@
+package com.SpringBoot.TestingHW.repository;
+
+import java.util.Collection;
+
+/**
+ * Author writes guarded by If-Match; a zero row count means missing or modified.
+ */
+public interface AuthorWriteRepository {
+
+    int updateAuthor(Long id, String name, boolean anyVersion, Collection<Long> versions);
+
+    int deleteAuthor(Long id, boolean anyVersion, Collection<Long> versions);
+}
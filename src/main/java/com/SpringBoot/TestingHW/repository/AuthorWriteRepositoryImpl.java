@@ -0,0 +1,41 @@
+package com.SpringBoot.TestingHW.repository;
+
+import com.SpringBoot.TestingHW.entity.AuthorEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+/**
+ * Managed-entity writes, so only the written author's cache entry is replaced or evicted; see BookWriteRepositoryImpl.
+ */
+class AuthorWriteRepositoryImpl implements AuthorWriteRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int updateAuthor(Long id, String name, boolean anyVersion, Collection<Long> versions) {
+        AuthorEntity author = entityManager.find(AuthorEntity.class, id);
+        if (author == null || !(anyVersion || versions.contains(author.getVersion()))) {
+            return 0;
+        }
+        author.setName(name);
+        entityManager.flush();
+        return 1;
+    }
+
+    @Override
+    @Transactional
+    public int deleteAuthor(Long id, boolean anyVersion, Collection<Long> versions) {
+        AuthorEntity author = entityManager.find(AuthorEntity.class, id);
+        if (author == null || !(anyVersion || versions.contains(author.getVersion()))) {
+            return 0;
+        }
+        entityManager.remove(author);
+        entityManager.flush();
+        return 1;
+    }
+}
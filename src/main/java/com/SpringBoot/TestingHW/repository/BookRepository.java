@@ -2,17 +2,97 @@ package com.SpringBoot.TestingHW.repository;
 
 import com.SpringBoot.TestingHW.entity.AuthorEntity;
 import com.SpringBoot.TestingHW.entity.bookEntity;
+import com.SpringBoot.TestingHW.projection.BookView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface BookRepository extends JpaRepository<bookEntity,Long> {
+public interface BookRepository extends JpaRepository<bookEntity,Long>, BookSearchRepository, BookWriteRepository {
+    String BOOK_VIEW = "select new com.SpringBoot.TestingHW.projection.BookView(" +
+            "b.id, b.title, b.description, b.publishedOn, a.id, a.name) " +
+            "from bookEntity b left join b.authoredBy a ";
+
+    // Every book read path that ends up in a BookDTO fetches the author in the same statement (no N+1 on authored_by).
+    @EntityGraph(attributePaths = "authoredBy")
     List<bookEntity> findByPublishedOnAfter(LocalDate date);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @EntityGraph(attributePaths = "authoredBy")
     List<bookEntity> findByTitle(String upperCase);
 
+    @EntityGraph(attributePaths = "authoredBy")
     List<bookEntity> findByAuthoredBy(AuthorEntity author);
+
+    // DTO projections for the GET list endpoints: only the BookDTO columns, no managed entities or proxies.
+
+    @Query(BOOK_VIEW + "where b.id > :afterId order by b.id")
+    List<BookView> findViewsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Multi-get: one statement for the whole id list, rows in id order for MultiGetResult.of.
+    @Query(BOOK_VIEW + "where b.id in :ids order by b.id")
+    List<BookView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(BOOK_VIEW + "where b.title = :title and b.id > :afterId order by b.id")
+    List<BookView> findViewsByTitleAfter(@Param("title") String upperCase, @Param("afterId") Long afterId, Limit limit);
+
+    @Query(BOOK_VIEW + "where a.id = :authorId and b.id > :afterId order by b.id")
+    List<BookView> findViewsByAuthorAfter(@Param("authorId") Long authorId, @Param("afterId") Long afterId, Limit limit);
+
+    // Keyset (seek) on (publishedOn, id): every page starts right after the last seen key, so page N costs the same as page 1.
+    @Query(BOOK_VIEW +
+            "where b.publishedOn > :date " +
+            "and (b.publishedOn > :afterPublishedOn or (b.publishedOn = :afterPublishedOn and b.id > :afterId)) " +
+            "order by b.publishedOn, b.id")
+    List<BookView> findViewsPublishedAfterSeek(@Param("date") LocalDate date,
+                                               @Param("afterPublishedOn") LocalDate afterPublishedOn,
+                                               @Param("afterId") Long afterId,
+                                               Limit limit);
+
+    // Half-open [from, to) on the partition key, so only the yearly partitions overlapping the range are scanned.
+    @Query(BOOK_VIEW +
+            "where b.publishedOn >= :from and b.publishedOn < :to " +
+            "and (b.publishedOn > :afterPublishedOn or (b.publishedOn = :afterPublishedOn and b.id > :afterId)) " +
+            "order by b.publishedOn, b.id")
+    List<BookView> findViewsPublishedBetweenSeek(@Param("from") LocalDate from,
+                                                 @Param("to") LocalDate to,
+                                                 @Param("afterPublishedOn") LocalDate afterPublishedOn,
+                                                 @Param("afterId") Long afterId,
+                                                 Limit limit);
+
+    // Re-read after a write: the response needs the new version and the author in one statement.
+    @EntityGraph(attributePaths = "authoredBy")
+    Optional<bookEntity> findWithAuthorById(Long id);
+
+    // Full read for the in-memory catalog snapshot: projections are never managed, so the session stays empty.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(BOOK_VIEW + "order by b.id")
+    Stream<BookView> streamAllViews();
+
+    // Server-side cursor for the NDJSON export: rows arrive in fetch-size batches instead of one materialized list.
+    // BookExportService switches the session to CacheMode.IGNORE around the scan: a query cache-mode hint only holds
+    // while the query opens, not while the stream's rows are loaded.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select b from bookEntity b left join fetch b.authoredBy order by b.id")
+    Stream<bookEntity> streamAllForExport();
 }
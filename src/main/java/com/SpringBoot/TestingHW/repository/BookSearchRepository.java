@@ -0,0 +1,26 @@
+package com.SpringBoot.TestingHW.repository;
+
+import com.SpringBoot.TestingHW.projection.BookView;
+
+import java.util.List;
+
+public interface BookSearchRepository {
+    // Named parameters only, so the same statement runs through JPA and through the R2DBC DatabaseClient.
+    String SEARCH_SQL = """
+            select b.id, b.title, b.description, b.published_on, a.id as author_id, a.name as author_name
+            from book b
+            left join author a on a.id = b.author_id
+            where b.search_vector @@ websearch_to_tsquery('english', :query)
+               or b.title % :query
+            order by ts_rank_cd(b.search_vector, websearch_to_tsquery('english', :query))
+                         + similarity(b.title, :query) desc,
+                     b.id
+            offset :offset limit :limit
+            """;
+
+    /**
+     * Ranked search over title and description: full-text matches plus trigram-similar titles (typo tolerance),
+     * best match first, ties broken by id.
+     */
+    List<BookView> search(String query, long offset, int limit);
+}
@@ -0,0 +1,27 @@
+package com.SpringBoot.TestingHW.repository;
+
+import com.SpringBoot.TestingHW.projection.BookView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.List;
+
+/**
+ * PostgreSQL-only: relies on the {@code search_vector} column and the GIN indexes created by the V1 migration.
+ * Both predicates are index-backed, so the planner combines the two GIN scans with a BitmapOr.
+ */
+class BookSearchRepositoryImpl implements BookSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<BookView> search(String query, long offset, int limit) {
+        return entityManager.createNativeQuery(SEARCH_SQL, "BookView")
+                .setParameter("query", query)
+                .setParameter("offset", offset)
+                .setParameter("limit", limit)
+                .getResultList();
+    }
+}
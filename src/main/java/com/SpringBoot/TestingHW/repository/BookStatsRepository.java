@@ -0,0 +1,98 @@
+package com.SpringBoot.TestingHW.repository;
+
+import com.SpringBoot.TestingHW.dto.AuthorBookCountDTO;
+import com.SpringBoot.TestingHW.dto.CatalogStatsDTO;
+import com.SpringBoot.TestingHW.dto.MonthBookCountDTO;
+import com.SpringBoot.TestingHW.dto.YearBookCountDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * PostgreSQL-only: reads the summary tables that the V4 migration's triggers keep current on every write to book,
+ * so each query touches one row per author or month instead of scanning book. Zero rows are left behind when the
+ * last book of an author or month goes away; every query filters them out.
+ */
+@Repository
+public class BookStatsRepository {
+    // estimated: book is partitioned (V5), so the planner's row counts live on its partitions, -1 until analyzed.
+    static final String TOTALS_SQL = "select " +
+            "(select coalesce(sum(books), 0) from book_month_stats) as books, " +
+            "(select count(*) from book_author_stats where author_id is not null and books > 0) as authors, " +
+            "(select coalesce(sum(books), 0) from book_author_stats where author_id is null) as unassigned, " +
+            "(select coalesce(sum(books), 0) from book_month_stats where month is null) as undated, " +
+            "(select (sum(c.reltuples) filter (where c.reltuples >= 0))::bigint " +
+            "from pg_partition_tree('book') t join pg_class c on c.oid = t.relid where t.isleaf) as estimated";
+
+    static final String AUTHORS_SQL = "select s.author_id, a.name, s.books from book_author_stats s " +
+            "join author a on a.id = s.author_id " +
+            "where s.author_id > :afterId and s.books > 0 order by s.author_id";
+
+    static final String YEARS_SQL = "select cast(extract(year from month) as integer) as year, sum(books) as books " +
+            "from book_month_stats where month is not null and books > 0 group by 1 order by 1";
+
+    static final String MONTHS_SQL = "select month, books from book_month_stats where month is not null and books > 0 ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CatalogStatsDTO totals() {
+        Tuple row = (Tuple) entityManager.createNativeQuery(TOTALS_SQL, Tuple.class).getSingleResult();
+        Number estimated = row.get("estimated", Number.class);
+        return CatalogStatsDTO.builder()
+                .books(row.get("books", Number.class).longValue())
+                .authors(row.get("authors", Number.class).longValue())
+                .unassignedBooks(row.get("unassigned", Number.class).longValue())
+                .undatedBooks(row.get("undated", Number.class).longValue())
+                .estimatedBooks(estimated == null ? null : estimated.longValue())
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<AuthorBookCountDTO> authorsAfter(long afterId, int limit) {
+        List<Tuple> rows = entityManager.createNativeQuery(AUTHORS_SQL, Tuple.class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new AuthorBookCountDTO(row.get(0, Number.class).longValue(), row.get(1, String.class),
+                        row.get(2, Number.class).longValue()))
+                .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<YearBookCountDTO> years() {
+        List<Tuple> rows = entityManager.createNativeQuery(YEARS_SQL, Tuple.class).getResultList();
+        return rows.stream()
+                .map(row -> new YearBookCountDTO(row.get(0, Number.class).intValue(), row.get(1, Number.class).longValue()))
+                .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<MonthBookCountDTO> months(Integer year) {
+        Query query;
+        if (year == null) {
+            query = entityManager.createNativeQuery(MONTHS_SQL + "order by month", Tuple.class);
+        } else {
+            LocalDate from = LocalDate.of(year, 1, 1);
+            query = entityManager.createNativeQuery(MONTHS_SQL + "and month >= :from and month < :to order by month", Tuple.class)
+                    .setParameter("from", from)
+                    .setParameter("to", from.plusYears(1));
+        }
+        List<Tuple> rows = query.getResultList();
+        return rows.stream()
+                .map(row -> new MonthBookCountDTO(YearMonth.from(month(row.get(0))), row.get(1, Number.class).longValue()))
+                .toList();
+    }
+
+    private static LocalDate month(Object value) {
+        return value instanceof Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+}
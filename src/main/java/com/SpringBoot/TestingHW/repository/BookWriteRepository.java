@@ -0,0 +1,21 @@
+package com.SpringBoot.TestingHW.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Guarded book writes. Each returns the number of rows written, 0 when the book (or the referenced author) does not
+ * exist or its version is not one of {@code versions}; the service then works out whether that is a 404 or a 412.
+ */
+public interface BookWriteRepository {
+
+    int updateBook(Long id, String title, String description, LocalDate publishedOn, Long authorId,
+                   boolean anyVersion, Collection<Long> versions);
+
+    int assignAuthor(Long id, Long authorId);
+
+    int deleteBook(Long id, boolean anyVersion, Collection<Long> versions);
+
+    // Books go with their author (the entity cascades); only runs once the author row's If-Match has been checked.
+    int deleteBooksOfAuthor(Long authorId, boolean anyVersion, Collection<Long> versions);
+}
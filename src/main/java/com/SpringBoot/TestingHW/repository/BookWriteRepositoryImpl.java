@@ -0,0 +1,87 @@
+package com.SpringBoot.TestingHW.repository;
+
+import com.SpringBoot.TestingHW.entity.AuthorEntity;
+import com.SpringBoot.TestingHW.entity.bookEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes through managed entities rather than bulk HQL: a bulk update or delete makes Hibernate evict the whole book
+ * and author cache regions, while a managed write only replaces or evicts the entries of the rows it touched. The
+ * rows are usually read from the second-level cache, so a write is still one statement, an UPDATE or DELETE that
+ * repeats the version check; a writer that slipped in between fails it with an optimistic-lock exception (412).
+ */
+class BookWriteRepositoryImpl implements BookWriteRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int updateBook(Long id, String title, String description, LocalDate publishedOn, Long authorId,
+                          boolean anyVersion, Collection<Long> versions) {
+        bookEntity book = entityManager.find(bookEntity.class, id);
+        if (book == null || !(anyVersion || versions.contains(book.getVersion()))) {
+            return 0;
+        }
+        AuthorEntity author = null;
+        if (authorId != null) {
+            author = entityManager.find(AuthorEntity.class, authorId);
+            if (author == null) {
+                return 0;
+            }
+        }
+        book.setTitle(title);
+        book.setDescription(description);
+        book.setPublishedOn(publishedOn);
+        book.setAuthoredBy(author);
+        entityManager.flush();
+        return 1;
+    }
+
+    @Override
+    @Transactional
+    public int assignAuthor(Long id, Long authorId) {
+        bookEntity book = entityManager.find(bookEntity.class, id);
+        AuthorEntity author = entityManager.find(AuthorEntity.class, authorId);
+        if (book == null || author == null) {
+            return 0;
+        }
+        book.setAuthoredBy(author);
+        entityManager.flush();
+        return 1;
+    }
+
+    @Override
+    @Transactional
+    public int deleteBook(Long id, boolean anyVersion, Collection<Long> versions) {
+        bookEntity book = entityManager.find(bookEntity.class, id);
+        if (book == null || !(anyVersion || versions.contains(book.getVersion()))) {
+            return 0;
+        }
+        entityManager.remove(book);
+        entityManager.flush();
+        return 1;
+    }
+
+    @Override
+    @Transactional
+    public int deleteBooksOfAuthor(Long authorId, boolean anyVersion, Collection<Long> versions) {
+        AuthorEntity author = entityManager.find(AuthorEntity.class, authorId);
+        if (author == null || !(anyVersion || versions.contains(author.getVersion()))) {
+            return 0;
+        }
+        List<bookEntity> books = entityManager
+                .createQuery("select b from bookEntity b where b.authoredBy.id = :authorId", bookEntity.class)
+                .setParameter("authorId", authorId)
+                .getResultList();
+        books.forEach(entityManager::remove);
+        entityManager.flush();
+        return books.size();
+    }
+}
@@ -1,15 +1,30 @@
 package com.SpringBoot.TestingHW.service;
 
 import com.SpringBoot.TestingHW.dto.AuthorDTO;
+import com.SpringBoot.TestingHW.dto.BatchResultDTO;
 import com.SpringBoot.TestingHW.entity.AuthorEntity;
+import com.SpringBoot.TestingHW.etag.ETags;
+import com.SpringBoot.TestingHW.exceptions.PreconditionFailedException;
 import com.SpringBoot.TestingHW.exceptions.ResourceNotFoundException;
+import com.SpringBoot.TestingHW.lookup.IdLists;
+import com.SpringBoot.TestingHW.lookup.MultiGetResult;
+import com.SpringBoot.TestingHW.mapper.AuthorMapper;
+import com.SpringBoot.TestingHW.metrics.MappingMetrics;
+import com.SpringBoot.TestingHW.pagination.CursorPage;
+import com.SpringBoot.TestingHW.pagination.Cursors;
+import com.SpringBoot.TestingHW.projection.AuthorView;
 import com.SpringBoot.TestingHW.repository.AuthorRepository;
+import com.SpringBoot.TestingHW.repository.BookRepository;
+import com.SpringBoot.TestingHW.snapshot.CatalogSnapshot;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -18,20 +33,28 @@ import java.util.stream.Collectors;
 @Slf4j
 public class AuthorService {
     private final AuthorRepository authorRepository;
-    private final ModelMapper modelMapper;
+    private final BookRepository bookRepository;
+    private final AuthorMapper authorMapper;
+    private final MappingMetrics mappingMetrics;
+    private final JsonBatchInserter jsonBatchInserter;
+    private final CatalogSnapshot catalogSnapshot;
 
 
-    public List<AuthorDTO> getAllAuthors() {
+    @Transactional(readOnly = true)
+    public CursorPage<AuthorDTO> getAllAuthors(String after, Integer limit) {
         log.info("Fetching all authors");
-        List<AuthorEntity> authors = authorRepository.findAll();
-        List<AuthorDTO> authorDtoList = authors.stream()
-                .map((author) -> modelMapper.map(author, AuthorDTO.class))
-                .collect(Collectors.toList());
+        int pageSize = Cursors.clampLimit(limit);
+        List<AuthorView> authors = authorRepository.findViewsAfter(
+                Cursors.decodeId(after), Cursors.fetchLimit(pageSize));
+        CursorPage<AuthorDTO> authorDtoPage = CursorPage.of(authors, pageSize,
+                (author) -> mappingMetrics.author(() -> authorMapper.toDto(author)),
+                (author) -> Cursors.encodeId(author.id()));
         log.info("Successfully fetched all authors");
-        return authorDtoList;
+        return authorDtoPage;
     }
 
 
+    @Transactional(readOnly = true)
     public AuthorDTO getAuthorById(Long authorId) {
         log.info("Fetching author by id: {}",authorId);
         AuthorEntity author = authorRepository.findById(authorId).orElseThrow(() ->
@@ -39,51 +62,101 @@ public class AuthorService {
             return new ResourceNotFoundException("Author not found by id:"+authorId);
         });
         log.info("Successfully fetched author by id: {}",authorId);
-        return modelMapper.map(author, AuthorDTO.class);
+        return mappingMetrics.author(() -> authorMapper.toDto(author));
+    }
+
+    @Transactional(readOnly = true)
+    public MultiGetResult<AuthorDTO> getAuthorsByIds(long[] authorIds) {
+        long[] ids = IdLists.distinct(authorIds);
+        log.info("Fetching {} authors by id",ids.length);
+        List<AuthorView> authors = authorRepository.findViewsByIdIn(Arrays.stream(ids).boxed().toList());
+        MultiGetResult<AuthorDTO> result = MultiGetResult.of(ids, authors, AuthorView::id,
+                (author) -> mappingMetrics.author(() -> authorMapper.toDto(author)));
+        log.info("Successfully fetched {} authors by id, {} not found",authors.size(),result.getMissingIds().length);
+        return result;
     }
 
     public AuthorDTO createNewAuthor(@Valid AuthorDTO authorDto) {
         log.info("Creating new author by name: {}",authorDto.getName());
         authorDto.setName(authorDto.getName().toUpperCase());
-        AuthorEntity savedAuthor = authorRepository.save(modelMapper.map(authorDto,AuthorEntity.class));
+        AuthorEntity savedAuthor = authorRepository.save(mappingMetrics.author(() -> authorMapper.toEntity(authorDto)));
+        catalogSnapshot.authorSaved(savedAuthor);
         log.info("Successfully Created new author by name: {}",authorDto.getName());
-        return modelMapper.map(savedAuthor, AuthorDTO.class);
+        return mappingMetrics.author(() -> authorMapper.toDto(savedAuthor));
+    }
+
+
+    public BatchResultDTO createNewAuthors(InputStream body) throws IOException {
+        log.info("Creating new authors in batch");
+        BatchResultDTO result = jsonBatchInserter.insert(body, AuthorDTO.class, chunk ->
+                catalogSnapshot.authorsSaved(authorRepository.saveAll(chunk.stream()
+                        .map(authorDto -> {
+                            authorDto.setId(null);
+                            authorDto.setName(authorDto.getName().toUpperCase());
+                            return mappingMetrics.author(() -> authorMapper.toEntity(authorDto));
+                        })
+                        .collect(Collectors.toList()))));
+        log.info("Successfully created {} new authors in batch, {} failed",result.getCreated(),result.getFailed());
+        return result;
     }
 
 
-    public AuthorDTO updateAuthorById(Long authorId, @Valid AuthorDTO authorDto) {
+    public AuthorDTO updateAuthorById(Long authorId, @Valid AuthorDTO authorDto, String ifMatch) {
         log.info("Updating author by id: {}",authorId);
-        boolean isExists = authorRepository.existsById(authorId);
-        if (!isExists){
-            log.error("Author not found by id: {}",authorId);
-            throw new ResourceNotFoundException("Author not found by id:"+authorId);
+        List<Long> versions = ETags.versions(ifMatch);
+        int updated = authorRepository.updateAuthor(authorId, authorDto.getName().toUpperCase(),
+                versions == null, versions == null ? List.of() : versions);
+        if (updated == 0) {
+            throw writeRejected(authorId);
         }
-        authorDto.setId(authorId);
-        authorDto.setName(authorDto.getName().toUpperCase());
         log.info("Successfully Updated author by id: {}",authorId);
-        return modelMapper.map(authorRepository.save(modelMapper.map(authorDto,AuthorEntity.class)), AuthorDTO.class);
+        AuthorEntity author = findAuthor(authorId);
+        catalogSnapshot.authorSaved(author);
+        return mappingMetrics.author(() -> authorMapper.toDto(author));
     }
 
 
-    public void deleteAuthorById(Long authorId) {
+    @Transactional
+    public void deleteAuthorById(Long authorId, String ifMatch) {
         log.info("Deleting author by id: {}",authorId);
-        boolean isExists = authorRepository.existsById(authorId);
-        if (!isExists){
-            log.error("Author not found by id: {}",authorId);
-            throw new ResourceNotFoundException("Author not found by id:"+authorId);
+        List<Long> versions = ETags.versions(ifMatch);
+        boolean anyVersion = versions == null;
+        bookRepository.deleteBooksOfAuthor(authorId, anyVersion, anyVersion ? List.of() : versions);
+        if (authorRepository.deleteAuthor(authorId, anyVersion, anyVersion ? List.of() : versions) == 0) {
+            throw writeRejected(authorId);
         }
+        catalogSnapshot.authorDeleted(authorId);
         log.info("Successfully deleted author by id: {}",authorId);
-        authorRepository.deleteById(authorId);
     }
 
 
-    public List<AuthorDTO> getAuthorsByName(String name) {
+    @Transactional(readOnly = true)
+    public CursorPage<AuthorDTO> getAuthorsByName(String name, String after, Integer limit) {
         log.info("Fetching authors by name: {}",name);
-        List<AuthorEntity> authors = authorRepository.findByName(name.toUpperCase());
-        List<AuthorDTO> authorDtoList = authors.stream()
-                .map((element) -> modelMapper.map(element, AuthorDTO.class))
-                .collect(Collectors.toList());
+        int pageSize = Cursors.clampLimit(limit);
+        List<AuthorView> authors = authorRepository.findViewsByNameAfter(
+                name.toUpperCase(), Cursors.decodeId(after), Cursors.fetchLimit(pageSize));
+        CursorPage<AuthorDTO> authorDtoPage = CursorPage.of(authors, pageSize,
+                (element) -> mappingMetrics.author(() -> authorMapper.toDto(element)),
+                (element) -> Cursors.encodeId(element.id()));
         log.info("Successfully fetched all authors by name: {}",name);
-        return authorDtoList;
+        return authorDtoPage;
+    }
+
+    private AuthorEntity findAuthor(Long authorId) {
+        return authorRepository.findById(authorId).orElseThrow(() -> {
+            log.error("Author not found by id: {}",authorId);
+            return new ResourceNotFoundException("Author not found by id:"+authorId);
+        });
+    }
+
+    // Only reached when a guarded write matched no row: missing author, or a stale If-Match.
+    private RuntimeException writeRejected(Long authorId) {
+        if (!authorRepository.existsById(authorId)) {
+            log.error("Author not found by id: {}",authorId);
+            return new ResourceNotFoundException("Author not found by id:"+authorId);
+        }
+        log.error("Author with id: {} was modified since it was read",authorId);
+        return new PreconditionFailedException("Author was modified, fetch it again for the current ETag");
     }
 }
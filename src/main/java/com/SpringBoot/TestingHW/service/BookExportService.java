@@ -0,0 +1,73 @@
+package com.SpringBoot.TestingHW.service;
+
+import com.SpringBoot.TestingHW.entity.bookEntity;
+import com.SpringBoot.TestingHW.mapper.BookMapper;
+import com.SpringBoot.TestingHW.metrics.MappingMetrics;
+import com.SpringBoot.TestingHW.repository.BookRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookExportService {
+    // Rows between persistence-context clears and output flushes; keeps heap flat for any catalog size.
+    static final int CLEAR_INTERVAL = 1000;
+
+    private final BookRepository bookRepository;
+    private final BookMapper bookMapper;
+    private final MappingMetrics mappingMetrics;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes every book as one JSON object per line (NDJSON) while the rows are still being read from the database.
+     * The caller owns the output stream; it is flushed but not closed. The scan bypasses the second-level cache so a
+     * full export does not push out the entries the API is hitting.
+     */
+    @Transactional(readOnly = true)
+    public long exportBooks(OutputStream outputStream) throws IOException {
+        log.info("Exporting all books as NDJSON");
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode cacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.IGNORE);
+        try {
+            return writeBooks(outputStream);
+        } finally {
+            session.setCacheMode(cacheMode);
+        }
+    }
+
+    private long writeBooks(OutputStream outputStream) throws IOException {
+        long exported = 0;
+        try (Stream<bookEntity> books = bookRepository.streamAllForExport();
+             JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            Iterator<bookEntity> iterator = books.iterator();
+            while (iterator.hasNext()) {
+                bookEntity book = iterator.next();
+                generator.writeObject(mappingMetrics.book(() -> bookMapper.toDto(book)));
+                generator.writeRaw('\n');
+                if (++exported % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                    generator.flush();
+                }
+            }
+        }
+        log.info("Successfully exported {} books",exported);
+        return exported;
+    }
+}
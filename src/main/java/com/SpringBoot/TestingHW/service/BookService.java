@@ -1,18 +1,33 @@
 package com.SpringBoot.TestingHW.service;
 
+import com.SpringBoot.TestingHW.dto.BatchResultDTO;
 import com.SpringBoot.TestingHW.dto.BookDTO;
 import com.SpringBoot.TestingHW.entity.AuthorEntity;
 import com.SpringBoot.TestingHW.entity.bookEntity;
+import com.SpringBoot.TestingHW.etag.ETags;
+import com.SpringBoot.TestingHW.exceptions.BadRequestException;
+import com.SpringBoot.TestingHW.exceptions.PreconditionFailedException;
 import com.SpringBoot.TestingHW.exceptions.ResourceNotFoundException;
+import com.SpringBoot.TestingHW.lookup.IdLists;
+import com.SpringBoot.TestingHW.lookup.MultiGetResult;
+import com.SpringBoot.TestingHW.mapper.BookMapper;
+import com.SpringBoot.TestingHW.metrics.MappingMetrics;
+import com.SpringBoot.TestingHW.pagination.CursorPage;
+import com.SpringBoot.TestingHW.pagination.Cursors;
+import com.SpringBoot.TestingHW.projection.BookView;
 import com.SpringBoot.TestingHW.repository.AuthorRepository;
 import com.SpringBoot.TestingHW.repository.BookRepository;
+import com.SpringBoot.TestingHW.snapshot.CatalogSnapshot;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -20,21 +35,31 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Slf4j
 public class BookService {
+    // Four-digit ISO years: what the date path variables round-trip and PostgreSQL's date type stores.
+    static final LocalDate EARLIEST_RANGE_DATE = LocalDate.of(1, 1, 1);
+    static final LocalDate LATEST_RANGE_DATE = LocalDate.of(9999, 12, 31);
+
     private final BookRepository bookRepository;
     private final AuthorRepository authorRepository;
-    private final ModelMapper modelMapper;
+    private final BookMapper bookMapper;
+    private final MappingMetrics mappingMetrics;
+    private final JsonBatchInserter jsonBatchInserter;
+    private final CatalogSnapshot catalogSnapshot;
 
 
-    public List<BookDTO> getAllBooks() {
+    @Transactional(readOnly = true)
+    public CursorPage<BookDTO> getAllBooks(String after, Integer limit) {
         log.info("Fetching all books");
-        List<bookEntity> books = bookRepository.findAll();
+        int pageSize = Cursors.clampLimit(limit);
+        List<BookView> books = bookRepository.findViewsAfter(
+                Cursors.decodeId(after), Cursors.fetchLimit(pageSize));
         log.info("Successfully fetched all books");
-        return books.stream()
-                .map(element ->
-                modelMapper.map(element, BookDTO.class))
-                .collect(Collectors.toList());
+        return CursorPage.of(books, pageSize,
+                element -> mappingMetrics.book(() -> bookMapper.toDto(element)),
+                element -> Cursors.encodeId(element.id()));
     }
 
+    @Transactional(readOnly = true)
     public BookDTO getBookById(Long bookId) {
         log.info("Fetching book by id: {}",bookId);
         bookEntity book = bookRepository.findById(bookId)
@@ -42,97 +67,209 @@ public class BookService {
                     log.error("Book not found by id: {}",bookId);
                     return new ResourceNotFoundException("Book not found by id:"+bookId);
                 });
-        return modelMapper.map(book, BookDTO.class);
+        return mappingMetrics.book(() -> bookMapper.toDto(book));
+    }
+
+    @Transactional(readOnly = true)
+    public MultiGetResult<BookDTO> getBooksByIds(long[] bookIds) {
+        long[] ids = IdLists.distinct(bookIds);
+        log.info("Fetching {} books by id",ids.length);
+        List<BookView> books = bookRepository.findViewsByIdIn(Arrays.stream(ids).boxed().toList());
+        MultiGetResult<BookDTO> result = MultiGetResult.of(ids, books, BookView::id,
+                element -> mappingMetrics.book(() -> bookMapper.toDto(element)));
+        log.info("Successfully fetched {} books by id, {} not found",books.size(),result.getMissingIds().length);
+        return result;
     }
 
+    @Transactional
     public BookDTO createNewBook(@Valid BookDTO bookDto) {
         log.info("Creating new book with title: {}",bookDto.getTitle());
         bookDto.setTitle(bookDto.getTitle().toUpperCase());
-        bookEntity savedBook = bookRepository.save(modelMapper.map(bookDto,bookEntity.class));
+        bookEntity book = mappingMetrics.book(() -> bookMapper.toEntity(bookDto));
+        Long authorId = authorIdOf(bookDto);
+        if (authorId != null) {
+            book.setAuthoredBy(authorRepository.findById(authorId)
+                    .orElseThrow(() -> {
+                        log.error("Author not found by id: {}",authorId);
+                        return new ResourceNotFoundException("Author not found by id:"+authorId);
+                    }));
+        }
+        bookEntity savedBook = bookRepository.save(book);
+        catalogSnapshot.bookSaved(savedBook);
         log.info("Successfully created new book with title: {}",savedBook.getTitle());
-        return modelMapper.map(savedBook, BookDTO.class);
+        return mappingMetrics.book(() -> bookMapper.toDto(savedBook));
     }
 
-    public BookDTO updateBookById(Long id, @Valid BookDTO bookDto) {
+    public BatchResultDTO createNewBooks(InputStream body) throws IOException {
+        log.info("Creating new books in batch");
+        BatchResultDTO result = jsonBatchInserter.insert(body, BookDTO.class, chunk ->
+                catalogSnapshot.booksSaved(bookRepository.saveAll(chunk.stream()
+                        .map(bookDto -> {
+                            bookDto.setId(null);
+                            bookDto.setTitle(bookDto.getTitle().toUpperCase());
+                            bookEntity book = mappingMetrics.book(() -> bookMapper.toEntity(bookDto));
+                            // No lookup per item: an unknown author fails the chunk on the foreign key instead.
+                            Long authorId = authorIdOf(bookDto);
+                            book.setAuthoredBy(authorId == null ? null : authorRepository.getReferenceById(authorId));
+                            return book;
+                        })
+                        .collect(Collectors.toList()))));
+        log.info("Successfully created {} new books in batch, {} failed",result.getCreated(),result.getFailed());
+        return result;
+    }
+
+    public BookDTO updateBookById(Long id, @Valid BookDTO bookDto, String ifMatch) {
         log.info("Updating book by id: {}",id);
-        boolean isExists = bookRepository.existsById(id);
-        if (!isExists){
-            log.error("Book not found by id: {}",id);
-            throw new ResourceNotFoundException("Book not found by id:"+id);
+        Long authorId = authorIdOf(bookDto);
+        List<Long> versions = ETags.versions(ifMatch);
+        int updated = bookRepository.updateBook(id, bookDto.getTitle().toUpperCase(), bookDto.getDescription(),
+                bookDto.getPublishedOn(), authorId, versions == null, versions == null ? List.of() : versions);
+        if (updated == 0) {
+            throw writeRejected(id, authorId);
         }
-        bookDto.setId(id);
-        bookDto.setTitle(bookDto.getTitle().toUpperCase());
         log.info("Successfully updated book by id: {}",id);
-        return modelMapper.map(
-                bookRepository.save(modelMapper.map(bookDto, bookEntity.class)), BookDTO.class);
+        bookEntity book = reload(id);
+        catalogSnapshot.bookSaved(book);
+        return mappingMetrics.book(() -> bookMapper.toDto(book));
     }
 
-    public void deleteBookById(Long bookId) {
+    public void deleteBookById(Long bookId, String ifMatch) {
         log.info("Deleting book by id: {}",bookId);
-        boolean isExists = bookRepository.existsById(bookId);
-        if (!isExists){
-            log.error("Book not found by id: {}",bookId);
-            throw new ResourceNotFoundException("Book not found by id:"+bookId);
+        List<Long> versions = ETags.versions(ifMatch);
+        if (bookRepository.deleteBook(bookId, versions == null, versions == null ? List.of() : versions) == 0) {
+            throw writeRejected(bookId, null);
         }
+        catalogSnapshot.bookDeleted(bookId);
         log.info("Successfully Deleted book by id: {}",bookId);
-        bookRepository.deleteById(bookId);
     }
 
-    public List<BookDTO> getBooksPublishedAfterDate(LocalDate date) {
+    @Transactional(readOnly = true)
+    public CursorPage<BookDTO> getBooksPublishedAfterDate(LocalDate date, String after, Integer limit) {
         log.info("Fetching books published after data: {}",date);
-        List<bookEntity> books = bookRepository.findByPublishedOnAfter(date);
+        int pageSize = Cursors.clampLimit(limit);
+        Cursors.DateIdKey afterKey = Cursors.decodeDateAndId(after);
+        LocalDate afterPublishedOn = afterKey == null ? date : afterKey.publishedOn();
+        long afterId = afterKey == null ? 0L : afterKey.id();
+        List<BookView> books = catalogSnapshot.isReady()
+                ? catalogSnapshot.findPublishedAfter(date, afterPublishedOn, afterId, pageSize + 1)
+                : bookRepository.findViewsPublishedAfterSeek(date, afterPublishedOn, afterId, Cursors.fetchLimit(pageSize));
         log.info("Successfully fetched books published after date: {}",date);
-        return books.stream()
-                .map((element) ->
-                modelMapper.map(element, BookDTO.class))
-                .collect(Collectors.toList());
+        return CursorPage.of(books, pageSize,
+                element -> mappingMetrics.book(() -> bookMapper.toDto(element)),
+                element -> Cursors.encodeDateAndId(element.publishedOn(), element.id()));
 
     }
 
-    public List<BookDTO> getBooksByTitle(String title) {
+    @Transactional(readOnly = true)
+    public CursorPage<BookDTO> getBooksPublishedBetween(LocalDate from, LocalDate to, String after, Integer limit) {
+        log.info("Fetching books published between: {} and {}",from,to);
+        if (from.isAfter(to)) {
+            throw new BadRequestException("Date range start must not be after its end");
+        }
+        // Also keeps to.plusDays(1) representable: LocalDate.MAX has no next day.
+        if (from.isBefore(EARLIEST_RANGE_DATE) || to.isAfter(LATEST_RANGE_DATE)) {
+            throw new BadRequestException("Date range must lie between " + EARLIEST_RANGE_DATE + " and " + LATEST_RANGE_DATE);
+        }
+        int pageSize = Cursors.clampLimit(limit);
+        Cursors.DateIdKey afterKey = Cursors.decodeDateAndId(after);
+        // Both bounds are inclusive for the caller; the query takes the exclusive day after "to".
+        List<BookView> books = afterKey == null
+                ? bookRepository.findViewsPublishedBetweenSeek(from, to.plusDays(1), from, 0L, Cursors.fetchLimit(pageSize))
+                : bookRepository.findViewsPublishedBetweenSeek(from, to.plusDays(1), afterKey.publishedOn(), afterKey.id(), Cursors.fetchLimit(pageSize));
+        log.info("Successfully fetched books published between: {} and {}",from,to);
+        return CursorPage.of(books, pageSize,
+                element -> mappingMetrics.book(() -> bookMapper.toDto(element)),
+                element -> Cursors.encodeDateAndId(element.publishedOn(), element.id()));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<BookDTO> getBooksByTitle(String title, String after, Integer limit) {
         log.info("Fetching books by title: {}",title);
-        List<bookEntity> books = bookRepository.findByTitle(title.toUpperCase());
+        int pageSize = Cursors.clampLimit(limit);
+        List<BookView> books = catalogSnapshot.isReady()
+                ? catalogSnapshot.findByTitle(title.toUpperCase(), Cursors.decodeId(after), pageSize + 1)
+                : bookRepository.findViewsByTitleAfter(title.toUpperCase(), Cursors.decodeId(after), Cursors.fetchLimit(pageSize));
         log.info("Successfully fetched books by title: {}",title);
-        return books.stream().map((element) ->
-                modelMapper.map(element, BookDTO.class))
-                .collect(Collectors.toList());
+        return CursorPage.of(books, pageSize,
+                element -> mappingMetrics.book(() -> bookMapper.toDto(element)),
+                element -> Cursors.encodeId(element.id()));
     }
 
-    public List<BookDTO> getBooksAuthoredBy(Long authorId) {
+    @Transactional(readOnly = true)
+    public CursorPage<BookDTO> searchBooks(String query, String after, Integer limit) {
+        log.info("Searching books by query: {}",query);
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query must not be blank");
+        }
+        int pageSize = Cursors.clampLimit(limit);
+        long offset = Cursors.decodeOffset(after);
+        List<BookView> books = bookRepository.search(query.trim(), offset, pageSize + 1);
+        log.info("Successfully searched books by query: {}",query);
+        return CursorPage.of(books, pageSize,
+                element -> mappingMetrics.book(() -> bookMapper.toDto(element)),
+                element -> Cursors.encodeOffset(offset + pageSize));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<BookDTO> getBooksAuthoredBy(Long authorId, String after, Integer limit) {
         log.info("Fetching books created by author id: {}",authorId);
-        AuthorEntity author = authorRepository.findById(authorId)
-                .orElseThrow(() -> {
-                    log.error("Author not found by id: {}",authorId);
-                    return new ResourceNotFoundException("Author not found by id:"+authorId);
-                });
-        List<bookEntity> books = bookRepository.findByAuthoredBy(author);
+        int pageSize = Cursors.clampLimit(limit);
+        List<BookView> books;
+        if (catalogSnapshot.isReady()) {
+            if (!catalogSnapshot.hasAuthor(authorId)) {
+                log.error("Author not found by id: {}",authorId);
+                throw new ResourceNotFoundException("Author not found by id:"+authorId);
+            }
+            books = catalogSnapshot.findByAuthor(authorId, Cursors.decodeId(after), pageSize + 1);
+        } else {
+            AuthorEntity author = authorRepository.findById(authorId)
+                    .orElseThrow(() -> {
+                        log.error("Author not found by id: {}",authorId);
+                        return new ResourceNotFoundException("Author not found by id:"+authorId);
+                    });
+            books = bookRepository.findViewsByAuthorAfter(
+                    author.getId(), Cursors.decodeId(after), Cursors.fetchLimit(pageSize));
+        }
         log.info("Successfully fetched books by author id: {}",authorId);
-        return books.stream().map((element) ->
-                modelMapper.map(element, BookDTO.class))
-                .collect(Collectors.toList());
+        return CursorPage.of(books, pageSize,
+                element -> mappingMetrics.book(() -> bookMapper.toDto(element)),
+                element -> Cursors.encodeId(element.id()));
     }
 
     public BookDTO assignAuthorToBook(Long bookId, Long authorId) {
         log.info("Assigning author with id: {} to book with id: {} ",authorId,bookId);
-        // Step 1: Retrieve the existing book and author from the database
-        bookEntity book = bookRepository.findById(bookId)
+        if (bookRepository.assignAuthor(bookId, authorId) == 0) {
+            throw writeRejected(bookId, authorId);
+        }
+        log.info("Successfully Assigned author with id: {} to book with id: {} ",authorId,bookId);
+        bookEntity book = reload(bookId);
+        catalogSnapshot.bookSaved(book);
+        return mappingMetrics.book(() -> bookMapper.toDto(book));
+    }
+
+    private static Long authorIdOf(BookDTO bookDto) {
+        return bookDto.getAuthored_by() == null ? null : bookDto.getAuthored_by().getId();
+    }
+
+    private bookEntity reload(Long bookId) {
+        return bookRepository.findWithAuthorById(bookId)
                 .orElseThrow(() -> {
                     log.error("Book not found by id: {}",bookId);
                     return new ResourceNotFoundException("Book not found by id:"+bookId);
                 });
+    }
 
-        AuthorEntity author = authorRepository.findById(authorId)
-                .orElseThrow(() -> {
-                    log.error("Author not found by id: {}",authorId);
-                    return new ResourceNotFoundException("Author not found by id:"+authorId);
-                });
-
-        // Step 2: Assign the author to the book
-        book.setAuthoredBy(author);
-
-        // Step 3: Save the updated book (and relationship) in the database
-        bookEntity savedBook = bookRepository.save(book);
-        log.info("Successfully Assigned author with id: {} to book with id: {} ",authorId,bookId);
-        return modelMapper.map(savedBook,BookDTO.class);
+    // Only reached when a guarded write matched no row: find out which guard failed.
+    private RuntimeException writeRejected(Long bookId, Long authorId) {
+        if (!bookRepository.existsById(bookId)) {
+            log.error("Book not found by id: {}",bookId);
+            return new ResourceNotFoundException("Book not found by id:"+bookId);
+        }
+        if (authorId != null && !authorRepository.existsById(authorId)) {
+            log.error("Author not found by id: {}",authorId);
+            return new ResourceNotFoundException("Author not found by id:"+authorId);
+        }
+        log.error("Book with id: {} was modified since it was read",bookId);
+        return new PreconditionFailedException("Book was modified, fetch it again for the current ETag");
     }
 }
@@ -0,0 +1,133 @@
+package com.SpringBoot.TestingHW.service;
+
+import com.SpringBoot.TestingHW.dto.BatchItemErrorDTO;
+import com.SpringBoot.TestingHW.dto.BatchResultDTO;
+import com.SpringBoot.TestingHW.exceptions.BadRequestException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Reads a JSON array item by item, validates each item and persists valid ones in chunks,
+ * one transaction per chunk. Memory stays bounded by the chunk size whatever the array length.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JsonBatchInserter {
+    // Matches spring.jpa.properties.hibernate.jdbc.batch_size, so one chunk is flushed as one JDBC batch.
+    static final int CHUNK_SIZE = 500;
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    public <T> BatchResultDTO insert(InputStream body, Class<T> itemType, Consumer<List<T>> persistChunk) throws IOException {
+        BatchResult result = new BatchResult();
+        List<T> chunk = new ArrayList<>(CHUNK_SIZE);
+        List<Integer> chunkIndexes = new ArrayList<>(CHUNK_SIZE);
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new BadRequestException("Request body must be a JSON array");
+            }
+            int index = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new BadRequestException("Request body ended before the JSON array was closed");
+                }
+                // Read the element as a tree first so a bad item never leaves the parser mid-object.
+                JsonNode node = objectMapper.readTree(parser);
+                T item = readItem(node, itemType, index, result);
+                if (item != null) {
+                    chunk.add(item);
+                    chunkIndexes.add(index);
+                    if (chunk.size() == CHUNK_SIZE) {
+                        persist(chunk, chunkIndexes, persistChunk, result);
+                    }
+                }
+                index++;
+            }
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Malformed JSON array: " + e.getOriginalMessage());
+        }
+        persist(chunk, chunkIndexes, persistChunk, result);
+        return result.toDto();
+    }
+
+    private <T> T readItem(JsonNode node, Class<T> itemType, int index, BatchResult result) {
+        // treeToValue maps null (and coerces "" and the like) to a null item, which the validator rejects with an IAE.
+        if (!node.isObject()) {
+            result.fail(index, List.of("Item must be a JSON object"));
+            return null;
+        }
+        T item;
+        try {
+            item = objectMapper.treeToValue(node, itemType);
+        } catch (JsonProcessingException e) {
+            result.fail(index, List.of(e.getOriginalMessage()));
+            return null;
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(item);
+        if (!violations.isEmpty()) {
+            result.fail(index, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.toList()));
+            return null;
+        }
+        return item;
+    }
+
+    private <T> void persist(List<T> chunk, List<Integer> chunkIndexes, Consumer<List<T>> persistChunk, BatchResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> persistChunk.accept(chunk));
+            result.created += chunk.size();
+        } catch (DataAccessException e) {
+            log.error("Failed to store batch chunk of {} items",chunk.size(),e);
+            for (Integer index : chunkIndexes) {
+                result.fail(index, List.of("Could not be stored: " + e.getMostSpecificCause().getMessage()));
+            }
+        }
+        chunk.clear();
+        chunkIndexes.clear();
+    }
+
+    private static class BatchResult {
+        private int created;
+        private int failed;
+        private final List<BatchItemErrorDTO> errors = new ArrayList<>();
+
+        private void fail(int index, List<String> messages) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new BatchItemErrorDTO(index, messages));
+            }
+        }
+
+        private BatchResultDTO toDto() {
+            return new BatchResultDTO(created, failed, errors);
+        }
+    }
+}
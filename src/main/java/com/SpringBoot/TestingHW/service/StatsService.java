@@ -0,0 +1,53 @@
+package com.SpringBoot.TestingHW.service;
+
+import com.SpringBoot.TestingHW.dto.AuthorBookCountDTO;
+import com.SpringBoot.TestingHW.dto.CatalogStatsDTO;
+import com.SpringBoot.TestingHW.dto.MonthBookCountDTO;
+import com.SpringBoot.TestingHW.dto.YearBookCountDTO;
+import com.SpringBoot.TestingHW.pagination.CursorPage;
+import com.SpringBoot.TestingHW.pagination.Cursors;
+import com.SpringBoot.TestingHW.repository.BookStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Catalog statistics. Nothing here writes: the summary tables are maintained by database triggers on book, so every
+ * BookService path (create, batch, update, assign, delete, import) and the author-delete cascade stay counted.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StatsService {
+    private final BookStatsRepository bookStatsRepository;
+
+    @Transactional(readOnly = true)
+    public CatalogStatsDTO getCatalogStats() {
+        log.info("Fetching catalog statistics");
+        return bookStatsRepository.totals();
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<AuthorBookCountDTO> getBooksPerAuthor(String after, Integer limit) {
+        log.info("Fetching book counts per author");
+        int pageSize = Cursors.clampLimit(limit);
+        List<AuthorBookCountDTO> counts = bookStatsRepository.authorsAfter(Cursors.decodeId(after), pageSize + 1);
+        return CursorPage.of(counts, pageSize, Function.identity(), element -> Cursors.encodeId(element.getAuthorId()));
+    }
+
+    @Transactional(readOnly = true)
+    public List<YearBookCountDTO> getBooksPerYear() {
+        log.info("Fetching book counts per year");
+        return bookStatsRepository.years();
+    }
+
+    @Transactional(readOnly = true)
+    public List<MonthBookCountDTO> getBooksPerMonth(Integer year) {
+        log.info("Fetching book counts per month of year: {}",year);
+        return bookStatsRepository.months(year);
+    }
+}
@@ -0,0 +1,251 @@
+package com.SpringBoot.TestingHW.snapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * Immutable, column-oriented copy of the book table. Rows are numbered in id order; every column and index lives
+ * in direct buffers outside the Java heap, so a large catalog adds neither GC work nor old-generation footprint.
+ * Only the distinct titles stay on the heap, as a sorted dictionary that rows reference by position.
+ * <p>
+ * Three secondary indexes hold row numbers: by (publishedOn, id), by (title, id) and by (authorId, id). Rows without
+ * a date, title or author are left out of the index they cannot match.
+ */
+final class CatalogColumns {
+    static final int NO_DATE = Integer.MIN_VALUE;
+    static final int NO_TITLE = -1;
+    // Sequence-generated ids start at 1, so 0 never names an author.
+    static final long NO_AUTHOR = 0L;
+
+    private final int size;
+    private final LongBuffer ids;
+    private final LongBuffer authorIds;
+    private final IntBuffer publishedOn;
+    private final IntBuffer titleCodes;
+    private final String[] titles;
+    private final IntBuffer descriptionOffsets;
+    private final ByteBuffer descriptions;
+    private final BitSet nullDescriptions;
+    private final IntBuffer byPublishedOn;
+    private final IntBuffer byTitle;
+    private final IntBuffer byAuthor;
+
+    private CatalogColumns(Builder builder, String[] titles, int[] titleCodes) {
+        this.size = builder.size;
+        this.ids = longs(builder.ids, size);
+        this.authorIds = longs(builder.authorIds, size);
+        this.publishedOn = ints(builder.publishedOn, size);
+        this.titleCodes = ints(titleCodes, size);
+        this.titles = titles;
+        this.descriptionOffsets = ints(builder.descriptionOffsets, size + 1);
+        this.descriptions = ByteBuffer.allocateDirect(builder.descriptions.size());
+        this.descriptions.put(builder.descriptions.toByteArray()).flip();
+        this.nullDescriptions = builder.nullDescriptions;
+        this.byPublishedOn = index(builder.publishedOn, size, day -> day != NO_DATE);
+        this.byTitle = index(titleCodes, size, code -> code != NO_TITLE);
+        this.byAuthor = index(authorCodes(builder.authorIds, size), size, code -> code >= 0);
+    }
+
+    static CatalogColumns empty() {
+        return new Builder().build();
+    }
+
+    int size() {
+        return size;
+    }
+
+    long id(int row) {
+        return ids.get(row);
+    }
+
+    Long authorId(int row) {
+        long authorId = authorIds.get(row);
+        return authorId == NO_AUTHOR ? null : authorId;
+    }
+
+    LocalDate publishedOn(int row) {
+        int day = publishedOn.get(row);
+        return day == NO_DATE ? null : LocalDate.ofEpochDay(day);
+    }
+
+    String title(int row) {
+        int code = titleCodes.get(row);
+        return code == NO_TITLE ? null : titles[code];
+    }
+
+    String description(int row) {
+        if (nullDescriptions.get(row)) {
+            return null;
+        }
+        int from = descriptionOffsets.get(row);
+        byte[] bytes = new byte[descriptionOffsets.get(row + 1) - from];
+        descriptions.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Visits rows with (publishedOn, id) after the given key, in that order, until the visitor returns false.
+     */
+    void scanPublishedAfter(int day, long afterId, IntPredicate visitor) {
+        int from = lowerBound(byPublishedOn, 0, byPublishedOn.limit(), row -> {
+            int rowDay = publishedOn.get(row);
+            return rowDay > day || (rowDay == day && ids.get(row) > afterId);
+        });
+        scan(byPublishedOn, from, byPublishedOn.limit(), visitor);
+    }
+
+    /**
+     * Visits rows with exactly this title and an id above {@code afterId}, in id order.
+     */
+    void scanTitle(String title, long afterId, IntPredicate visitor) {
+        int code = Arrays.binarySearch(titles, title);
+        if (code < 0) {
+            return;
+        }
+        int from = lowerBound(byTitle, 0, byTitle.limit(), row -> {
+            int rowCode = titleCodes.get(row);
+            return rowCode > code || (rowCode == code && ids.get(row) > afterId);
+        });
+        int to = lowerBound(byTitle, from, byTitle.limit(), row -> titleCodes.get(row) > code);
+        scan(byTitle, from, to, visitor);
+    }
+
+    /**
+     * Visits rows of this author with an id above {@code afterId}, in id order.
+     */
+    void scanAuthor(long authorId, long afterId, IntPredicate visitor) {
+        int from = lowerBound(byAuthor, 0, byAuthor.limit(), row -> {
+            long rowAuthorId = authorIds.get(row);
+            return rowAuthorId > authorId || (rowAuthorId == authorId && ids.get(row) > afterId);
+        });
+        int to = lowerBound(byAuthor, from, byAuthor.limit(), row -> authorIds.get(row) > authorId);
+        scan(byAuthor, from, to, visitor);
+    }
+
+    private static void scan(IntBuffer index, int from, int to, IntPredicate visitor) {
+        for (int i = from; i < to && visitor.test(index.get(i)); i++) {
+        }
+    }
+
+    /**
+     * First position in {@code [from, to)} whose row satisfies {@code after}; the predicate must be monotone over
+     * the index order.
+     */
+    private static int lowerBound(IntBuffer index, int from, int to, IntPredicate after) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (after.test(index.get(mid))) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Row numbers whose key passes {@code include}, ordered by (key, row). Both fit in 32 bits, so each pair is
+     * packed into one long and the whole index is a single primitive sort.
+     */
+    private static IntBuffer index(int[] keys, int size, IntPredicate include) {
+        long[] packed = new long[size];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (include.test(keys[row])) {
+                packed[count++] = ((long) keys[row] << 32) | row;
+            }
+        }
+        Arrays.sort(packed, 0, count);
+        IntBuffer index = ByteBuffer.allocateDirect(count * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+        for (int i = 0; i < count; i++) {
+            index.put(i, (int) packed[i]);
+        }
+        return index;
+    }
+
+    // Author ids are longs; their rank among the distinct ids sorts the same way and fits the packed index key.
+    private static int[] authorCodes(long[] authorIds, int size) {
+        long[] distinct = Arrays.stream(authorIds, 0, size).filter(id -> id != NO_AUTHOR).sorted().distinct().toArray();
+        int[] codes = new int[size];
+        for (int row = 0; row < size; row++) {
+            codes[row] = authorIds[row] == NO_AUTHOR ? -1 : Arrays.binarySearch(distinct, authorIds[row]);
+        }
+        return codes;
+    }
+
+    private static LongBuffer longs(long[] values, int size) {
+        LongBuffer buffer = ByteBuffer.allocateDirect(size * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+        buffer.put(values, 0, size).flip();
+        return buffer;
+    }
+
+    private static IntBuffer ints(int[] values, int size) {
+        IntBuffer buffer = ByteBuffer.allocateDirect(size * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+        buffer.put(values, 0, size).flip();
+        return buffer;
+    }
+
+    /**
+     * Collects rows in ascending id order on the heap, then copies them off-heap in {@link #build()}.
+     */
+    static final class Builder {
+        private int size;
+        private long[] ids = new long[1024];
+        private long[] authorIds = new long[1024];
+        private int[] publishedOn = new int[1024];
+        private String[] titleOf = new String[1024];
+        private int[] descriptionOffsets = new int[1025];
+        private final ByteArrayOutputStream descriptions = new ByteArrayOutputStream();
+        private final BitSet nullDescriptions = new BitSet();
+        private final Map<String, String> interned = new HashMap<>();
+
+        Builder add(long id, String title, String description, LocalDate date, Long authorId) {
+            if (size > 0 && id <= ids[size - 1]) {
+                throw new IllegalArgumentException("Rows must be added in ascending id order, got " + id + " after " + ids[size - 1]);
+            }
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                authorIds = Arrays.copyOf(authorIds, capacity);
+                publishedOn = Arrays.copyOf(publishedOn, capacity);
+                titleOf = Arrays.copyOf(titleOf, capacity);
+                descriptionOffsets = Arrays.copyOf(descriptionOffsets, capacity + 1);
+            }
+            byte[] descriptionBytes = (description == null ? "" : description).getBytes(StandardCharsets.UTF_8);
+            if ((long) descriptions.size() + descriptionBytes.length > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Book descriptions exceed 2 GB, too large for a catalog snapshot");
+            }
+            ids[size] = id;
+            authorIds[size] = authorId == null ? NO_AUTHOR : authorId;
+            publishedOn[size] = date == null ? NO_DATE : Math.toIntExact(date.toEpochDay());
+            titleOf[size] = title == null ? null : interned.computeIfAbsent(title, t -> t);
+            nullDescriptions.set(size, description == null);
+            descriptions.writeBytes(descriptionBytes);
+            descriptionOffsets[size + 1] = descriptions.size();
+            size++;
+            return this;
+        }
+
+        CatalogColumns build() {
+            String[] titles = interned.keySet().toArray(new String[0]);
+            Arrays.sort(titles);
+            int[] titleCodes = new int[size];
+            for (int row = 0; row < size; row++) {
+                titleCodes[row] = titleOf[row] == null ? NO_TITLE : Arrays.binarySearch(titles, titleOf[row]);
+            }
+            return new CatalogColumns(this, titles, titleCodes);
+        }
+    }
+}
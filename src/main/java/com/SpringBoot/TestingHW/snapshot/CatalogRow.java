@@ -0,0 +1,10 @@
+package com.SpringBoot.TestingHW.snapshot;
+
+import java.time.LocalDate;
+
+/**
+ * A book changed since the columns were built. The author is kept by id only; names are looked up at read time,
+ * so renaming an author never touches book rows.
+ */
+record CatalogRow(long id, String title, String description, LocalDate publishedOn, Long authorId) {
+}
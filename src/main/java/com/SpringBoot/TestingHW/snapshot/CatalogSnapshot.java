@@ -0,0 +1,321 @@
+package com.SpringBoot.TestingHW.snapshot;
+
+import com.SpringBoot.TestingHW.entity.AuthorEntity;
+import com.SpringBoot.TestingHW.entity.bookEntity;
+import com.SpringBoot.TestingHW.projection.BookView;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * In-process read model for the hottest book lists. Queries run against {@link CatalogColumns} with binary searches
+ * over primitive indexes, merged with the small overlay of books written since the columns were built; the
+ * results are the same pages, in the same order, as the {@code BookRepository} view queries they replace.
+ * <p>
+ * BookService and AuthorService report every committed write here. Rebuilds (the periodic reload from the database
+ * and the in-memory compaction of a grown overlay) run on one background thread and record the writes that commit
+ * meanwhile, replaying them onto the rebuilt state. All changes are idempotent, so a write that is both read by the
+ * rebuild and replayed lands once.
+ */
+@Component
+@Slf4j
+public class CatalogSnapshot implements MeterBinder {
+    private static final Comparator<BookView> BY_ID = Comparator.comparing(BookView::id);
+    private static final Comparator<BookView> BY_PUBLISHED_ON_AND_ID =
+            Comparator.comparing(BookView::publishedOn).thenComparing(BookView::id);
+
+    private final CatalogSnapshotProperties properties;
+    private final CatalogSnapshotLoader loader;
+    private final Object lock = new Object();
+    private volatile CatalogState state;
+    // Changes committed while a rebuild runs; null when none is running. Guarded by lock.
+    private List<UnaryOperator<CatalogState>> journal;
+    private boolean compactionScheduled;
+    private ScheduledExecutorService rebuilder;
+
+    public CatalogSnapshot(CatalogSnapshotProperties properties, CatalogSnapshotLoader loader) {
+        this.properties = properties;
+        this.loader = loader;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getRefreshInterval().toMillis();
+        rebuilder.scheduleWithFixedDelay(this::reloadNow, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * False until the first load has finished, and always when disabled; callers then query the database.
+     */
+    public boolean isReady() {
+        return state != null;
+    }
+
+    public boolean hasAuthor(long authorId) {
+        return state.hasAuthor(authorId);
+    }
+
+    /**
+     * Same rows as {@code BookRepository.findViewsPublishedAfterSeek}: published after {@code date} and after the
+     * {@code (afterPublishedOn, afterId)} key, ordered by (publishedOn, id).
+     */
+    public List<BookView> findPublishedAfter(LocalDate date, LocalDate afterPublishedOn, long afterId, int limit) {
+        CatalogState current = state;
+        // The page starts after whichever key is later: (date, any id), which excludes the date itself, or the cursor.
+        boolean cursorLater = afterPublishedOn.isAfter(date);
+        int startDay = Math.toIntExact((cursorLater ? afterPublishedOn : date).toEpochDay());
+        long startId = cursorLater ? afterId : Long.MAX_VALUE;
+        List<BookView> page = new ArrayList<>(limit);
+        current.columns().scanPublishedAfter(startDay, startId, row -> collect(current, row, page, limit));
+        return merge(page, current, limit, BY_PUBLISHED_ON_AND_ID, book -> book.publishedOn() != null
+                && (book.publishedOn().toEpochDay() > startDay
+                || (book.publishedOn().toEpochDay() == startDay && book.id() > startId)));
+    }
+
+    /**
+     * Same rows as {@code BookRepository.findViewsByTitleAfter}.
+     */
+    public List<BookView> findByTitle(String upperCaseTitle, long afterId, int limit) {
+        CatalogState current = state;
+        List<BookView> page = new ArrayList<>(limit);
+        current.columns().scanTitle(upperCaseTitle, afterId, row -> collect(current, row, page, limit));
+        return merge(page, current, limit, BY_ID, book -> upperCaseTitle.equals(book.title()) && book.id() > afterId);
+    }
+
+    /**
+     * Same rows as {@code BookRepository.findViewsByAuthorAfter}.
+     */
+    public List<BookView> findByAuthor(long authorId, long afterId, int limit) {
+        CatalogState current = state;
+        List<BookView> page = new ArrayList<>(limit);
+        current.columns().scanAuthor(authorId, afterId, row -> collect(current, row, page, limit));
+        return merge(page, current, limit, BY_ID, book -> book.authorId() != null && book.authorId() == authorId
+                && book.id() > afterId);
+    }
+
+    private static boolean collect(CatalogState current, int row, List<BookView> page, int limit) {
+        CatalogColumns columns = current.columns();
+        long id = columns.id(row);
+        if (!current.hides(id)) {
+            Long authorId = columns.authorId(row);
+            page.add(new BookView(id, columns.title(row), columns.description(row), columns.publishedOn(row),
+                    authorId, current.authorName(authorId)));
+        }
+        return page.size() < limit;
+    }
+
+    private static List<BookView> merge(List<BookView> page, CatalogState current, int limit,
+                                        Comparator<BookView> order, Predicate<BookView> matches) {
+        if (current.changed().isEmpty()) {
+            return page;
+        }
+        List<BookView> changed = current.changed().values().stream()
+                .map(row -> new BookView(row.id(), row.title(), row.description(), row.publishedOn(),
+                        row.authorId(), current.authorName(row.authorId())))
+                .filter(matches)
+                .toList();
+        if (changed.isEmpty()) {
+            return page;
+        }
+        return Stream.concat(page.stream(), changed.stream())
+                .sorted(order)
+                .limit(limit)
+                .toList();
+    }
+
+    public void bookSaved(bookEntity book) {
+        CatalogRow row = row(book);
+        apply(current -> current.withBook(row));
+    }
+
+    public void booksSaved(List<bookEntity> books) {
+        List<CatalogRow> rows = books.stream().map(CatalogSnapshot::row).toList();
+        apply(current -> {
+            CatalogState next = current;
+            for (CatalogRow row : rows) {
+                next = next.withBook(row);
+            }
+            return next;
+        });
+    }
+
+    public void bookDeleted(long bookId) {
+        apply(current -> current.withoutBooks(Set.of(bookId)));
+    }
+
+    public void authorSaved(AuthorEntity author) {
+        long authorId = author.getId();
+        String name = author.getName();
+        apply(current -> current.withAuthor(authorId, name));
+    }
+
+    public void authorsSaved(List<AuthorEntity> authors) {
+        authors.forEach(this::authorSaved);
+    }
+
+    public void authorDeleted(long authorId) {
+        apply(current -> current.withoutAuthor(authorId));
+    }
+
+    /**
+     * For writes that bypass the per-book hooks (the COPY import): re-reads the catalog in the background.
+     */
+    public void reload() {
+        if (rebuilder != null) {
+            rebuilder.execute(this::reloadNow);
+        }
+    }
+
+    private static CatalogRow row(bookEntity book) {
+        Long authorId = book.getAuthoredBy() == null ? null : book.getAuthoredBy().getId();
+        return new CatalogRow(book.getId(), book.getTitle(), book.getDescription(), book.getPublishedOn(), authorId);
+    }
+
+    // Runs after the surrounding transaction commits, so the snapshot never shows a write that was rolled back.
+    private void apply(UnaryOperator<CatalogState> change) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyNow(change);
+                }
+            });
+        } else {
+            applyNow(change);
+        }
+    }
+
+    private void applyNow(UnaryOperator<CatalogState> change) {
+        synchronized (lock) {
+            if (journal != null) {
+                journal.add(change);
+            }
+            if (state == null) {
+                return;
+            }
+            state = change.apply(state);
+            if (state.overlaySize() > properties.getCompactionThreshold() && !compactionScheduled) {
+                compactionScheduled = true;
+                rebuilder.execute(() -> rebuild(CatalogSnapshot::compact, "compacted"));
+            }
+        }
+    }
+
+    void reloadNow() {
+        try {
+            rebuild(from -> loader.load(), "loaded");
+        } catch (RuntimeException e) {
+            log.error("Could not load the catalog snapshot, keeping the previous one", e);
+        }
+    }
+
+    private void rebuild(Function<CatalogState, CatalogState> source, String action) {
+        long start = System.nanoTime();
+        CatalogState from;
+        synchronized (lock) {
+            journal = new ArrayList<>();
+            from = state;
+        }
+        CatalogState rebuilt;
+        try {
+            rebuilt = source.apply(from);
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                journal = null;
+                compactionScheduled = false;
+            }
+            throw e;
+        }
+        synchronized (lock) {
+            for (UnaryOperator<CatalogState> change : journal) {
+                rebuilt = change.apply(rebuilt);
+            }
+            journal = null;
+            compactionScheduled = false;
+            state = rebuilt;
+        }
+        log.info("Catalog snapshot {}: {} books in {} ms", action, rebuilt.columns().size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Folds the overlay into new columns: unchanged rows and changed books, merged in id order.
+     */
+    static CatalogState compact(CatalogState from) {
+        CatalogColumns columns = from.columns();
+        List<CatalogRow> changed = from.changed().values().stream()
+                .sorted(Comparator.comparingLong(CatalogRow::id))
+                .toList();
+        CatalogColumns.Builder builder = new CatalogColumns.Builder();
+        int next = 0;
+        for (int row = 0; row < columns.size(); row++) {
+            long id = columns.id(row);
+            for (; next < changed.size() && changed.get(next).id() < id; next++) {
+                add(builder, changed.get(next));
+            }
+            if (!from.hides(id)) {
+                builder.add(id, columns.title(row), columns.description(row), columns.publishedOn(row), columns.authorId(row));
+            }
+        }
+        for (; next < changed.size(); next++) {
+            add(builder, changed.get(next));
+        }
+        return CatalogState.of(builder.build(), new ConcurrentHashMap<>(from.authors()));
+    }
+
+    private static void add(CatalogColumns.Builder builder, CatalogRow row) {
+        builder.add(row.id(), row.title(), row.description(), row.publishedOn(), row.authorId());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Gauge.builder("library.catalog.snapshot.books", this, snapshot -> snapshot.isReady() ? snapshot.state.columns().size() : 0)
+                .description("Books in the columns of the in-memory catalog snapshot")
+                .register(registry);
+        Gauge.builder("library.catalog.snapshot.overlay", this, snapshot -> snapshot.isReady() ? snapshot.state.overlaySize() : 0)
+                .description("Books written or deleted since the snapshot columns were last rebuilt")
+                .register(registry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (rebuilder != null) {
+            rebuilder.shutdownNow();
+        }
+    }
+}
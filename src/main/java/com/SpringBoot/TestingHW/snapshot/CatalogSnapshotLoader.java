@@ -0,0 +1,44 @@
+package com.SpringBoot.TestingHW.snapshot;
+
+import com.SpringBoot.TestingHW.projection.AuthorView;
+import com.SpringBoot.TestingHW.projection.BookView;
+import com.SpringBoot.TestingHW.repository.AuthorRepository;
+import com.SpringBoot.TestingHW.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+class CatalogSnapshotLoader {
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+
+    /**
+     * Reads books and authors in one REPEATABLE READ transaction: PostgreSQL then answers both queries from the same
+     * snapshot, so the two agree (under READ COMMITTED each statement would see its own). Deliberately not read-only:
+     * with read replicas configured that would route the load to a replica, and the snapshot would start out behind
+     * the primary.
+     */
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public CatalogState load() {
+        ConcurrentHashMap<Long, String> authors = new ConcurrentHashMap<>();
+        try (Stream<AuthorView> views = authorRepository.streamAllViews()) {
+            views.forEach(author -> authors.put(author.id(), CatalogState.encodeName(author.name())));
+        }
+        CatalogColumns.Builder builder = new CatalogColumns.Builder();
+        try (Stream<BookView> views = bookRepository.streamAllViews()) {
+            Iterator<BookView> iterator = views.iterator();
+            while (iterator.hasNext()) {
+                BookView book = iterator.next();
+                builder.add(book.id(), book.title(), book.description(), book.publishedOn(), book.authorId());
+            }
+        }
+        return CatalogState.of(builder.build(), authors);
+    }
+}
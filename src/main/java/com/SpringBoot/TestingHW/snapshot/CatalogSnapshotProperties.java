@@ -0,0 +1,24 @@
+package com.SpringBoot.TestingHW.snapshot;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * When {@code enabled}, the title, author and published-after book lists are answered from an in-process copy of
+ * the catalog instead of the database. {@code refreshInterval} re-reads it in full, picking up writes made by other
+ * application instances; {@code compactionThreshold} is how many changed books are overlaid on the copy before it
+ * is rebuilt in memory.
+ */
+@Component
+@ConfigurationProperties(prefix = "catalog.snapshot")
+@Getter
+@Setter
+public class CatalogSnapshotProperties {
+    private boolean enabled = false;
+    private Duration refreshInterval = Duration.ofMinutes(5);
+    private int compactionThreshold = 1024;
+}
@@ -0,0 +1,84 @@
+package com.SpringBoot.TestingHW.snapshot;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * What readers see: immutable columns, plus the books written since they were built. A book id present in
+ * {@code changed} or {@code deleted} hides its row in the columns. Each change returns a new state (copying the small
+ * overlay), so a reader holding a state never sees a half-applied write. Author names are the exception: one shared
+ * concurrent map, since a rename is a single put.
+ */
+record CatalogState(CatalogColumns columns, Map<Long, CatalogRow> changed, Set<Long> deleted,
+                    ConcurrentHashMap<Long, String> authors) {
+    // ConcurrentHashMap takes no null values; stands in for an author without a name.
+    private static final String NO_NAME = "\u0000";
+
+    static String encodeName(String name) {
+        return name == null ? NO_NAME : name;
+    }
+
+    static CatalogState of(CatalogColumns columns, ConcurrentHashMap<Long, String> authors) {
+        return new CatalogState(columns, Map.of(), Set.of(), authors);
+    }
+
+    boolean hasAuthor(long authorId) {
+        return authors.containsKey(authorId);
+    }
+
+    String authorName(Long authorId) {
+        String name = authorId == null ? null : authors.get(authorId);
+        return NO_NAME.equals(name) ? null : name;
+    }
+
+    boolean hides(long bookId) {
+        return changed.containsKey(bookId) || deleted.contains(bookId);
+    }
+
+    int overlaySize() {
+        return changed.size() + deleted.size();
+    }
+
+    CatalogState withBook(CatalogRow row) {
+        Map<Long, CatalogRow> newChanged = new HashMap<>(changed);
+        newChanged.put(row.id(), row);
+        Set<Long> newDeleted = deleted;
+        if (deleted.contains(row.id())) {
+            newDeleted = new HashSet<>(deleted);
+            newDeleted.remove(row.id());
+        }
+        return new CatalogState(columns, newChanged, newDeleted, authors);
+    }
+
+    CatalogState withoutBooks(Set<Long> bookIds) {
+        Map<Long, CatalogRow> newChanged = new HashMap<>(changed);
+        newChanged.keySet().removeAll(bookIds);
+        Set<Long> newDeleted = new HashSet<>(deleted);
+        newDeleted.addAll(bookIds);
+        return new CatalogState(columns, newChanged, newDeleted, authors);
+    }
+
+    CatalogState withAuthor(long authorId, String name) {
+        authors.put(authorId, encodeName(name));
+        return this;
+    }
+
+    /**
+     * The author and, as {@code AuthorService.deleteAuthorById} does, all of their books.
+     */
+    CatalogState withoutAuthor(long authorId) {
+        Set<Long> bookIds = new HashSet<>();
+        columns.scanAuthor(authorId, 0L, row -> {
+            bookIds.add(columns.id(row));
+            return true;
+        });
+        changed.values().stream()
+                .filter(row -> row.authorId() != null && row.authorId() == authorId)
+                .forEach(row -> bookIds.add(row.id()));
+        authors.remove(authorId);
+        return bookIds.isEmpty() ? this : withoutBooks(bookIds);
+    }
+}
@@ -0,0 +1,46 @@
+-- Library schema. Every index below backs a specific repository query; see the comment above each one.
+
+CREATE SEQUENCE author_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE book_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE author
+(
+    id   BIGINT       NOT NULL,
+    name VARCHAR(255),
+    CONSTRAINT author_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE book
+(
+    id           BIGINT       NOT NULL,
+    title        VARCHAR(255),
+    description  VARCHAR(255),
+    published_on DATE,
+    author_id    BIGINT,
+    CONSTRAINT book_pkey PRIMARY KEY (id),
+    CONSTRAINT book_author_fk FOREIGN KEY (author_id) REFERENCES author (id)
+);
+
+-- findByName / findViewsByNameAfter: equality on the (already upper-cased) name, keyset on id.
+CREATE INDEX author_name_id_idx ON author (name, id);
+
+-- findByTitle / findViewsByTitleAfter: titles are stored upper-cased, so a plain b-tree serves the equality.
+CREATE INDEX book_title_id_idx ON book (title, id);
+
+-- findByAuthoredBy / findViewsByAuthorAfter: covering, so a page is an index-only scan; also backs the FK.
+CREATE INDEX book_author_id_id_idx ON book (author_id, id) INCLUDE (title, description, published_on);
+
+-- findByPublishedOnAfter / findViewsPublishedAfterSeek: range on published_on, keyset on (published_on, id), covering.
+CREATE INDEX book_published_on_id_idx ON book (published_on, id) INCLUDE (title, description, author_id);
+
+-- /book/search: weighted full-text vector plus trigram similarity on the title.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE book
+    ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+        ) STORED;
+
+CREATE INDEX book_search_vector_idx ON book USING gin (search_vector);
+CREATE INDEX book_title_trgm_idx ON book USING gin (title gin_trgm_ops);
@@ -0,0 +1,3 @@
+-- @Version columns for optimistic locking; existing rows start at version 0.
+ALTER TABLE author ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE book ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
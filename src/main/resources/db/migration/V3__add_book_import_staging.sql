@@ -0,0 +1,14 @@
+-- Landing table for /book/import. Each chunk of a feed is COPYed in, merged into book and deleted again in one
+-- transaction, so rows never outlive their chunk. UNLOGGED: the data is transient, so skip the WAL for it.
+CREATE UNLOGGED TABLE book_import_staging
+(
+    job_id       UUID         NOT NULL,
+    line         BIGINT       NOT NULL,
+    id           BIGINT       NOT NULL,
+    title        VARCHAR(255) NOT NULL,
+    description  VARCHAR(255) NOT NULL,
+    published_on DATE,
+    author_id    BIGINT
+);
+
+CREATE INDEX book_import_staging_job_id_idx ON book_import_staging (job_id);
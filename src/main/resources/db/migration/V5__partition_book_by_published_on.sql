@@ -0,0 +1,193 @@
+-- Range-partitions book by published_on, one partition per calendar year. Date-bounded queries then scan only the
+-- partitions they overlap, and vacuum/analyze work per partition instead of over the whole catalog. Books without
+-- a date, and any year that has no partition yet, land in book_default.
+--
+-- A primary key on a partitioned table has to include the partition key, and published_on is nullable, so book has
+-- no primary key any more. Even (id, published_on) would only make ids unique per date. Instead every id is also
+-- entered in book_ids, whose primary key rejects an id that already exists in any partition; statement triggers on
+-- book keep it in step. book_id_idx serves the lookups by id.
+--
+-- The trade-off: a lookup by id carries no published_on, so it cannot be pruned and probes book_id_idx in every
+-- partition, one index descent per year on the books. book_ids could hold published_on to let it prune, but every
+-- by-id path (em.find, findAllById, the If-Match writes) would then need a join first, costing as much as the
+-- descents it saves for a few dozen partitions. Single-book reads mostly hit the second-level cache, so the
+-- per-partition probes stay. Revisit if the partition count reaches the hundreds.
+-- PostgreSQL cannot partition a table in place; the rows are copied into a new book and the old one is dropped.
+
+ALTER TABLE book RENAME TO book_unpartitioned;
+
+CREATE TABLE book
+(
+    id            BIGINT NOT NULL,
+    title         VARCHAR(255),
+    description   VARCHAR(255),
+    published_on  DATE,
+    author_id     BIGINT,
+    version       BIGINT NOT NULL DEFAULT 0,
+    search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+        ) STORED,
+    CONSTRAINT book_author_fk FOREIGN KEY (author_id) REFERENCES author (id)
+) PARTITION BY RANGE (published_on);
+
+CREATE TABLE book_default PARTITION OF book DEFAULT;
+
+-- Creates the partition for one year, first moving that year's rows out of book_default (PostgreSQL refuses to
+-- create a partition while the default partition holds rows that belong to it). The rows are moved partition to
+-- partition, so the statement triggers on book do not fire and the summary tables stay as they are.
+CREATE FUNCTION create_book_partition(partition_year INTEGER) RETURNS TEXT
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    partition_name TEXT := format('book_y%s', partition_year);
+    lower_bound    DATE := make_date(partition_year, 1, 1);
+    upper_bound    DATE := make_date(partition_year + 1, 1, 1);
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN NULL;
+    END IF;
+    CREATE TEMPORARY TABLE book_partition_moving ON COMMIT DROP AS
+    SELECT id, title, description, published_on, author_id, version FROM book_default WHERE false;
+    WITH moved AS (
+        DELETE FROM book_default WHERE published_on >= lower_bound AND published_on < upper_bound
+            RETURNING id, title, description, published_on, author_id, version)
+    INSERT INTO book_partition_moving SELECT * FROM moved;
+    EXECUTE format('CREATE TABLE %I PARTITION OF book FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, lower_bound, upper_bound);
+    EXECUTE format('INSERT INTO %I (id, title, description, published_on, author_id, version) '
+                       'SELECT * FROM book_partition_moving', partition_name);
+    DROP TABLE book_partition_moving;
+    RETURN partition_name;
+END
+$$;
+
+-- Called by the application on startup and periodically (BookPartitionMaintenance): partitions for this year and
+-- the next years_ahead, plus every year that has rows waiting in book_default. Returns the partitions it created.
+CREATE FUNCTION create_book_partitions(years_ahead INTEGER) RETURNS SETOF TEXT
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    this_year      INTEGER := extract(YEAR FROM current_date);
+    partition_year INTEGER;
+    created        TEXT;
+BEGIN
+    -- One maintenance run at a time; a concurrent caller waits, then finds the partitions already there.
+    PERFORM pg_advisory_xact_lock(hashtext('create_book_partitions'));
+    FOR partition_year IN
+        SELECT y FROM generate_series(this_year, this_year + years_ahead) y
+        UNION
+        SELECT DISTINCT extract(YEAR FROM published_on)::INTEGER FROM book_default WHERE published_on IS NOT NULL
+        ORDER BY 1
+        LOOP
+            created := create_book_partition(partition_year);
+            IF created IS NOT NULL THEN
+                RETURN NEXT created;
+            END IF;
+        END LOOP;
+END
+$$;
+
+-- Partitions for every year already in the catalog, so the copy below leaves book_default with the undated books.
+SELECT create_book_partition(y)
+FROM (SELECT DISTINCT extract(YEAR FROM published_on)::INTEGER AS y FROM book_unpartitioned WHERE published_on IS NOT NULL) years;
+SELECT create_book_partitions(1);
+
+INSERT INTO book (id, title, description, published_on, author_id, version)
+SELECT id, title, description, published_on, author_id, version FROM book_unpartitioned;
+
+-- Drops the old table's indexes and its statistics triggers; both are recreated on the new book below.
+DROP TABLE book_unpartitioned;
+
+CREATE TABLE book_ids
+(
+    id BIGINT NOT NULL,
+    CONSTRAINT book_ids_pk PRIMARY KEY (id)
+);
+
+INSERT INTO book_ids (id)
+SELECT id FROM book;
+
+-- Indexes on the partitioned table are created on every partition, present and future.
+CREATE INDEX book_id_idx ON book (id);
+CREATE INDEX book_title_id_idx ON book (title, id);
+CREATE INDEX book_author_id_id_idx ON book (author_id, id) INCLUDE (title, description, published_on);
+CREATE INDEX book_published_on_id_idx ON book (published_on, id) INCLUDE (title, description, author_id);
+CREATE INDEX book_search_vector_idx ON book USING gin (search_vector);
+CREATE INDEX book_title_trgm_idx ON book USING gin (title gin_trgm_ops);
+
+-- Same triggers as V4. On a partitioned table the transition tables hold the rows of every partition touched, and
+-- an update that moves a book to another year's partition shows up as an update, not a delete plus insert.
+CREATE TRIGGER book_stats_insert
+    AFTER INSERT ON book REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION book_stats_on_insert();
+
+CREATE TRIGGER book_stats_delete
+    AFTER DELETE ON book REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION book_stats_on_delete();
+
+CREATE TRIGGER book_stats_update
+    AFTER UPDATE ON book REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION book_stats_on_update();
+
+CREATE TRIGGER book_stats_truncate
+    AFTER TRUNCATE ON book
+    FOR EACH STATEMENT EXECUTE FUNCTION book_stats_on_truncate();
+
+-- Id uniqueness across partitions. Like the statistics triggers these fire only for statements on book itself, so
+-- create_book_partition moving rows between partitions leaves book_ids untouched, as it should.
+CREATE FUNCTION book_ids_on_insert() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    INSERT INTO book_ids (id) SELECT id FROM new_rows;
+    RETURN NULL;
+END
+$$;
+
+CREATE FUNCTION book_ids_on_delete() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    DELETE FROM book_ids WHERE id IN (SELECT id FROM old_rows);
+    RETURN NULL;
+END
+$$;
+
+-- The application never changes an id, so both statements normally find nothing to do.
+CREATE FUNCTION book_ids_on_update() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    DELETE FROM book_ids WHERE id IN (SELECT o.id FROM old_rows o WHERE NOT EXISTS (SELECT 1 FROM new_rows n WHERE n.id = o.id));
+    INSERT INTO book_ids (id) SELECT n.id FROM new_rows n WHERE NOT EXISTS (SELECT 1 FROM old_rows o WHERE o.id = n.id);
+    RETURN NULL;
+END
+$$;
+
+CREATE FUNCTION book_ids_on_truncate() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    TRUNCATE book_ids;
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER book_ids_insert
+    AFTER INSERT ON book REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION book_ids_on_insert();
+
+CREATE TRIGGER book_ids_delete
+    AFTER DELETE ON book REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION book_ids_on_delete();
+
+CREATE TRIGGER book_ids_update
+    AFTER UPDATE ON book REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION book_ids_on_update();
+
+CREATE TRIGGER book_ids_truncate
+    AFTER TRUNCATE ON book
+    FOR EACH STATEMENT EXECUTE FUNCTION book_ids_on_truncate();
+
+ANALYZE book;
@@ -0,0 +1,76 @@
+package com.SpringBoot.TestingHW.advises;
+
+import com.SpringBoot.TestingHW.dto.BookDTO;
+import com.SpringBoot.TestingHW.lookup.MultiGetResult;
+import com.SpringBoot.TestingHW.pagination.CursorPage;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiResponseSerializerTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final GlobalResponseHandler responseHandler = new GlobalResponseHandler();
+
+    @Test
+    void testSerialize_whenPageWrapped_thenWriteEnvelopeFieldsAroundItems() throws Exception {
+        BookDTO book = BookDTO.builder().id(1L).title("FIRST BOOK").build();
+        Object body = responseHandler.beforeBodyWrite(new CursorPage<>(List.of(book), "aTox"), null, null, null, null, null);
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(body));
+
+        assertThat(json.fieldNames()).toIterable().containsExactly("data", "apiError", "timeStamp", "nextCursor");
+        assertThat(json.get("data").get(0).get("title").asText()).isEqualTo("FIRST BOOK");
+        assertThat(json.get("apiError").isNull()).isTrue();
+        assertThat(json.get("nextCursor").asText()).isEqualTo("aTox");
+        assertThat(LocalDateTime.parse(json.get("timeStamp").asText())).isNotNull();
+    }
+
+    @Test
+    void testSerialize_whenNoCursor_thenOmitNextCursor() throws Exception {
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(new ApiResponse<>("value")));
+
+        assertThat(json.has("nextCursor")).isFalse();
+        assertThat(json.get("data").asText()).isEqualTo("value");
+    }
+
+    @Test
+    void testSerialize_whenMultiGetWrapped_thenWriteMissingIdsAfterTimeStamp() throws Exception {
+        BookDTO book = BookDTO.builder().id(1L).title("FIRST BOOK").build();
+        Object body = responseHandler.beforeBodyWrite(new MultiGetResult<>(List.of(book), new long[]{7L, 3L}), null, null, null, null, null);
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(body));
+
+        assertThat(json.fieldNames()).toIterable().containsExactly("data", "apiError", "timeStamp", "missingIds");
+        assertThat(json.get("missingIds").toString()).isEqualTo("[7,3]");
+        assertThat(json.get("data").get(0).get("id").asLong()).isEqualTo(1L);
+    }
+
+    @Test
+    void testSupports_whenConverterIsNotJsonOrMethodIsRaw_thenDoNotWrap() throws Exception {
+        MethodParameter wrapped = new MethodParameter(Endpoints.class.getDeclaredMethod("wrapped"), -1);
+        MethodParameter raw = new MethodParameter(Endpoints.class.getDeclaredMethod("raw"), -1);
+
+        assertThat(responseHandler.supports(wrapped, MappingJackson2HttpMessageConverter.class)).isTrue();
+        assertThat(responseHandler.supports(wrapped, StringHttpMessageConverter.class)).isFalse();
+        assertThat(responseHandler.supports(raw, MappingJackson2HttpMessageConverter.class)).isFalse();
+    }
+
+    static class Endpoints {
+        BookDTO wrapped() {
+            return null;
+        }
+
+        @RawResponse
+        BookDTO raw() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.SpringBoot.TestingHW.config;
+
+import com.SpringBoot.TestingHW.advises.ApiResponse;
+import com.SpringBoot.TestingHW.dto.AuthorDTO;
+import com.SpringBoot.TestingHW.dto.BookDTO;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORParser;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BinaryFormatsConfigTest {
+    private static final TypeReference<ApiResponse<List<BookDTO>>> BOOK_PAGE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper cborMapper = BinaryFormatsConfig.cborObjectMapper(Jackson2ObjectMapperBuilder.json());
+    private final ObjectMapper smileMapper = BinaryFormatsConfig.smileObjectMapper(Jackson2ObjectMapperBuilder.json());
+
+    private final List<BookDTO> books = List.of(
+            book(1L, LocalDate.of(2024, 1, 2)),
+            book(2L, LocalDate.of(1999, 12, 31)));
+
+    @Test
+    void testCbor_whenPublishedOnWritten_thenEncodedAsTaggedEpochDay() throws Exception {
+        byte[] cbor = cborMapper.writeValueAsBytes(books.get(0));
+
+        try (CBORParser parser = (CBORParser) cborMapper.getFactory().createParser(cbor)) {
+            while (parser.nextToken() != null) {
+                if (parser.currentToken() == JsonToken.FIELD_NAME && parser.currentName().equals("publishedOn")) {
+                    assertThat(parser.nextToken()).isEqualTo(JsonToken.VALUE_NUMBER_INT);
+                    assertThat(parser.getCurrentTag()).isEqualTo(BinaryFormatsConfig.CBOR_EPOCH_DAYS_TAG);
+                    assertThat(parser.getLongValue()).isEqualTo(LocalDate.of(2024, 1, 2).toEpochDay());
+                    return;
+                }
+            }
+        }
+        throw new AssertionError("publishedOn not found");
+    }
+
+    @Test
+    void testBinaryFormats_whenEnvelopeRoundTripped_thenSameBooksAndSmallerThanJson() throws Exception {
+        ApiResponse<List<BookDTO>> page = new ApiResponse<>(books, "aTox");
+        byte[] json = jsonMapper.writeValueAsBytes(page);
+
+        for (ObjectMapper binaryMapper : List.of(cborMapper, smileMapper)) {
+            byte[] binary = binaryMapper.writeValueAsBytes(page);
+            ApiResponse<List<BookDTO>> decoded = binaryMapper.readValue(binary, BOOK_PAGE);
+
+            assertThat(decoded.getData()).usingRecursiveComparison().isEqualTo(books);
+            assertThat(decoded.getNextCursor()).isEqualTo("aTox");
+            assertThat(binary.length).isLessThan(json.length);
+        }
+    }
+
+    private static BookDTO book(Long id, LocalDate publishedOn) {
+        return BookDTO.builder()
+                .id(id)
+                .title("BOOK NUMBER " + id)
+                .description("A description long enough to look like a real catalog entry")
+                .publishedOn(publishedOn)
+                .authored_by(AuthorDTO.builder().id(7L).name("JOHN DOE").build())
+                .build();
+    }
+}
@@ -18,7 +18,8 @@ import org.testcontainers.utility.TestcontainersConfiguration;
 import java.time.LocalDate;
 
 @AutoConfigureWebTestClient(timeout = "100000")
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "sql.statements.header.enabled=true")
 @Import(TestcontainersConfiguration.class)
 public class AbstractIntegrationTest {
 
@@ -42,14 +43,12 @@ public class AbstractIntegrationTest {
     @BeforeEach
     void setUp() {
         mockAuthorEntity = AuthorEntity.builder()
-                .id(1L)
                 .name("JOHN DOE")
                 .build();
 
         mockAuthorDto = modelMapper.map(mockAuthorEntity,AuthorDTO.class);
 
         mockBookEntity = bookEntity.builder()
-                .id(1L)
                 .title("FIRST BOOK")
                 .description("First description")
                 .publishedOn(LocalDate.now())
@@ -2,8 +2,12 @@ package com.SpringBoot.TestingHW.controller;
 
 import com.SpringBoot.TestingHW.dto.AuthorDTO;
 import com.SpringBoot.TestingHW.entity.AuthorEntity;
+import com.SpringBoot.TestingHW.metrics.SqlStatementCounter;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 
+import static com.SpringBoot.TestingHW.metrics.SqlStatementAssertions.atMostStatements;
 import static org.junit.jupiter.api.Assertions.*;
 
 class AuthorControllerTestIT extends AbstractIntegrationTest{
@@ -17,6 +21,7 @@ class AuthorControllerTestIT extends AbstractIntegrationTest{
                 .uri("/author")
                 .exchange()
                 .expectStatus().isOk()
+                .expectHeader().value(SqlStatementCounter.COUNT_HEADER, atMostStatements(1))
                 .expectBody()
                 .jsonPath("$.data.[0].id").isEqualTo(savedAuthor.getId())
                 .jsonPath("$.data.[0].name").isEqualTo(savedAuthor.getName());
@@ -30,11 +35,41 @@ class AuthorControllerTestIT extends AbstractIntegrationTest{
                 .uri("/author/{authorId}",savedAuthor.getId())
                 .exchange()
                 .expectStatus().isOk()
+                .expectHeader().value(SqlStatementCounter.COUNT_HEADER, atMostStatements(1))
                 .expectBody()
                 .jsonPath("$.data.id").isEqualTo(savedAuthor.getId())
                 .jsonPath("$.data.name").isEqualTo(savedAuthor.getName());
     }
 
+    @Test
+    void testGetAuthorsByIds_success() {
+        AuthorEntity savedAuthor = authorRepository.save(mockAuthorEntity);
+
+        webTestClient.get()
+                .uri("/author?ids={ids}", "999," + savedAuthor.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(SqlStatementCounter.COUNT_HEADER, atMostStatements(1))
+                .expectBody()
+                .jsonPath("$.data.[0].id").isEqualTo(savedAuthor.getId())
+                .jsonPath("$.missingIds.[0]").isEqualTo(999);
+    }
+
+    @Test
+    void testLookupAuthors_success() {
+        AuthorEntity savedAuthor = authorRepository.save(mockAuthorEntity);
+
+        webTestClient.post()
+                .uri("/author/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new long[]{savedAuthor.getId()})
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.[0].name").isEqualTo(savedAuthor.getName())
+                .jsonPath("$.missingIds").isEmpty();
+    }
+
     @Test
     void testGetAuthorById_failure() {
         webTestClient.get()
@@ -70,6 +105,23 @@ class AuthorControllerTestIT extends AbstractIntegrationTest{
                 .jsonPath("$.apiError.subErrors[0]").isEqualTo("Name of the author must be at least 3 characters");
     }
 
+    @Test
+    void testCreateNewAuthors_whenBatchHasInvalidItem_thenCreateValidAuthorsAndReportInvalidOne(){
+        webTestClient.post()
+                .uri("/author/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[{\"name\":\"John Doe\"},{\"name\":\"Jo\"},{\"name\":\"Jane Doe\"}]")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.MULTI_STATUS)
+                .expectBody()
+                .jsonPath("$.data.created").isEqualTo(2)
+                .jsonPath("$.data.failed").isEqualTo(1)
+                .jsonPath("$.data.errors[0].index").isEqualTo(1)
+                .jsonPath("$.data.errors[0].messages[0]").isEqualTo("Name of the author must be at least 3 characters");
+
+        assertEquals(2, authorRepository.count());
+    }
+
     @Test
     void testUpdateAuthorById_whenValidDto_thenReturnUpdatedAuthor() {
         //save dummy author
@@ -86,6 +138,7 @@ class AuthorControllerTestIT extends AbstractIntegrationTest{
                 .bodyValue(updatedAuthorDto)
                 .exchange()
                 .expectStatus().isOk()
+                .expectHeader().value(SqlStatementCounter.COUNT_HEADER, atMostStatements(2))
                 .expectBody()
                 .jsonPath("$.data.name").isEqualTo(updatedAuthorDto.getName());
     }
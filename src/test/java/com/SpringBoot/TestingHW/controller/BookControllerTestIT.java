@@ -1,12 +1,22 @@
 package com.SpringBoot.TestingHW.controller;
 
+import com.SpringBoot.TestingHW.config.BinaryFormatsConfig;
+import com.SpringBoot.TestingHW.dto.AuthorDTO;
 import com.SpringBoot.TestingHW.dto.BookDTO;
 import com.SpringBoot.TestingHW.entity.AuthorEntity;
 import com.SpringBoot.TestingHW.entity.bookEntity;
+import com.SpringBoot.TestingHW.metrics.SqlStatementCounter;
+import com.SpringBoot.TestingHW.pagination.Cursors;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 
 import java.time.LocalDate;
 
+import static com.SpringBoot.TestingHW.metrics.SqlStatementAssertions.atMostStatements;
 import static org.junit.jupiter.api.Assertions.*;
 
 class BookControllerTestIT extends AbstractIntegrationTest{
@@ -19,6 +29,7 @@ class BookControllerTestIT extends AbstractIntegrationTest{
                 .uri("/book")
                 .exchange()
                 .expectStatus().isOk()
+                .expectHeader().value(SqlStatementCounter.COUNT_HEADER, atMostStatements(1))
                 .expectBody()
                 .jsonPath("$.data.[0].id").isEqualTo(book.getId())
                 .jsonPath("$.data.[0].title").isEqualTo(book.getTitle());
@@ -34,6 +45,140 @@ class BookControllerTestIT extends AbstractIntegrationTest{
                 .jsonPath("$.data").isEmpty();
     }
 
+    @Test
+    void testGetAllBooks_whenMoreBooksThanLimit_thenReturnNextCursor(){
+        bookEntity firstBook = bookRepository.save(bookEntity.builder().title("FIRST BOOK").build());
+        bookEntity secondBook = bookRepository.save(bookEntity.builder().title("SECOND BOOK").build());
+
+        webTestClient.get()
+                .uri("/book?limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.[0].id").isEqualTo(firstBook.getId())
+                .jsonPath("$.nextCursor").exists();
+
+        webTestClient.get()
+                .uri("/book?limit=1&after={after}", Cursors.encodeId(firstBook.getId()))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.[0].id").isEqualTo(secondBook.getId())
+                .jsonPath("$.nextCursor").doesNotExist();
+    }
+
+    @Test
+    void testGetAllBooks_whenCursorIsInvalid_thenReturnBadRequest(){
+        webTestClient.get()
+                .uri("/book?after=not-a-cursor")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testGetBooksByIds_whenSomeIdsAreMissing_thenReturnBooksInRequestOrderAndMissingIds(){
+        bookEntity firstBook = bookRepository.save(bookEntity.builder().title("FIRST BOOK").build());
+        bookEntity secondBook = bookRepository.save(bookEntity.builder().title("SECOND BOOK").build());
+        long missingId = secondBook.getId() + 100;
+
+        webTestClient.get()
+                .uri("/book?ids={ids}", secondBook.getId() + "," + missingId + "," + firstBook.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(SqlStatementCounter.COUNT_HEADER, atMostStatements(1))
+                .expectBody()
+                .jsonPath("$.data.[0].id").isEqualTo(secondBook.getId())
+                .jsonPath("$.data.[1].id").isEqualTo(firstBook.getId())
+                .jsonPath("$.missingIds.[0]").isEqualTo(missingId)
+                .jsonPath("$.nextCursor").doesNotExist();
+    }
+
+    @Test
+    void testLookupBooks_whenIdListPosted_thenReturnBooksWithoutStickyCookie(){
+        bookEntity book = bookRepository.save(mockBookEntity);
+
+        webTestClient.post()
+                .uri("/book/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new long[]{book.getId(), book.getId()})
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(HttpHeaders.SET_COOKIE)
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(1)
+                .jsonPath("$.data.[0].id").isEqualTo(book.getId())
+                .jsonPath("$.missingIds").isEmpty();
+    }
+
+    @Test
+    void testGetBooksByIds_whenIdIsInvalid_thenReturnBadRequest(){
+        webTestClient.get()
+                .uri("/book?ids=1,abc")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.apiError.message").isEqualTo("Invalid id: 'abc'");
+    }
+
+    @Test
+    void testCreateNewBook_whenAuthorGiven_thenReturnBookWithAuthorOnReadBack() {
+        AuthorEntity author = authorRepository.save(mockAuthorEntity);
+        mockBookDto.setAuthored_by(AuthorDTO.builder().id(author.getId()).build());
+
+        Long bookId = webTestClient.post()
+                .uri("/book")
+                .bodyValue(mockBookDto)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(JsonNode.class)
+                .returnResult().getResponseBody()
+                .get("data").get("id").asLong();
+
+        webTestClient.get()
+                .uri("/book/{bookId}",bookId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.authored_by.id").isEqualTo(author.getId())
+                .jsonPath("$.data.authored_by.name").isEqualTo(author.getName());
+    }
+
+    @Test
+    void testCreateNewBook_whenAuthorNotPresent_thenReturnResourceNotFoundError() {
+        mockBookDto.setAuthored_by(AuthorDTO.builder().id(999L).build());
+
+        webTestClient.post()
+                .uri("/book")
+                .bodyValue(mockBookDto)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.apiError.message").isEqualTo("Author not found by id:999");
+    }
+
+    @Test
+    void testCreateNewBooks_whenItemsHaveAuthor_thenStoreThemWithTheAuthor() {
+        AuthorEntity author = authorRepository.save(mockAuthorEntity);
+
+        webTestClient.post()
+                .uri("/book/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[{\"title\":\"First book\",\"description\":\"First\",\"authored_by\":{\"id\":" + author.getId() + "}}," +
+                        "{\"title\":\"Second book\",\"description\":\"Second\"}]")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.data.created").isEqualTo(2);
+
+        webTestClient.get()
+                .uri("/book/createdBy/{authorId}", author.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(1)
+                .jsonPath("$.data.[0].title").isEqualTo("FIRST BOOK");
+    }
+
     @Test
     void testGetBookById_whenBookExists_thenReturnBook(){
         bookEntity book = bookRepository.save(mockBookEntity);
@@ -41,6 +186,7 @@ class BookControllerTestIT extends AbstractIntegrationTest{
                 .uri("/book/{bookId}",book.getId())
                 .exchange()
                 .expectStatus().isOk()
+                .expectHeader().value(SqlStatementCounter.COUNT_HEADER, atMostStatements(2))
                 .expectBody()
                 .jsonPath("$.data.id").isEqualTo(book.getId());
     }
@@ -97,6 +243,7 @@ class BookControllerTestIT extends AbstractIntegrationTest{
                 .bodyValue(updatedBookDto)
                 .exchange()
                 .expectStatus().isOk()
+                .expectHeader().value(SqlStatementCounter.COUNT_HEADER, atMostStatements(2))
                 .expectBody()
                 .jsonPath("$.data.title").isEqualTo(updatedBookDto.getTitle());
     }
@@ -126,7 +273,8 @@ class BookControllerTestIT extends AbstractIntegrationTest{
         webTestClient.delete()
                 .uri("/book/{bookId}", savedBook.getId())
                 .exchange()
-                .expectStatus().isNoContent();
+                .expectStatus().isNoContent()
+                .expectHeader().value(SqlStatementCounter.COUNT_HEADER, atMostStatements(1));
     }
 
     @Test
@@ -140,6 +288,72 @@ class BookControllerTestIT extends AbstractIntegrationTest{
                 .jsonPath("$.apiError.message").isEqualTo("Book not found by id:"+100);
     }
 
+    @Test
+    void testGetBookById_whenIfNoneMatchIsCurrent_thenReturnNotModified(){
+        bookEntity savedBook = bookRepository.save(mockBookEntity);
+
+        String eTag = webTestClient.get()
+                .uri("/book/{bookId}", savedBook.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders().getETag();
+
+        webTestClient.get()
+                .uri("/book/{bookId}", savedBook.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void testUpdateBookById_whenIfMatchIsStale_thenReturnPreconditionFailed() {
+        bookEntity savedBook = bookRepository.save(mockBookEntity);
+
+        webTestClient.put()
+                .uri("/book/{bookId}", savedBook.getId())
+                .header(HttpHeaders.IF_MATCH, "\"99\"")
+                .bodyValue(mockBookDto)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @Test
+    void testGetBookById_whenCborAccepted_thenReturnCborEnvelope() throws Exception {
+        bookEntity savedBook = bookRepository.save(mockBookEntity);
+
+        byte[] body = webTestClient.get()
+                .uri("/book/{bookId}", savedBook.getId())
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+
+        JsonNode envelope = BinaryFormatsConfig.cborObjectMapper(Jackson2ObjectMapperBuilder.json()).readTree(body);
+        assertEquals(savedBook.getTitle(), envelope.get("data").get("title").asText());
+        assertEquals(savedBook.getPublishedOn().toEpochDay(), envelope.get("data").get("publishedOn").asLong());
+    }
+
+    @Test
+    void testGetBookById_whenSmileAcceptedAndBookNotPresent_thenReturnSmileApiError() throws Exception {
+        MediaType smile = MediaType.parseMediaType("application/x-jackson-smile");
+
+        byte[] body = webTestClient.get()
+                .uri("/book/{bookId}", 100)
+                .accept(smile)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().contentType(smile)
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+
+        JsonNode envelope = BinaryFormatsConfig.smileObjectMapper(Jackson2ObjectMapperBuilder.json()).readTree(body);
+        assertEquals("Book not found by id:100", envelope.get("apiError").get("message").asText());
+    }
+
     @Test
     void testGetBooksPublishedAfterDate_whenBooksExist_thenReturnBooksAfterDate(){
         bookEntity book1 = bookEntity.builder()
@@ -162,6 +376,31 @@ class BookControllerTestIT extends AbstractIntegrationTest{
                 .jsonPath("$.data.[0].title").isEqualTo("BOOK2");
     }
 
+    @Test
+    void testGetBooksPublishedBetween_whenBooksExist_thenReturnBooksInRange() {
+        bookRepository.save(bookEntity.builder().title("BOOK1").publishedOn(LocalDate.of(2019, 12, 31)).build());
+        bookRepository.save(bookEntity.builder().title("BOOK2").publishedOn(LocalDate.of(2020, 6, 1)).build());
+        bookRepository.save(bookEntity.builder().title("BOOK3").publishedOn(LocalDate.of(2021, 1, 1)).build());
+
+        webTestClient.get()
+                .uri("/book/published?from={from}&to={to}", LocalDate.of(2020, 1, 1), LocalDate.of(2020, 12, 31))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(1)
+                .jsonPath("$.data.[0].title").isEqualTo("BOOK2");
+    }
+
+    @Test
+    void testGetBooksPublishedBetween_whenFromIsAfterTo_thenReturnBadRequest() {
+        webTestClient.get()
+                .uri("/book/published?from={from}&to={to}", LocalDate.of(2021, 1, 1), LocalDate.of(2020, 1, 1))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.apiError.message").isEqualTo("Date range start must not be after its end");
+    }
+
     @Test
     void testGetBooksByTitle_whenBooksExist_thenReturnBooks() {
 
@@ -200,6 +439,7 @@ class BookControllerTestIT extends AbstractIntegrationTest{
                 .uri("/book/createdBy/{authorId}", savedAuthor.getId())
                 .exchange()
                 .expectStatus().isOk()
+                .expectHeader().value(SqlStatementCounter.COUNT_HEADER, atMostStatements(2))
                 .expectBody()
                 .jsonPath("$.data.[0].authoredBy.name").isEqualTo(savedAuthor.getName());
     }
@@ -230,6 +470,7 @@ class BookControllerTestIT extends AbstractIntegrationTest{
                 .uri("/book/{bookId}/assignAuthorToBook/{authorId}",savedBook.getId(),savedAuthor.getId())
                 .exchange()
                 .expectStatus().isOk()
+                .expectHeader().value(SqlStatementCounter.COUNT_HEADER, atMostStatements(2))
                 .expectBody()
                 .jsonPath("$.data.id").isEqualTo(savedBook.getId())
                 .jsonPath("$.data.authoredBy.id").isEqualTo(savedAuthor.getId());
@@ -263,4 +504,64 @@ class BookControllerTestIT extends AbstractIntegrationTest{
                 .jsonPath("$.apiError.message").isEqualTo("Book not found by id:"+100);
 
     }
-}
\ No newline at end of file
+
+    // Only rejected rows here: the COPY/merge path needs PostgreSQL and is not reached on an all-invalid feed.
+    @Test
+    void testImportBooks_whenEveryRowIsInvalid_thenCompleteJobAndServeErrors() throws Exception {
+        String csv = "title,description\nFi,Too short title\nValid title,\n";
+
+        String location = webTestClient.post()
+                .uri("/book/import")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .bodyValue(csv)
+                .exchange()
+                .expectStatus().isAccepted()
+                .expectBody()
+                .jsonPath("$.data.id").isNotEmpty()
+                .returnResult().getResponseHeaders().getLocation().toString();
+
+        JsonNode job = null;
+        for (int attempt = 0; attempt < 100; attempt++) {
+            job = webTestClient.get().uri(location).exchange()
+                    .expectStatus().isOk()
+                    .expectBody(JsonNode.class)
+                    .returnResult().getResponseBody().get("data");
+            if (!job.get("status").asText().matches("QUEUED|RUNNING")) {
+                break;
+            }
+            Thread.sleep(50);
+        }
+        assertEquals("COMPLETED", job.get("status").asText());
+        assertEquals(2, job.get("rowsRead").asInt());
+        assertEquals(2, job.get("rowsRejected").asInt());
+        assertEquals(0, job.get("rowsImported").asInt());
+
+        webTestClient.get()
+                .uri(location + "/errors")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .value(errors -> assertEquals(2, errors.lines().count()));
+    }
+
+    @Test
+    void testImportBooks_whenHeaderLacksRequiredColumns_thenReturnBadRequest() {
+        webTestClient.post()
+                .uri("/book/import")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .bodyValue("name,summary\nSome book,Some summary\n")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testGetImportJob_whenJobIsUnknown_thenReturnResourceNotFoundError() {
+        webTestClient.get()
+                .uri("/book/import/{jobId}", "00000000-0000-0000-0000-000000000000")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.apiError.message").isEqualTo("Import job not found:00000000-0000-0000-0000-000000000000");
+    }
+}
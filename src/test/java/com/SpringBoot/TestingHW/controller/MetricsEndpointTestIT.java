@@ -0,0 +1,37 @@
+package com.SpringBoot.TestingHW.controller;
+
+import com.SpringBoot.TestingHW.entity.bookEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@AutoConfigureObservability
+class MetricsEndpointTestIT extends AbstractIntegrationTest {
+
+    @Test
+    void testPrometheus_whenBookRequested_thenRouteHikariHibernateMappingAndLoggingMetricsPublished() {
+        bookEntity book = bookRepository.save(mockBookEntity);
+        webTestClient.get()
+                .uri("/book/{bookId}", book.getId())
+                .exchange()
+                .expectStatus().isOk();
+
+        String scrape = webTestClient.get()
+                .uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult().getResponseBody();
+
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket")
+                .contains("uri=\"/book/{bookId}\"")
+                .contains("hikaricp_connections_pending")
+                .contains("hikaricp_connections_acquire_seconds_bucket")
+                .contains("hibernate_second_level_cache_requests_total")
+                .contains("library_mapping_seconds_count{application=\"TestingHW\",type=\"book\"}")
+                .contains("library_requestlog_events_total{appender=\"ASYNC_CONSOLE\",application=\"TestingHW\",outcome=\"enqueued\"}")
+                .contains("library_requestlog_queue_size");
+    }
+}
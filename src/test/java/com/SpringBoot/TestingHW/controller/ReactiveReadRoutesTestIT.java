@@ -0,0 +1,94 @@
+package com.SpringBoot.TestingHW.controller;
+
+import com.SpringBoot.TestingHW.dto.BookDTO;
+import com.SpringBoot.TestingHW.entity.AuthorEntity;
+import com.SpringBoot.TestingHW.entity.bookEntity;
+import com.SpringBoot.TestingHW.reactive.ReactiveServer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = {"reactive.server.enabled=true", "reactive.server.port=0"})
+class ReactiveReadRoutesTestIT extends AbstractIntegrationTest {
+
+    @Autowired
+    private ReactiveServer reactiveServer;
+
+    private WebTestClient reactiveClient;
+
+    @BeforeEach
+    void setUpReactiveClient() {
+        reactiveClient = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + reactiveServer.getPort())
+                .build();
+    }
+
+    @Test
+    void testGetAllBooks_whenBooksExist_thenStreamBooksWithAuthor() {
+        AuthorEntity author = authorRepository.save(AuthorEntity.builder().name("JOHN DOE").build());
+        bookEntity book = bookRepository.save(bookEntity.builder().title("FIRST BOOK").authoredBy(author).build());
+
+        reactiveClient.get()
+                .uri("/book")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo(book.getId())
+                .jsonPath("$[0].authored_by.name").isEqualTo("JOHN DOE");
+    }
+
+    @Test
+    void testGetAllBooks_whenNdjsonAccepted_thenStreamOneBookPerLine() {
+        bookRepository.save(bookEntity.builder().title("FIRST BOOK").build());
+        bookRepository.save(bookEntity.builder().title("SECOND BOOK").build());
+
+        reactiveClient.get()
+                .uri("/book")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(BookDTO.class)
+                .value(books -> assertThat(books).extracting(BookDTO::getTitle)
+                        .containsExactly("FIRST BOOK", "SECOND BOOK"));
+    }
+
+    @Test
+    void testGetAllBooks_whenLimitGiven_thenReturnBadRequest() {
+        reactiveClient.get()
+                .uri("/book?limit=1")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testGetBooksPublishedAfterDate_whenDateIsMalformed_thenReturnBadRequest() {
+        reactiveClient.get()
+                .uri("/book/getAfterDate/{date}", "2024-13-45")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testGetBookById_whenBookNotPresent_thenReturnNotFoundEnvelope() {
+        reactiveClient.get()
+                .uri("/book/{bookId}", 100)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.apiError.message").isEqualTo("Book not found by id:" + 100);
+    }
+
+    @Test
+    void testGetBooksAuthoredBy_whenAuthorNotPresent_thenReturnNotFound() {
+        reactiveClient.get()
+                .uri("/book/createdBy/{authorId}", 100)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
@@ -0,0 +1,93 @@
+package com.SpringBoot.TestingHW.datasource;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadYourWritesFilterTest {
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5));
+
+    @Test
+    void testDoFilter_whenWrite_thenClientGetsStickyCookie() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("PUT", "/book/1"), response, new MockFilterChain());
+
+        assertThat(response.getHeader(HttpHeaders.SET_COOKIE))
+                .startsWith(ReadYourWritesFilter.COOKIE + "=")
+                .contains("Max-Age=5");
+    }
+
+    @Test
+    void testDoFilter_whenReadWithinStickyWindow_thenReadGoesToPrimary() throws Exception {
+        MockHttpServletRequest fresh = new MockHttpServletRequest("GET", "/book/1");
+        fresh.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, String.valueOf(System.currentTimeMillis() + 5_000)));
+        MockHttpServletRequest expired = new MockHttpServletRequest("GET", "/book/1");
+        expired.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, String.valueOf(System.currentTimeMillis() - 1)));
+
+        assertThat(connectionDuring(fresh)).isEqualTo("primary");
+        assertThat(connectionDuring(expired)).isEqualTo("replica");
+        assertThat(connectionDuring(new MockHttpServletRequest("GET", "/book/1"))).isEqualTo("replica");
+    }
+
+    @Test
+    void testDoFilter_whenLookupPost_thenTreatItAsReadWithoutStickyCookie() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/book/lookup"), response, new MockFilterChain());
+
+        assertThat(response.getHeader(HttpHeaders.SET_COOKIE)).isNull();
+        assertThat(connectionDuring(new MockHttpServletRequest("POST", "/author/lookup"))).isEqualTo("replica");
+    }
+
+    private String connectionDuring(MockHttpServletRequest request) throws Exception {
+        ReplicaRoutingDataSource routing = routingWithCaughtUpReplica();
+        AtomicReference<String> used = new AtomicReference<>();
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                try {
+                    used.set(routing.getConnection().getSchema());
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+        return used.get();
+    }
+
+    private static ReplicaRoutingDataSource routingWithCaughtUpReplica() throws SQLException {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                dataSource("primary"), Map.of("replica-1", dataSource("replica")), Duration.ofSeconds(5));
+        routing.checkLag();
+        return routing;
+    }
+
+    private static DataSource dataSource(String name) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class, Answers.RETURNS_DEEP_STUBS);
+        when(connection.getSchema()).thenReturn(name);
+        when(connection.createStatement().executeQuery(ReplicaRoutingDataSource.LAG_QUERY).getDouble(1)).thenReturn(0.0);
+        when(connection.createStatement().executeQuery(ReplicaRoutingDataSource.LAG_QUERY).next()).thenReturn(true);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+}
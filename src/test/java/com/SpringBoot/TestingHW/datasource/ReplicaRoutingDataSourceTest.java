@@ -0,0 +1,121 @@
+package com.SpringBoot.TestingHW.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+    @Mock
+    private DataSource replicaOne;
+    @Mock
+    private DataSource replicaTwo;
+    @Mock
+    private Connection primaryConnection;
+    @Mock
+    private Connection replicaOneConnection;
+    @Mock
+    private Connection replicaTwoConnection;
+
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replicaOne);
+        replicas.put("replica-2", replicaTwo);
+        routing = new ReplicaRoutingDataSource(primary, replicas, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.unpin();
+    }
+
+    @Test
+    void testGetConnection_whenReplicasCaughtUp_thenRoundRobinAcrossReplicas() throws SQLException {
+        lag(replicaOne, replicaOneConnection, 0.2);
+        lag(replicaTwo, replicaTwoConnection, 1.0);
+        routing.checkLag();
+
+        assertThat(routing.getConnection()).isSameAs(replicaOneConnection);
+        assertThat(routing.getConnection()).isSameAs(replicaTwoConnection);
+        assertThat(routing.getConnection()).isSameAs(replicaOneConnection);
+        assertThat(routing.lagSeconds("replica-2")).isEqualTo(1.0);
+        assertThat(routing.fallbacks()).isZero();
+    }
+
+    @Test
+    void testGetConnection_whenReplicaLagsOrFailsCheck_thenItIsSkipped() throws SQLException {
+        lag(replicaOne, replicaOneConnection, 30.0);
+        when(replicaTwo.getConnection()).thenThrow(new SQLException("Connection refused"));
+        routing.checkLag();
+
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        assertThat(routing.lagSeconds("replica-2")).isNaN();
+        assertThat(routing.fallbacks()).isEqualTo(1);
+
+        lag(replicaOne, replicaOneConnection, 0.0);
+        routing.checkLag();
+
+        assertThat(routing.getConnection()).isSameAs(replicaOneConnection);
+    }
+
+    @Test
+    void testGetConnection_whenReplicaRefusesConnection_thenNextReplicaOrPrimaryIsUsed() throws SQLException {
+        lag(replicaOne, replicaOneConnection, 0.0);
+        lag(replicaTwo, replicaTwoConnection, 0.0);
+        routing.checkLag();
+        when(replicaOne.getConnection()).thenThrow(new SQLException("Too many connections"));
+
+        assertThat(routing.getConnection()).isSameAs(replicaTwoConnection);
+        assertThat(routing.getConnection()).isSameAs(replicaTwoConnection);
+    }
+
+    @Test
+    void testGetConnection_whenPinnedToPrimary_thenReplicasAreNotAsked() throws SQLException {
+        lag(replicaOne, replicaOneConnection, 0.0);
+        lag(replicaTwo, replicaTwoConnection, 0.0);
+        routing.checkLag();
+        clearInvocations(replicaOne, replicaTwo);
+
+        ReplicaRoutingDataSource.pinToPrimary();
+
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        verify(replicaOne, never()).getConnection();
+        verify(replicaTwo, never()).getConnection();
+        assertThat(routing.fallbacks()).isZero();
+    }
+
+    private static void lag(DataSource replica, Connection connection, double seconds) throws SQLException {
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(replica.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(ReplicaRoutingDataSource.LAG_QUERY)).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(seconds);
+    }
+}
@@ -0,0 +1,31 @@
+package com.SpringBoot.TestingHW.etag;
+
+import com.SpringBoot.TestingHW.dto.AuthorDTO;
+import com.SpringBoot.TestingHW.dto.BookDTO;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ETagsTest {
+
+    @Test
+    void testOf_whenBookHasAuthor_thenTagCoversBothVersions() {
+        BookDTO book = BookDTO.builder().version(3L).authored_by(AuthorDTO.builder().version(7L).build()).build();
+
+        assertThat(ETags.of(book)).isEqualTo("\"3-7\"");
+        assertThat(ETags.versions(ETags.of(book))).containsExactly(3L);
+    }
+
+    @Test
+    void testVersions_whenHeaderMissingOrWildcard_thenAnyVersionMatches() {
+        assertThat(ETags.versions(null)).isNull();
+        assertThat(ETags.versions(" ")).isNull();
+        assertThat(ETags.versions("*")).isNull();
+    }
+
+    @Test
+    void testVersions_whenWeakOrForeignTags_thenTheyAreDropped() {
+        assertThat(ETags.versions("W/\"1\", \"2\", \"abc\", 4")).containsExactly(2L);
+        assertThat(ETags.versions("W/\"1\"")).isEmpty();
+    }
+}
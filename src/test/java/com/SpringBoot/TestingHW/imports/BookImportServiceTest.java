@@ -0,0 +1,151 @@
+package com.SpringBoot.TestingHW.imports;
+
+import com.SpringBoot.TestingHW.dto.ImportJobDTO;
+import com.SpringBoot.TestingHW.exceptions.BadRequestException;
+import com.SpringBoot.TestingHW.exceptions.ResourceNotFoundException;
+import com.SpringBoot.TestingHW.snapshot.CatalogSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+class BookImportServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private BookCopyLoader bookCopyLoader;
+    private CatalogSnapshot catalogSnapshot;
+    private BookImportProperties properties;
+    private BookImportService bookImportService;
+    private List<List<ImportRow>> loadedChunks;
+
+    @BeforeEach
+    void setUp() {
+        properties = new BookImportProperties();
+        properties.setWorkDirectory(tempDir.resolve("work"));
+        properties.setDirectory(tempDir.resolve("feeds"));
+        properties.setChunkSize(2);
+        bookCopyLoader = mock(BookCopyLoader.class);
+        catalogSnapshot = mock(CatalogSnapshot.class);
+        loadedChunks = new ArrayList<>();
+        when(bookCopyLoader.load(any(), anyList(), anyMap())).thenAnswer(invocation -> {
+            List<ImportRow> rows = invocation.getArgument(1);
+            loadedChunks.add(List.copyOf(rows));
+            return new BookCopyLoader.Result(rows.size(), 0, Map.of("JANE DOE", 7L), 0);
+        });
+        bookImportService = new BookImportService(properties, bookCopyLoader, objectMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(), catalogSnapshot);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookImportService.shutdown();
+    }
+
+    @Test
+    void testRun_whenFeedHasInvalidRows_thenLoadValidRowsInChunksAndWriteErrorFile() throws Exception {
+        // Arrange
+        ImportJob job = job(ImportFormat.CSV, """
+                title,description,published_on,author
+                First book,First description,2020-01-02,jane doe
+                Fi,Too short title,,
+                Second book,Second description,02/03/2021,
+                Third book,Third description,,Jane Doe
+                Fourth book,Fourth description,,JANE DOE
+                """);
+
+        // Act
+        run(job);
+
+        // Assert
+        ImportJobDTO result = job.toDto();
+        assertThat(result.getStatus()).isEqualTo("COMPLETED");
+        assertThat(result.getRowsRead()).isEqualTo(5);
+        assertThat(result.getRowsImported()).isEqualTo(3);
+        assertThat(result.getRowsRejected()).isEqualTo(2);
+        assertThat(loadedChunks).hasSize(2);
+        assertThat(loadedChunks.get(0)).containsExactly(
+                new ImportRow(2, "FIRST BOOK", "First description", LocalDate.of(2020, 1, 2), "JANE DOE"),
+                new ImportRow(5, "THIRD BOOK", "Third description", null, "JANE DOE"));
+        assertThat(loadedChunks.get(1)).extracting(ImportRow::title).containsExactly("FOURTH BOOK");
+        // the second chunk already knows the author resolved by the first one
+        verify(bookCopyLoader).load(eq(job.getId()), anyList(), eq(Map.of()));
+        verify(bookCopyLoader).load(eq(job.getId()), anyList(), eq(Map.of("JANE DOE", 7L)));
+        verify(catalogSnapshot).reload();
+
+        List<String> errors = Files.readAllLines(job.getErrorFile());
+        assertThat(errors).containsExactly(
+                "{\"line\":3,\"messages\":[\"Name of the book must be at least 3 characters\"],\"title\":\"Fi\",\"description\":\"Too short title\"}",
+                "{\"line\":4,\"messages\":[\"Book publish date must be formatted as yyyy-MM-dd\"],\"title\":\"Second book\",\"description\":\"Second description\",\"publishedOn\":\"02/03/2021\"}");
+    }
+
+    @Test
+    void testRun_whenChunkCannotBeStored_thenRejectItsRowsAndContinue() throws Exception {
+        // Arrange
+        ImportJob job = job(ImportFormat.NDJSON, """
+                {"title": "First book", "description": "First description"}
+                {"title": "Second book", "description": "Second description"}
+                {"title": "Third book", "description": "Third description"}
+                """);
+        doThrow(new DataIntegrityViolationException("duplicate key"))
+                .doAnswer(invocation -> new BookCopyLoader.Result(1, 0, Map.of(), 0))
+                .when(bookCopyLoader).load(any(), anyList(), anyMap());
+
+        // Act
+        run(job);
+
+        // Assert
+        ImportJobDTO result = job.toDto();
+        assertThat(result.getStatus()).isEqualTo("COMPLETED");
+        assertThat(result.getRowsImported()).isEqualTo(1);
+        assertThat(result.getRowsRejected()).isEqualTo(2);
+        assertThat(Files.readAllLines(job.getErrorFile()))
+                .hasSize(2)
+                .allMatch(line -> line.contains("Could not be stored: duplicate key"));
+    }
+
+    @Test
+    void testSubmitFile_whenPathLeavesImportDirectory_thenThrowBadRequest() {
+        // Act & Assert
+        assertThatThrownBy(() -> bookImportService.submitFile("../secrets.csv", null))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(bookCopyLoader);
+    }
+
+    @Test
+    void testGetJob_whenJobIsUnknown_thenThrowResourceNotFound() {
+        // Act & Assert
+        assertThatThrownBy(() -> bookImportService.getJob(UUID.randomUUID()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private ImportJob job(ImportFormat format, String content) throws Exception {
+        Files.createDirectories(properties.getWorkDirectory());
+        Path file = Files.writeString(tempDir.resolve("feed." + format.name().toLowerCase()), content);
+        return new ImportJob(format, file, false, properties.getWorkDirectory());
+    }
+
+    private void run(ImportJob job) throws Exception {
+        bookImportService.run(job, job.getFormat().open(job.getFile(), objectMapper));
+    }
+}
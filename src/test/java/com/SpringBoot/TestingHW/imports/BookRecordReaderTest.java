@@ -0,0 +1,134 @@
+package com.SpringBoot.TestingHW.imports;
+
+import com.SpringBoot.TestingHW.exceptions.BadRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookRecordReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testCsv_whenFieldsAreQuoted_thenUnescapeCommasQuotesAndLineBreaks() throws Exception {
+        // Arrange
+        Path file = write("books.csv", "\uFEFFTitle,Description,published_on,Author_Name\r\n" +
+                "Plain book,Plain description,2020-01-02,Jane Doe\r\n" +
+                "\"Quoted, book\",\"Says \"\"hi\"\"\nover two lines\",,\n" +
+                "Last book,Last description,2021-03-04,John Roe");
+
+        // Act
+        List<BookRecord> records = readCsv(file, MappedFile.DEFAULT_WINDOW_SIZE);
+
+        // Assert
+        assertThat(records).containsExactly(
+                BookRecord.of(2, "Plain book", "Plain description", "2020-01-02", "Jane Doe"),
+                BookRecord.of(3, "Quoted, book", "Says \"hi\"\nover two lines", null, null),
+                BookRecord.of(5, "Last book", "Last description", "2021-03-04", "John Roe"));
+    }
+
+    @Test
+    void testCsv_whenRowsAreMalformed_thenReportThemAndContinueOnTheNextLine() throws Exception {
+        // Arrange
+        Path file = write("books.csv", "title,description\n" +
+                "Only one column\n" +
+                "\"Bad\"quote,Description\n" +
+                "Good book,Good description\n" +
+                "\"Never closed,Description\n" +
+                "Another book,Another description\n");
+
+        // Act
+        List<BookRecord> records = readCsv(file, MappedFile.DEFAULT_WINDOW_SIZE);
+
+        // Assert
+        assertThat(records).extracting(BookRecord::line).containsExactly(2L, 3L, 4L, 5L, 6L);
+        assertThat(records).extracting(BookRecord::error).containsExactly(
+                "Expected 2 columns but found 1", "Unexpected character after closing quote", null,
+                "Unterminated quoted field", null);
+        assertThat(records.get(0).raw()).isEqualTo("Only one column");
+        assertThat(records.get(4).title()).isEqualTo("Another book");
+    }
+
+    @Test
+    void testCsv_whenHeaderLacksRequiredColumns_thenThrowBadRequest() throws Exception {
+        // Arrange
+        Path file = write("books.csv", "title,author\nSome book,Jane Doe\n");
+
+        // Act & Assert
+        assertThatThrownBy(() -> readCsv(file, MappedFile.DEFAULT_WINDOW_SIZE))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("title and description");
+    }
+
+    @Test
+    void testCsv_whenRecordsCrossMappedWindows_thenReadThemWhole() throws Exception {
+        // Arrange
+        StringBuilder csv = new StringBuilder("title,description\n");
+        for (int i = 0; i < 100; i++) {
+            csv.append("\"Book ").append(i).append("\",Description of book ").append(i).append('\n');
+        }
+        Path file = write("books.csv", csv.toString());
+
+        // Act
+        List<BookRecord> records = readCsv(file, 64);
+
+        // Assert
+        assertThat(records).hasSize(100);
+        assertThat(records.get(99)).isEqualTo(BookRecord.of(101, "Book 99", "Description of book 99", null, null));
+    }
+
+    @Test
+    void testNdjson_whenLinesAreMixed_thenReadObjectsAndReportBrokenLines() throws Exception {
+        // Arrange
+        Path file = write("books.ndjson", """
+                {"title": "First book", "description": "First description", "publishedOn": "2020-01-02", "author": "Jane Doe"}
+
+                {"title": "Second book", "description": "Second description", "published_on": "2021-03-04", "authored_by": {"name": "John Roe"}}
+                {"title": "Broken
+                [1, 2]
+                """);
+
+        // Act
+        List<BookRecord> records = new ArrayList<>();
+        try (BookRecordReader reader = ImportFormat.NDJSON.open(file, new ObjectMapper())) {
+            BookRecord record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+
+        // Assert
+        assertThat(records).hasSize(4);
+        assertThat(records.get(0)).isEqualTo(BookRecord.of(1, "First book", "First description", "2020-01-02", "Jane Doe"));
+        assertThat(records.get(1)).isEqualTo(BookRecord.of(3, "Second book", "Second description", "2021-03-04", "John Roe"));
+        assertThat(records.get(2).line()).isEqualTo(4);
+        assertThat(records.get(2).error()).startsWith("Invalid JSON");
+        assertThat(records.get(3).error()).isEqualTo("Expected a JSON object");
+    }
+
+    private List<BookRecord> readCsv(Path file, int windowSize) throws IOException {
+        List<BookRecord> records = new ArrayList<>();
+        try (BookRecordReader reader = new CsvBookRecordReader(new MappedFile(file, windowSize))) {
+            BookRecord record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(tempDir.resolve(name), content, StandardCharsets.UTF_8);
+    }
+}
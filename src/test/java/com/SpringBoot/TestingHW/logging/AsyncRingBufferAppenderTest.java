@@ -0,0 +1,129 @@
+package com.SpringBoot.TestingHW.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncRingBufferAppenderTest {
+
+    private final LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+    private final Logger logger = loggerContext.getLogger(AsyncRingBufferAppenderTest.class);
+    private AsyncRingBufferAppender appender;
+
+    @BeforeEach
+    void setUp() {
+        appender = new AsyncRingBufferAppender();
+        appender.setContext(loggerContext);
+        appender.setName("ASYNC");
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.remove(AsyncRingBufferAppender.SAMPLED_OUT_MDC_KEY);
+        logger.detachAppender(appender);
+        appender.stop();
+    }
+
+    @Test
+    void testAppend_whenStarted_thenEventsReachDelegateWithCallerThreadName() {
+        RecordingAppender delegate = start(new RecordingAppender(), 16);
+
+        logger.info("Fetching book by id: {}", 1L);
+        logger.info("Successfully fetched book by id: {}", 1L);
+
+        awaitUntil(() -> delegate.events.size() == 2);
+        assertThat(delegate.events).extracting(ILoggingEvent::getFormattedMessage)
+                .containsExactly("Fetching book by id: 1", "Successfully fetched book by id: 1");
+        assertThat(delegate.events.get(0).getThreadName()).isEqualTo(Thread.currentThread().getName());
+        assertThat(appender.enqueued()).isEqualTo(2);
+    }
+
+    @Test
+    void testAppend_whenRequestSampledOut_thenOnlyWarningsAreKept() {
+        RecordingAppender delegate = start(new RecordingAppender(), 16);
+
+        MDC.put(AsyncRingBufferAppender.SAMPLED_OUT_MDC_KEY, "true");
+        logger.info("Fetching all books");
+        logger.error("Book not found by id: {}", 2L);
+
+        awaitUntil(() -> delegate.events.size() == 1);
+        assertThat(delegate.events.get(0).getFormattedMessage()).isEqualTo("Book not found by id: 2");
+        assertThat(appender.sampledOut()).isEqualTo(1);
+    }
+
+    @Test
+    void testAppend_whenBufferFull_thenInfoIsDroppedAndErrorsAreWrittenInline() throws InterruptedException {
+        RecordingAppender delegate = start(new RecordingAppender(), 2);
+
+        logger.info("blocks the writer");
+        assertThat(delegate.writing.await(5, TimeUnit.SECONDS)).isTrue();
+        logger.info("queued 1");
+        logger.info("queued 2");
+        logger.info("dropped");
+        logger.error("overflow");
+
+        assertThat(appender.dropped()).isEqualTo(1);
+        assertThat(appender.overflowed()).isEqualTo(1);
+        assertThat(delegate.messages()).containsExactly("blocks the writer", "overflow");
+
+        delegate.release.countDown();
+        awaitUntil(() -> delegate.events.size() == 4);
+        assertThat(delegate.messages()).containsExactly("blocks the writer", "overflow", "queued 1", "queued 2");
+    }
+
+    private <A extends UnsynchronizedAppenderBase<ILoggingEvent>> A start(A delegate, int capacity) {
+        delegate.setContext(loggerContext);
+        delegate.start();
+        appender.addAppender(delegate);
+        appender.setCapacity(capacity);
+        appender.start();
+        return delegate;
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5 seconds").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    private static final class RecordingAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+        private final List<ILoggingEvent> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            events.add(event);
+            if (event.getFormattedMessage().equals("blocks the writer")) {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private List<String> messages() {
+            return events.stream().map(ILoggingEvent::getFormattedMessage).toList();
+        }
+    }
+}
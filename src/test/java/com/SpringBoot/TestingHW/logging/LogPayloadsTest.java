@@ -0,0 +1,36 @@
+package com.SpringBoot.TestingHW.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogPayloadsTest {
+
+    @Test
+    void testCapped_whenCollectionFits_thenRenderedLikeToString() {
+        List<Integer> items = List.of(1, 2, 3);
+
+        assertThat(LogPayloads.capped(items)).hasToString(items.toString());
+        assertThat(LogPayloads.capped(List.of())).hasToString("[]");
+    }
+
+    @Test
+    void testCapped_whenCollectionIsLarge_thenStopsAtTheCapAndCountsTheRest() {
+        List<Integer> items = IntStream.range(0, 10_000).boxed().toList();
+
+        String rendered = LogPayloads.capped(items, 20).toString();
+
+        assertThat(rendered).isEqualTo("[0, 1, 2, 3, 4, 5, 6... (+9992 more)]");
+    }
+
+    @Test
+    void testCapped_whenSingleElementIsLarge_thenElementIsTruncated() {
+        String rendered = LogPayloads.capped(Collections.singletonList("x".repeat(100)), 10).toString();
+
+        assertThat(rendered).isEqualTo("[xxxxxxxxx...]");
+    }
+}
@@ -0,0 +1,78 @@
+package com.SpringBoot.TestingHW.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MpscRingBufferTest {
+
+    @Test
+    void testOffer_whenFull_thenRejectsUntilPolled() {
+        MpscRingBuffer<Integer> ring = new MpscRingBuffer<>(3);
+
+        assertThat(ring.capacity()).isEqualTo(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(ring.offer(i)).isTrue();
+        }
+        assertThat(ring.offer(4)).isFalse();
+        assertThat(ring.poll()).isEqualTo(0);
+        assertThat(ring.offer(4)).isTrue();
+
+        List<Integer> drained = new ArrayList<>();
+        Integer next;
+        while ((next = ring.poll()) != null) {
+            drained.add(next);
+        }
+        assertThat(drained).containsExactly(1, 2, 3, 4);
+        assertThat(ring.size()).isZero();
+    }
+
+    @Test
+    void testOffer_whenManyProducers_thenEveryAcceptedElementIsPolledOnce() throws Exception {
+        int producers = 4;
+        int perProducer = 50_000;
+        MpscRingBuffer<Integer> ring = new MpscRingBuffer<>(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> accepted = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            accepted.add(executor.submit(() -> {
+                start.await();
+                int count = 0;
+                for (int i = 0; i < perProducer; i++) {
+                    if (ring.offer(base + i)) {
+                        count++;
+                    }
+                }
+                return count;
+            }));
+        }
+
+        boolean[] seen = new boolean[producers * perProducer];
+        int polled = 0;
+        start.countDown();
+        while (!accepted.stream().allMatch(Future::isDone) || ring.size() > 0) {
+            Integer element = ring.poll();
+            if (element != null) {
+                assertThat(seen[element]).isFalse();
+                seen[element] = true;
+                polled++;
+            }
+        }
+        executor.shutdown();
+
+        int total = 0;
+        for (Future<Integer> count : accepted) {
+            total += count.get();
+        }
+        assertThat(polled).isEqualTo(total);
+    }
+}
@@ -0,0 +1,48 @@
+package com.SpringBoot.TestingHW.logging;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestLogSamplingFilterTest {
+
+    @Test
+    void testRateFor_whenSeveralRoutesMatch_thenMostSpecificWins() {
+        RequestLogProperties properties = new RequestLogProperties();
+        properties.setDefaultRate(0.5);
+        properties.getRoutes().put("/book/**", 0.1);
+        properties.getRoutes().put("/book/export", 0.0);
+        RequestLogSamplingFilter filter = new RequestLogSamplingFilter(properties);
+
+        assertThat(filter.rateFor("/book/export")).isEqualTo(0.0);
+        assertThat(filter.rateFor("/book/12")).isEqualTo(0.1);
+        assertThat(filter.rateFor("/author/3")).isEqualTo(0.5);
+    }
+
+    @Test
+    void testDoFilter_whenRouteNeverSampled_thenMarkerSetOnlyDuringTheRequest() throws Exception {
+        RequestLogProperties properties = new RequestLogProperties();
+        properties.getRoutes().put("/book/**", 0.0);
+        RequestLogSamplingFilter filter = new RequestLogSamplingFilter(properties);
+        AtomicReference<String> marker = new AtomicReference<>();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/book/1"), new MockHttpServletResponse(),
+                new MockFilterChain() {
+                    @Override
+                    public void doFilter(ServletRequest request, ServletResponse response) {
+                        marker.set(MDC.get(AsyncRingBufferAppender.SAMPLED_OUT_MDC_KEY));
+                    }
+                });
+
+        assertThat(marker.get()).isEqualTo("true");
+        assertThat(MDC.get(AsyncRingBufferAppender.SAMPLED_OUT_MDC_KEY)).isNull();
+    }
+}
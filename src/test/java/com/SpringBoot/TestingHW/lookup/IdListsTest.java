@@ -0,0 +1,56 @@
+package com.SpringBoot.TestingHW.lookup;
+
+import com.SpringBoot.TestingHW.exceptions.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdListsTest {
+
+    @Test
+    void testParse_whenCommaSeparated_thenReturnIdsInOrder() {
+        assertThat(IdLists.parse("3,1, 2 ,-4")).containsExactly(3L, 1L, 2L, -4L);
+        assertThat(IdLists.parse("42")).containsExactly(42L);
+    }
+
+    @Test
+    void testParse_whenEntryIsBlankOrNotANumber_thenThrowBadRequestException() {
+        assertThatThrownBy(() -> IdLists.parse("1,,2"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Invalid id: ''");
+        assertThatThrownBy(() -> IdLists.parse("1,abc"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Invalid id: 'abc'");
+        assertThatThrownBy(() -> IdLists.parse(""))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void testParse_whenMoreThanMaxIds_thenThrowBadRequestException() {
+        String ids = LongStream.rangeClosed(1, IdLists.MAX_IDS + 1).mapToObj(Long::toString).collect(Collectors.joining(","));
+
+        assertThatThrownBy(() -> IdLists.parse(ids))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining(String.valueOf(IdLists.MAX_IDS));
+    }
+
+    @Test
+    void testDistinct_whenIdsRepeat_thenKeepFirstOccurrenceOrder() {
+        assertThat(IdLists.distinct(new long[]{5, 2, 5, 9, 2, 2})).containsExactly(5L, 2L, 9L);
+        assertThat(IdLists.distinct(new long[]{1, 2})).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void testDistinct_whenEmptyOrTooMany_thenThrowBadRequestException() {
+        long[] tooMany = new long[IdLists.MAX_IDS + 1];
+        Arrays.setAll(tooMany, i -> i);
+
+        assertThatThrownBy(() -> IdLists.distinct(new long[0])).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> IdLists.distinct(tooMany)).isInstanceOf(BadRequestException.class);
+    }
+}
@@ -0,0 +1,42 @@
+package com.SpringBoot.TestingHW.lookup;
+
+import com.SpringBoot.TestingHW.projection.AuthorView;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MultiGetResultTest {
+
+    @Test
+    void testOf_whenRowsInIdOrder_thenReturnItemsInRequestOrderAndMissingIds() {
+        // Arrange
+        List<AuthorView> rows = List.of(new AuthorView(2L, "B"), new AuthorView(5L, "E"), new AuthorView(9L, "I"));
+
+        // Act
+        MultiGetResult<String> result = MultiGetResult.of(new long[]{9, 4, 2, 7, 5}, rows, AuthorView::id, AuthorView::name);
+
+        // Assert
+        assertThat(result.getItems()).containsExactly("I", "B", "E");
+        assertThat(result.getMissingIds()).containsExactly(4L, 7L);
+    }
+
+    @Test
+    void testOf_whenEveryIdFound_thenMissingIdsIsEmpty() {
+        MultiGetResult<String> result = MultiGetResult.of(new long[]{1}, List.of(new AuthorView(1L, "A")), AuthorView::id, AuthorView::name);
+
+        assertThat(result.getItems()).containsExactly("A");
+        assertThat(result.getMissingIds()).isEmpty();
+    }
+
+    @Test
+    void testOf_whenRowsRepeatAnId_thenReturnOneItemPerRequestedId() {
+        List<AuthorView> rows = List.of(new AuthorView(1L, "A"), new AuthorView(1L, "A"), new AuthorView(3L, "C"));
+
+        MultiGetResult<String> result = MultiGetResult.of(new long[]{3, 1}, rows, AuthorView::id, AuthorView::name);
+
+        assertThat(result.getItems()).containsExactly("C", "A");
+        assertThat(result.getMissingIds()).isEmpty();
+    }
+}
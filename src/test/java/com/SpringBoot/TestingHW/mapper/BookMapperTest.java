@@ -0,0 +1,76 @@
+package com.SpringBoot.TestingHW.mapper;
+
+import com.SpringBoot.TestingHW.dto.AuthorDTO;
+import com.SpringBoot.TestingHW.dto.BookDTO;
+import com.SpringBoot.TestingHW.entity.AuthorEntity;
+import com.SpringBoot.TestingHW.entity.bookEntity;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class BookMapperTest {
+
+    private final BookMapper bookMapper = new BookMapper(new AuthorMapper());
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testToDto_whenBookHasAuthor_thenMapAuthorSummaryWithoutTouchingBookList() {
+        // Arrange
+        List<bookEntity> lazyBooks = mock(List.class);
+        AuthorEntity author = AuthorEntity.builder().id(3L).name("JOHN DOE").bookEntityList(lazyBooks).build();
+        bookEntity book = bookEntity.builder()
+                .id(1L)
+                .title("FIRST BOOK")
+                .description("First description")
+                .publishedOn(LocalDate.of(2024, 1, 2))
+                .authoredBy(author)
+                .build();
+
+        // Act
+        BookDTO bookDto = bookMapper.toDto(book);
+
+        // Assert
+        assertThat(bookDto.getId()).isEqualTo(1L);
+        assertThat(bookDto.getTitle()).isEqualTo("FIRST BOOK");
+        assertThat(bookDto.getDescription()).isEqualTo("First description");
+        assertThat(bookDto.getPublishedOn()).isEqualTo(LocalDate.of(2024, 1, 2));
+        assertThat(bookDto.getAuthored_by().getName()).isEqualTo("JOHN DOE");
+        assertThat(bookDto.getAuthored_by().getBookEntityList()).isNull();
+        verifyNoInteractions(lazyBooks);
+    }
+
+    @Test
+    void testToEntity_whenDtoHasNoAuthor_thenLeaveAuthorUnset() {
+        // Arrange
+        BookDTO bookDto = BookDTO.builder().id(2L).title("SECOND BOOK").build();
+
+        // Act
+        bookEntity book = bookMapper.toEntity(bookDto);
+
+        // Assert
+        assertThat(book.getId()).isEqualTo(2L);
+        assertThat(book.getTitle()).isEqualTo("SECOND BOOK");
+        assertThat(book.getAuthoredBy()).isNull();
+    }
+
+    @Test
+    void testToEntity_whenDtoHasAuthor_thenLeaveAuthorForServiceToResolve() {
+        // Arrange
+        BookDTO bookDto = BookDTO.builder()
+                .title("THIRD BOOK")
+                .authored_by(AuthorDTO.builder().id(3L).name("JOHN DOE").build())
+                .build();
+
+        // Act
+        bookEntity book = bookMapper.toEntity(bookDto);
+
+        // Assert
+        assertThat(book.getTitle()).isEqualTo("THIRD BOOK");
+        assertThat(book.getAuthoredBy()).isNull();
+    }
+}
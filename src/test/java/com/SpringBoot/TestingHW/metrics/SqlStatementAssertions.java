@@ -0,0 +1,32 @@
+package com.SpringBoot.TestingHW.metrics;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query-count regression checks. In-process tests wrap the code under test, e.g.
+ * {@code atMostStatements(1, () -> bookRepository.findAll())}. HTTP tests check the response header, e.g.
+ * {@code .expectHeader().value(SqlStatementCounter.COUNT_HEADER, atMostStatements(2))}.
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    public static <T> T atMostStatements(int max, Supplier<T> action) {
+        SqlStatementCounter.reset();
+        T result = action.get();
+        assertThat(SqlStatementCounter.statements())
+                .as("SQL statements issued")
+                .isLessThanOrEqualTo(max);
+        return result;
+    }
+
+    public static Consumer<String> atMostStatements(int max) {
+        return header -> assertThat(Integer.parseInt(header))
+                .as("SQL statements issued by the request")
+                .isLessThanOrEqualTo(max);
+    }
+}
@@ -0,0 +1,71 @@
+package com.SpringBoot.TestingHW.pagination;
+
+import com.SpringBoot.TestingHW.exceptions.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorsTest {
+
+    @Test
+    void testEncodeId_whenDecoded_thenReturnSameId() {
+        String cursor = Cursors.encodeId(42L);
+
+        assertThat(cursor).doesNotContain("42");
+        assertThat(Cursors.decodeId(cursor)).isEqualTo(42L);
+    }
+
+    @Test
+    void testDecodeId_whenCursorIsMissing_thenStartFromFirstPage() {
+        assertThat(Cursors.decodeId(null)).isZero();
+        assertThat(Cursors.decodeId("")).isZero();
+    }
+
+    @Test
+    void testEncodeDateAndId_whenDecoded_thenReturnSameKey() {
+        LocalDate date = LocalDate.of(2024, 2, 29);
+
+        Cursors.DateIdKey key = Cursors.decodeDateAndId(Cursors.encodeDateAndId(date, 7L));
+
+        assertThat(key.publishedOn()).isEqualTo(date);
+        assertThat(key.id()).isEqualTo(7L);
+    }
+
+    @Test
+    void testEncodeOffset_whenDecoded_thenReturnSameOffset() {
+        assertThat(Cursors.decodeOffset(Cursors.encodeOffset(150L))).isEqualTo(150L);
+        assertThat(Cursors.decodeOffset(null)).isZero();
+        assertThatThrownBy(() -> Cursors.decodeOffset(Cursors.encodeOffset(-1L)))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void testDecode_whenCursorIsTampered_thenThrowBadRequest() {
+        assertThatThrownBy(() -> Cursors.decodeId("not-a-cursor"))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> Cursors.decodeDateAndId(Cursors.encodeId(1L)))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void testDecodeDateAndId_whenEpochDayIsOutOfRange_thenThrowBadRequest() {
+        String cursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("d:" + Long.MAX_VALUE + ":1").getBytes(StandardCharsets.US_ASCII));
+
+        assertThatThrownBy(() -> Cursors.decodeDateAndId(cursor))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void testClampLimit_thenApplyDefaultAndHardCap() {
+        assertThat(Cursors.clampLimit(null)).isEqualTo(Cursors.DEFAULT_LIMIT);
+        assertThat(Cursors.clampLimit(10)).isEqualTo(10);
+        assertThat(Cursors.clampLimit(Cursors.MAX_LIMIT * 10)).isEqualTo(Cursors.MAX_LIMIT);
+        assertThatThrownBy(() -> Cursors.clampLimit(0)).isInstanceOf(BadRequestException.class);
+    }
+}
@@ -0,0 +1,104 @@
+package com.SpringBoot.TestingHW.partitioning;
+
+import com.SpringBoot.TestingHW.entity.bookEntity;
+import com.SpringBoot.TestingHW.repository.BookRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Exercises the V5 functions against a real partitioned book table.
+@Import({TestcontainersConfiguration.class, BookPartitionRepository.class})
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class BookPartitionRepositoryTest {
+    @Autowired
+    private BookPartitionRepository bookPartitionRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void testCreatePartitions_whenYearHasRowsInDefaultPartition_thenMoveThemIntoNewPartition() {
+        // Arrange
+        bookEntity old = bookRepository.save(bookEntity.builder().title("OLD BOOK").publishedOn(LocalDate.of(1851, 10, 18)).build());
+        bookEntity undated = bookRepository.save(bookEntity.builder().title("UNDATED BOOK").build());
+        entityManager.flush();
+        assertThat(partitionOf(old)).isEqualTo("book_default");
+
+        // Act
+        List<String> created = bookPartitionRepository.createPartitions(1);
+        List<String> createdAgain = bookPartitionRepository.createPartitions(1);
+
+        // Assert
+        assertThat(created).contains("book_y1851");
+        assertThat(createdAgain).isEmpty();
+        assertThat(partitionOf(old)).isEqualTo("book_y1851");
+        assertThat(partitionOf(undated)).isEqualTo("book_default");
+        assertThat(bookRepository.findById(old.getId())).isPresent();
+    }
+
+    @Test
+    void testCreatePartitions_whenYearsAhead_thenCreateFuturePartitions() {
+        // Arrange
+        int nextYear = LocalDate.now().getYear() + 1;
+
+        // Act
+        bookPartitionRepository.createPartitions(3);
+
+        // Assert
+        for (int year = nextYear; year <= nextYear + 2; year++) {
+            assertThat(entityManager.createNativeQuery("select to_regclass(:name)::text")
+                    .setParameter("name", "book_y" + year)
+                    .getSingleResult()).isEqualTo("book_y" + year);
+        }
+    }
+
+    @Test
+    void testInsert_whenIdAlreadyExistsInAnotherPartition_thenRejectDuplicateId() {
+        // Arrange
+        bookPartitionRepository.createPartitions(1);
+        bookEntity book = bookRepository.save(bookEntity.builder().title("DATED BOOK").publishedOn(LocalDate.now()).build());
+        entityManager.flush();
+
+        // Act & Assert
+        assertThatThrownBy(() -> entityManager.createNativeQuery(
+                        "insert into book (id, title, published_on, version) values (:id, 'COPY', null, 0)")
+                .setParameter("id", book.getId())
+                .executeUpdate())
+                .isInstanceOf(PersistenceException.class);
+    }
+
+    @Test
+    void testCreatePartitions_whenRowsMoveBetweenPartitions_thenIdRegistryMatchesBook() {
+        // Arrange
+        bookRepository.save(bookEntity.builder().title("OLD BOOK").publishedOn(LocalDate.of(1851, 10, 18)).build());
+        bookRepository.save(bookEntity.builder().title("UNDATED BOOK").build());
+        entityManager.flush();
+
+        // Act
+        bookPartitionRepository.createPartitions(1);
+
+        // Assert
+        assertThat(entityManager.createNativeQuery(
+                        "select count(*) from book_ids i full join book b on b.id = i.id where b.id is null or i.id is null")
+                .getSingleResult()).isEqualTo(0L);
+    }
+
+    private String partitionOf(bookEntity book) {
+        return (String) entityManager.createNativeQuery("select tableoid::regclass::text from book where id = :id")
+                .setParameter("id", book.getId())
+                .getSingleResult();
+    }
+}
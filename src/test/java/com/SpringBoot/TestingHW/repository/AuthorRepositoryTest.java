@@ -1,26 +1,39 @@
 package com.SpringBoot.TestingHW.repository;
 
 import com.SpringBoot.TestingHW.entity.AuthorEntity;
+import com.SpringBoot.TestingHW.metrics.SqlStatementCounter;
+import com.SpringBoot.TestingHW.metrics.SqlStatementMetricsConfig;
+import com.SpringBoot.TestingHW.projection.AuthorView;
+import jakarta.persistence.EntityManagerFactory;
 import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 import org.testcontainers.utility.TestcontainersConfiguration;
 
 import java.util.List;
 
+import static com.SpringBoot.TestingHW.metrics.SqlStatementAssertions.atMostStatements;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
-@Import(TestcontainersConfiguration.class)
+@Import({TestcontainersConfiguration.class, SqlStatementMetricsConfig.class})
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 class AuthorRepositoryTest {
     @Autowired
     private AuthorRepository authorRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Test
     void testAuthorRepository_whenFindByName_thenReturnListOfAuthors(){
         //assign
@@ -74,4 +87,73 @@ class AuthorRepositoryTest {
         assertThat(authors).isNotNull();
     }
 
-}
\ No newline at end of file
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testAuthorRepository_whenLoadedAfterCommit_thenServedFromSecondLevelCache(){
+        //assign
+        AuthorEntity author = authorRepository.save(AuthorEntity.builder().name("JOHN DOE").build());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        //act
+        authorRepository.findById(author.getId());
+        authorRepository.findById(author.getId());
+
+        //assert
+        assertThat(statistics.getDomainDataRegionStatistics("author").getHitCount()).isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        authorRepository.delete(author);
+    }
+
+    @Test
+    void testUpdateAuthor_whenVersionMatches_thenSingleUpdateBumpsVersion(){
+        //assign
+        AuthorEntity author = authorRepository.saveAndFlush(AuthorEntity.builder().name("JOHN DOE").build());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        //act
+        int stale = authorRepository.updateAuthor(author.getId(), "JANE DOE", false, List.of(author.getVersion() + 1));
+        int updated = authorRepository.updateAuthor(author.getId(), "JANE DOE", false, List.of(author.getVersion()));
+
+        //assert
+        assertThat(stale).isZero();
+        assertThat(updated).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        AuthorEntity reloaded = authorRepository.findById(author.getId()).orElseThrow();
+        assertThat(reloaded.getName()).isEqualTo("JANE DOE");
+        assertThat(reloaded.getVersion()).isEqualTo(author.getVersion() + 1);
+    }
+
+    @Test
+    void testDeleteAuthor_whenAnyVersion_thenSingleStatement(){
+        //assign
+        AuthorEntity author = authorRepository.saveAndFlush(AuthorEntity.builder().name("JOHN DOE").build());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        //act
+        int deleted = authorRepository.deleteAuthor(author.getId(), true, List.of());
+
+        //assert
+        assertThat(deleted).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(authorRepository.deleteAuthor(author.getId(), true, List.of())).isZero();
+    }
+
+    @Test
+    void testFindViewsAfter_whenAuthorsPresent_thenSingleStatement(){
+        //assign
+        authorRepository.saveAndFlush(AuthorEntity.builder().name("JOHN DOE").build());
+        authorRepository.saveAndFlush(AuthorEntity.builder().name("JANE DOE").build());
+
+        //act
+        List<AuthorView> authors = atMostStatements(1, () -> authorRepository.findViewsAfter(0L, Limit.of(10)));
+
+        //assert
+        assertThat(authors).extracting(AuthorView::name).containsExactly("JOHN DOE", "JANE DOE");
+        assertThat(SqlStatementCounter.statements()).isEqualTo(1);
+    }
+
+}
@@ -3,21 +3,31 @@ package com.SpringBoot.TestingHW.repository;
 import com.SpringBoot.TestingHW.dto.AuthorDTO;
 import com.SpringBoot.TestingHW.entity.AuthorEntity;
 import com.SpringBoot.TestingHW.entity.bookEntity;
+import com.SpringBoot.TestingHW.metrics.SqlStatementMetricsConfig;
+import com.SpringBoot.TestingHW.projection.BookView;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
 import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 import org.testcontainers.utility.TestcontainersConfiguration;
 
 import java.time.LocalDate;
 import java.util.List;
 
+import static com.SpringBoot.TestingHW.metrics.SqlStatementAssertions.atMostStatements;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
-@Import(TestcontainersConfiguration.class)
+@Import({TestcontainersConfiguration.class, SqlStatementMetricsConfig.class})
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 class BookRepositoryTest {
@@ -25,6 +35,8 @@ class BookRepositoryTest {
     private BookRepository bookRepository;
     @Autowired
     private AuthorRepository authorRepository;
+    @Autowired
+    private EntityManager entityManager;
 
     @Test
     void testPublishedOnAfter_thenReturnBooksPublishedAfter(){
@@ -57,7 +69,6 @@ class BookRepositoryTest {
         authorRepository.save(author);
 
         bookEntity book1 = new bookEntity();
-        book1.setId(1L);
         book1.setTitle("Book by John Doe");
         book1.setAuthoredBy(author);
         bookRepository.save(book1);
@@ -130,4 +141,223 @@ class BookRepositoryTest {
         assertThat(books).isEmpty();
     }
 
-}
\ No newline at end of file
+    @Test
+    void testFindViewsPublishedAfterSeek_whenCursorGiven_thenReturnNextBooksInPublishedOnAndIdOrder(){
+        // Arrange, Given
+        LocalDate date = LocalDate.of(2020, 1, 1);
+        bookEntity first = bookRepository.save(bookEntity.builder().title("First").publishedOn(LocalDate.of(2021, 1, 1)).build());
+        bookEntity second = bookRepository.save(bookEntity.builder().title("Second").publishedOn(LocalDate.of(2021, 1, 1)).build());
+        bookEntity third = bookRepository.save(bookEntity.builder().title("Third").publishedOn(LocalDate.of(2022, 1, 1)).build());
+
+        // Act, When
+        List<BookView> firstPage = bookRepository.findViewsPublishedAfterSeek(date, date, 0L, Limit.of(2));
+        List<BookView> secondPage = bookRepository.findViewsPublishedAfterSeek(
+                date, second.getPublishedOn(), second.getId(), Limit.of(2));
+
+        // Assert, Then
+        assertThat(firstPage).extracting(BookView::id).containsExactly(first.getId(), second.getId());
+        assertThat(secondPage).extracting(BookView::id).containsExactly(third.getId());
+    }
+
+    @Test
+    void testFindViewsPublishedBetweenSeek_whenRangeGiven_thenReturnBooksInRangeAcrossPartitions(){
+        // Arrange, Given
+        bookRepository.save(bookEntity.builder().title("Before").publishedOn(LocalDate.of(2019, 12, 31)).build());
+        bookEntity first = bookRepository.save(bookEntity.builder().title("First").publishedOn(LocalDate.of(2020, 1, 1)).build());
+        bookEntity second = bookRepository.save(bookEntity.builder().title("Second").publishedOn(LocalDate.of(2021, 12, 31)).build());
+        bookRepository.save(bookEntity.builder().title("After").publishedOn(LocalDate.of(2022, 1, 1)).build());
+        bookRepository.save(bookEntity.builder().title("Undated").build());
+        LocalDate from = LocalDate.of(2020, 1, 1);
+        LocalDate to = LocalDate.of(2022, 1, 1);
+
+        // Act, When
+        List<BookView> firstPage = bookRepository.findViewsPublishedBetweenSeek(from, to, from, 0L, Limit.of(1));
+        List<BookView> secondPage = bookRepository.findViewsPublishedBetweenSeek(
+                from, to, first.getPublishedOn(), first.getId(), Limit.of(2));
+
+        // Assert, Then
+        assertThat(firstPage).extracting(BookView::id).containsExactly(first.getId());
+        assertThat(secondPage).extracting(BookView::id).containsExactly(second.getId());
+    }
+
+    @Test
+    void testFindByPublishedOnAfter_whenBooksHaveAuthors_thenAuthorsLoadedInSameStatement(){
+        // Arrange, Given
+        for (int i = 0; i < 5; i++) {
+            AuthorEntity author = authorRepository.save(AuthorEntity.builder().name("AUTHOR " + i).build());
+            bookRepository.save(bookEntity.builder().title("BOOK " + i).publishedOn(LocalDate.of(2000, 1, 1)).authoredBy(author).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act, When
+        List<bookEntity> books = bookRepository.findByPublishedOnAfter(LocalDate.of(1999, 12, 31));
+        books.forEach(book -> book.getAuthoredBy().getName());
+
+        // Assert, Then
+        assertThat(books).hasSize(5);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testFindViewsAfter_whenBookHasAuthor_thenReturnFlatRowWithAuthorSummary(){
+        // Arrange, Given
+        AuthorEntity author = authorRepository.save(AuthorEntity.builder().name("JOHN DOE").build());
+        bookEntity withAuthor = bookRepository.save(bookEntity.builder().title("FIRST").authoredBy(author).build());
+        bookEntity withoutAuthor = bookRepository.save(bookEntity.builder().title("SECOND").build());
+
+        // Act, When
+        List<BookView> views = bookRepository.findViewsAfter(0L, Limit.of(10));
+
+        // Assert, Then
+        assertThat(views).containsExactly(
+                new BookView(withAuthor.getId(), "FIRST", null, null, author.getId(), "JOHN DOE"),
+                new BookView(withoutAuthor.getId(), "SECOND", null, null, null, null));
+    }
+
+    @Test
+    void testFindViewsByIdIn_whenSomeIdsAreMissing_thenReturnFoundBooksInIdOrder(){
+        // Arrange, Given
+        bookEntity first = bookRepository.save(bookEntity.builder().title("FIRST").publishedOn(LocalDate.of(2001, 1, 1)).build());
+        bookEntity second = bookRepository.save(bookEntity.builder().title("SECOND").build());
+
+        // Act, When
+        List<BookView> views = bookRepository.findViewsByIdIn(List.of(second.getId(), second.getId() + 100, first.getId()));
+
+        // Assert, Then
+        assertThat(views).extracting(BookView::id).containsExactly(first.getId(), second.getId());
+    }
+
+    @Test
+    void testUpdateBook_whenVersionMatches_thenSingleUpdateBumpsVersion(){
+        // Arrange, Given
+        AuthorEntity author = authorRepository.save(AuthorEntity.builder().name("JOHN DOE").build());
+        bookEntity book = bookRepository.save(bookEntity.builder().title("OLD").build());
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act, When
+        int updated = bookRepository.updateBook(book.getId(), "NEW", "DESCRIPTION", LocalDate.of(2020, 1, 1),
+                author.getId(), false, List.of(book.getVersion()));
+
+        // Assert, Then: at most a load of each row (none once cached) and the UPDATE
+        assertThat(updated).isEqualTo(1);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+        entityManager.clear();
+        bookEntity reloaded = bookRepository.findWithAuthorById(book.getId()).orElseThrow();
+        assertThat(reloaded.getTitle()).isEqualTo("NEW");
+        assertThat(reloaded.getVersion()).isEqualTo(book.getVersion() + 1);
+        assertThat(reloaded.getAuthoredBy().getName()).isEqualTo("JOHN DOE");
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testUpdateBook_whenOtherBooksAreCached_thenTheyStayInSecondLevelCache(){
+        // Arrange, Given
+        bookEntity book = bookRepository.save(bookEntity.builder().title("OLD").build());
+        bookEntity other = bookRepository.save(bookEntity.builder().title("OTHER").build());
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        bookRepository.findById(other.getId());
+
+        // Act, When
+        int updated = bookRepository.updateBook(book.getId(), "NEW", null, null, null, false, List.of(book.getVersion()));
+        int deleted = bookRepository.deleteBook(book.getId(), true, List.of());
+
+        // Assert, Then
+        assertThat(updated).isEqualTo(1);
+        assertThat(deleted).isEqualTo(1);
+        assertThat(cache.contains(bookEntity.class, other.getId())).isTrue();
+
+        bookRepository.deleteById(other.getId());
+    }
+
+    @Test
+    void testUpdateBook_whenVersionIsStaleOrAuthorMissing_thenNoRowUpdated(){
+        // Arrange, Given
+        bookEntity book = bookRepository.save(bookEntity.builder().title("OLD").build());
+        entityManager.flush();
+
+        // Act, When
+        int stale = bookRepository.updateBook(book.getId(), "NEW", null, null, null, false, List.of(book.getVersion() + 1));
+        int missingAuthor = bookRepository.updateBook(book.getId(), "NEW", null, null, 100L, true, List.of());
+        int missingBook = bookRepository.updateBook(100L, "NEW", null, null, null, true, List.of());
+
+        // Assert, Then
+        assertThat(stale).isZero();
+        assertThat(missingAuthor).isZero();
+        assertThat(missingBook).isZero();
+        assertThat(bookRepository.findById(book.getId()).orElseThrow().getTitle()).isEqualTo("OLD");
+    }
+
+    @Test
+    void testAssignAuthor_whenBothExist_thenSingleUpdateSetsForeignKey(){
+        // Arrange, Given
+        AuthorEntity author = authorRepository.save(AuthorEntity.builder().name("JOHN DOE").build());
+        bookEntity book = bookRepository.save(bookEntity.builder().title("BOOK").build());
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act, When
+        int updated = bookRepository.assignAuthor(book.getId(), author.getId());
+
+        // Assert, Then
+        assertThat(updated).isEqualTo(1);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+        assertThat(bookRepository.assignAuthor(book.getId(), 100L)).isZero();
+        assertThat(bookRepository.findViewsByAuthorAfter(author.getId(), 0L, Limit.of(10)))
+                .extracting(BookView::id).containsExactly(book.getId());
+    }
+
+    @Test
+    void testDeleteBook_whenVersionMatches_thenSingleDelete(){
+        // Arrange, Given
+        bookEntity book = bookRepository.save(bookEntity.builder().title("BOOK").build());
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act, When
+        int stale = bookRepository.deleteBook(book.getId(), false, List.of(book.getVersion() + 1));
+        int deleted = bookRepository.deleteBook(book.getId(), false, List.of(book.getVersion()));
+
+        // Assert, Then
+        assertThat(stale).isZero();
+        assertThat(deleted).isEqualTo(1);
+        assertThat(statistics.getEntityDeleteCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+        assertThat(bookRepository.existsById(book.getId())).isFalse();
+    }
+
+    @Test
+    void testFindByAuthoredBy_whenAuthorsTouched_thenNoExtraStatementPerBook(){
+        // Arrange, Given
+        AuthorEntity author = authorRepository.save(AuthorEntity.builder().name("JOHN DOE").build());
+        for (int i = 0; i < 5; i++) {
+            bookRepository.save(bookEntity.builder().title("BOOK " + i).publishedOn(LocalDate.of(2000, 1, 1)).authoredBy(author).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act, When
+        List<bookEntity> books = atMostStatements(1, () -> {
+            List<bookEntity> found = bookRepository.findByAuthoredBy(author);
+            found.forEach(book -> book.getAuthoredBy().getName());
+            return found;
+        });
+        List<BookView> views = atMostStatements(1, () -> bookRepository.findViewsAfter(0L, Limit.of(10)));
+
+        // Assert, Then
+        assertThat(books).hasSize(5);
+        assertThat(views).hasSize(5);
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.SpringBoot.TestingHW.repository;
+
+import com.SpringBoot.TestingHW.dto.AuthorBookCountDTO;
+import com.SpringBoot.TestingHW.dto.CatalogStatsDTO;
+import com.SpringBoot.TestingHW.dto.MonthBookCountDTO;
+import com.SpringBoot.TestingHW.entity.AuthorEntity;
+import com.SpringBoot.TestingHW.entity.bookEntity;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Exercises the V4 triggers: every count below is read from the summary tables, never from book itself.
+@Import({TestcontainersConfiguration.class, BookStatsRepository.class})
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class BookStatsRepositoryTest {
+    @Autowired
+    private BookStatsRepository bookStatsRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private AuthorRepository authorRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void testTotals_whenBooksAreInsertedAndDeleted_thenCountsFollow() {
+        // Arrange
+        CatalogStatsDTO before = bookStatsRepository.totals();
+        AuthorEntity author = authorRepository.save(AuthorEntity.builder().name("JANE DOE").build());
+        bookEntity first = bookRepository.save(book("FIRST BOOK", author, LocalDate.of(2020, 1, 15)));
+        bookRepository.save(book("SECOND BOOK", null, null));
+        entityManager.flush();
+
+        // Act
+        CatalogStatsDTO afterInsert = bookStatsRepository.totals();
+        bookRepository.delete(first);
+        entityManager.flush();
+        CatalogStatsDTO afterDelete = bookStatsRepository.totals();
+
+        // Assert
+        assertThat(afterInsert.getBooks()).isEqualTo(before.getBooks() + 2);
+        assertThat(afterInsert.getAuthors()).isEqualTo(before.getAuthors() + 1);
+        assertThat(afterInsert.getUnassignedBooks()).isEqualTo(before.getUnassignedBooks() + 1);
+        assertThat(afterInsert.getUndatedBooks()).isEqualTo(before.getUndatedBooks() + 1);
+        assertThat(afterDelete.getBooks()).isEqualTo(before.getBooks() + 1);
+        assertThat(afterDelete.getAuthors()).isEqualTo(before.getAuthors());
+    }
+
+    @Test
+    void testAuthorsAndMonths_whenBookIsReassigned_thenMoveItsCount() {
+        // Arrange
+        AuthorEntity jane = authorRepository.save(AuthorEntity.builder().name("JANE DOE").build());
+        AuthorEntity john = authorRepository.save(AuthorEntity.builder().name("JOHN ROE").build());
+        bookEntity book = bookRepository.save(book("SOME BOOK", jane, LocalDate.of(2019, 5, 2)));
+        bookRepository.save(book("OTHER BOOK", jane, LocalDate.of(2019, 5, 20)));
+        entityManager.flush();
+
+        // Act
+        book.setAuthoredBy(john);
+        book.setPublishedOn(LocalDate.of(2019, 7, 1));
+        bookRepository.save(book);
+        entityManager.flush();
+        List<AuthorBookCountDTO> authors = bookStatsRepository.authorsAfter(jane.getId() - 1, 10);
+        List<MonthBookCountDTO> months = bookStatsRepository.months(2019);
+
+        // Assert
+        assertThat(authors).containsExactly(
+                new AuthorBookCountDTO(jane.getId(), "JANE DOE", 1),
+                new AuthorBookCountDTO(john.getId(), "JOHN ROE", 1));
+        assertThat(months).containsExactly(
+                new MonthBookCountDTO(YearMonth.of(2019, 5), 1),
+                new MonthBookCountDTO(YearMonth.of(2019, 7), 1));
+    }
+
+    private static bookEntity book(String title, AuthorEntity author, LocalDate publishedOn) {
+        return bookEntity.builder()
+                .title(title)
+                .description("Description")
+                .authoredBy(author)
+                .publishedOn(publishedOn)
+                .build();
+    }
+}
@@ -2,8 +2,19 @@ package com.SpringBoot.TestingHW.service;
 
 import com.SpringBoot.TestingHW.dto.AuthorDTO;
 import com.SpringBoot.TestingHW.entity.AuthorEntity;
+import com.SpringBoot.TestingHW.exceptions.BadRequestException;
+import com.SpringBoot.TestingHW.exceptions.PreconditionFailedException;
 import com.SpringBoot.TestingHW.exceptions.ResourceNotFoundException;
+import com.SpringBoot.TestingHW.lookup.MultiGetResult;
+import com.SpringBoot.TestingHW.mapper.AuthorMapper;
+import com.SpringBoot.TestingHW.metrics.MappingMetrics;
+import com.SpringBoot.TestingHW.pagination.CursorPage;
+import com.SpringBoot.TestingHW.pagination.Cursors;
+import com.SpringBoot.TestingHW.projection.AuthorView;
 import com.SpringBoot.TestingHW.repository.AuthorRepository;
+import com.SpringBoot.TestingHW.repository.BookRepository;
+import com.SpringBoot.TestingHW.snapshot.CatalogSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,7 +22,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
 
 import java.util.List;
 import java.util.Optional;
@@ -27,11 +38,18 @@ class AuthorServiceTest {
     @Mock
     private AuthorRepository authorRepository;
 
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private CatalogSnapshot catalogSnapshot;
+
     @InjectMocks
     private AuthorService authorService;
 
     @Spy
-    private ModelMapper modelMapper;
+    private AuthorMapper authorMapper;
+    @Spy
+    private MappingMetrics mappingMetrics = new MappingMetrics(new SimpleMeterRegistry());
 
     private AuthorDTO mockAuthorDTO;
     private AuthorEntity mockAuthorEntity;
@@ -52,16 +70,28 @@ class AuthorServiceTest {
     @Test
     void testGetAllAuthors_whenAuthorsArePresent_thenReturnListOfAuthorDTOS() {
         // Arrange, Given
-        when(authorRepository.findAll()).thenReturn(List.of(mockAuthorEntity));
+        when(authorRepository.findViewsAfter(0L, Limit.of(Cursors.DEFAULT_LIMIT + 1)))
+                .thenReturn(List.of(new AuthorView(mockAuthorEntity.getId(), mockAuthorEntity.getName())));
 
         // Act, When
-        List<AuthorDTO> authorDtoList = authorService.getAllAuthors();
+        CursorPage<AuthorDTO> authorDtoPage = authorService.getAllAuthors(null, null);
 
         // Assert, Then
-        assertThat(authorDtoList).isNotNull();
-        assertThat(authorDtoList).hasSize(1);
-        assertThat(authorDtoList.get(0).getName()).isEqualTo(mockAuthorEntity.getName());
-        verify(authorRepository, only()).findAll();
+        assertThat(authorDtoPage.getItems()).isNotNull();
+        assertThat(authorDtoPage.getItems()).hasSize(1);
+        assertThat(authorDtoPage.getItems().get(0).getName()).isEqualTo(mockAuthorEntity.getName());
+        assertThat(authorDtoPage.getNextCursor()).isNull();
+        verify(authorRepository, only()).findViewsAfter(0L, Limit.of(Cursors.DEFAULT_LIMIT + 1));
+    }
+
+    @Test
+    void testGetAllAuthors_whenLimitIsNotPositive_thenThrowException() {
+        // Act & Assert, When & Then
+        assertThatThrownBy(() -> authorService.getAllAuthors(null, 0))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Limit must be at least 1");
+
+        verifyNoInteractions(authorRepository);
     }
 
     @Test
@@ -92,6 +122,21 @@ class AuthorServiceTest {
         verify(authorRepository).findById(1L);
     }
 
+    @Test
+    void testGetAuthorsByIds_whenSomeIdsAreMissing_thenReturnFoundAuthorsInRequestOrderAndMissingIds() {
+        // Arrange
+        when(authorRepository.findViewsByIdIn(List.of(2L, 1L, 4L)))
+                .thenReturn(List.of(new AuthorView(1L, "JOHN DOE"), new AuthorView(2L, "JANE DOE")));
+
+        // Act
+        MultiGetResult<AuthorDTO> result = authorService.getAuthorsByIds(new long[]{2L, 1L, 4L});
+
+        // Assert
+        assertThat(result.getItems()).extracting(AuthorDTO::getName).containsExactly("JANE DOE", "JOHN DOE");
+        assertThat(result.getMissingIds()).containsExactly(4L);
+        verify(authorRepository, only()).findViewsByIdIn(List.of(2L, 1L, 4L));
+    }
+
     @Test
     void testCreateNewAuthor_whenValidAuthor_thenCreateNewAuthor(){
         //assign
@@ -110,71 +155,83 @@ class AuthorServiceTest {
     @Test
     void testUpdateAuthorById_whenAuthorExists_thenReturnAuthorDTO(){
         //assign
-        when(authorRepository.existsById(anyLong())).thenReturn(true);
-        when(authorRepository.save(any(AuthorEntity.class))).thenReturn(mockAuthorEntity);
+        when(authorRepository.updateAuthor(1L, "JOHN DOE", true, List.of())).thenReturn(1);
+        when(authorRepository.findById(anyLong())).thenReturn(Optional.of(mockAuthorEntity));
 
         //act
-        AuthorDTO authorDTO = authorService.updateAuthorById(mockAuthorDTO.getId(),mockAuthorDTO);
+        AuthorDTO authorDTO = authorService.updateAuthorById(mockAuthorDTO.getId(),mockAuthorDTO,null);
 
         //assert
         assertThat(authorDTO).isNotNull();
         assertThat(authorDTO.getName()).isEqualTo(mockAuthorDTO.getName().toUpperCase());
         assertThat(authorDTO.getId()).isEqualTo(mockAuthorDTO.getId());
-        verify(authorRepository,times(1)).save(any(AuthorEntity.class));
-        verify(authorRepository,times(1)).existsById(anyLong());
+        verify(authorRepository,never()).existsById(anyLong());
+    }
+
+    @Test
+    void testUpdateAuthorById_whenIfMatchIsStale_thenThrowPreconditionFailedException(){
+        //assign
+        when(authorRepository.updateAuthor(1L, "JOHN DOE", false, List.of(1L))).thenReturn(0);
+        when(authorRepository.existsById(1L)).thenReturn(true);
+
+        //act and assert
+        assertThatThrownBy(()->authorService.updateAuthorById(1L,mockAuthorDTO,"\"1\""))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(authorRepository, never()).findById(anyLong());
     }
 
     @Test
     void testUpdateAuthorById_whenAuthorDoesNotExists_thenThrowException(){
         //assign
-        when(authorRepository.existsById(anyLong())).thenReturn(false);
+        when(authorRepository.updateAuthor(1L, "JOHN DOE", true, List.of())).thenReturn(0);
+        when(authorRepository.existsById(1L)).thenReturn(false);
 
         //act nd assert
-        assertThatThrownBy(()->authorService.updateAuthorById(1L,mockAuthorDTO))
+        assertThatThrownBy(()->authorService.updateAuthorById(1L,mockAuthorDTO,null))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("Author not found by id:1");
     }
 
     @Test
-    void testDeleteAuthorById_whenAuthorExists_thenDeleteAuthor(){
+    void testDeleteAuthorById_whenIfMatchIsCurrent_thenDeleteAuthorAndBooks(){
         // Arrange, Given
-        when(authorRepository.existsById(anyLong())).thenReturn(true);
+        when(authorRepository.deleteAuthor(1L, false, List.of(2L))).thenReturn(1);
 
         // Act, When
-        authorService.deleteAuthorById(1L);
+        authorService.deleteAuthorById(1L,"\"2\"");
 
         // Assert, Then
-        verify(authorRepository).deleteById(1L);
+        verify(bookRepository).deleteBooksOfAuthor(1L, false, List.of(2L));
+        verify(authorRepository, never()).existsById(anyLong());
     }
 
     @Test
     void  testDeleteAuthorById_whenAuthorDoesNotExist_thenThrowException() {
         // Arrange
-        when(authorRepository.existsById(anyLong())).thenReturn(false);
+        when(authorRepository.deleteAuthor(1L, true, List.of())).thenReturn(0);
+        when(authorRepository.existsById(1L)).thenReturn(false);
 
         // Act & Assert, When & Then
-        assertThatThrownBy(() -> authorService.deleteAuthorById(1L))
+        assertThatThrownBy(() -> authorService.deleteAuthorById(1L,null))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("Author not found by id:1");
-
-        verify(authorRepository, never()).deleteById(anyLong());
     }
 
     @Test
     void testGetAuthorsByName_whenAuthorsPresent_thenReturnListOfAuthorDTOS(){
         //assign
-        when(authorRepository.findByName(mockAuthorEntity.getName().toUpperCase()))
-                .thenReturn(List.of(mockAuthorEntity));
+        when(authorRepository.findViewsByNameAfter(mockAuthorEntity.getName().toUpperCase(), 0L, Limit.of(Cursors.DEFAULT_LIMIT + 1)))
+                .thenReturn(List.of(new AuthorView(mockAuthorEntity.getId(), mockAuthorEntity.getName())));
 
         //act
-        List<AuthorDTO> authorDTOS = authorService.getAuthorsByName(mockAuthorEntity.getName());
+        CursorPage<AuthorDTO> authorDTOS = authorService.getAuthorsByName(mockAuthorEntity.getName(), null, null);
 
         //assert
-        assertThat(authorDTOS).hasSize(1);
-        assertThat(authorDTOS).isNotNull();
-        assertThat(authorDTOS.get(0).getName()).isEqualTo(mockAuthorDTO.getName().toUpperCase());
+        assertThat(authorDTOS.getItems()).hasSize(1);
+        assertThat(authorDTOS.getItems()).isNotNull();
+        assertThat(authorDTOS.getItems().get(0).getName()).isEqualTo(mockAuthorDTO.getName().toUpperCase());
 
-        verify(authorRepository,times(1)).findByName(mockAuthorEntity.getName().toUpperCase());
+        verify(authorRepository,times(1)).findViewsByNameAfter(mockAuthorEntity.getName().toUpperCase(), 0L, Limit.of(Cursors.DEFAULT_LIMIT + 1));
 
     }
 
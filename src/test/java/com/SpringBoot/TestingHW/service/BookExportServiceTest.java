@@ -0,0 +1,98 @@
+package com.SpringBoot.TestingHW.service;
+
+import com.SpringBoot.TestingHW.entity.AuthorEntity;
+import com.SpringBoot.TestingHW.entity.bookEntity;
+import com.SpringBoot.TestingHW.mapper.AuthorMapper;
+import com.SpringBoot.TestingHW.mapper.BookMapper;
+import com.SpringBoot.TestingHW.metrics.MappingMetrics;
+import com.SpringBoot.TestingHW.repository.BookRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookExportServiceTest {
+
+    @Mock
+    private BookRepository bookRepository;
+    @Spy
+    private BookMapper bookMapper = new BookMapper(new AuthorMapper());
+    @Spy
+    private MappingMetrics mappingMetrics = new MappingMetrics(new SimpleMeterRegistry());
+    @Mock
+    private EntityManager entityManager;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    @InjectMocks
+    private BookExportService bookExportService;
+
+    @Test
+    void testExportBooks_whenBooksArePresent_thenWriteOneJsonObjectPerLine() throws Exception {
+        // Arrange
+        AuthorEntity author = AuthorEntity.builder().id(3L).name("JOHN DOE").build();
+        bookEntity book = bookEntity.builder()
+                .id(1L)
+                .title("FIRST BOOK")
+                .description("First description")
+                .publishedOn(LocalDate.of(2024, 1, 2))
+                .authoredBy(author)
+                .build();
+        bookEntity bookWithoutAuthor = bookEntity.builder().id(2L).title("SECOND BOOK").build();
+        when(bookRepository.streamAllForExport()).thenReturn(Stream.of(book, bookWithoutAuthor));
+        Session session = mock(Session.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        when(session.getCacheMode()).thenReturn(CacheMode.NORMAL);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // Act
+        long exported = bookExportService.exportBooks(outputStream);
+
+        // Assert
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(exported).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("title").asText()).isEqualTo("FIRST BOOK");
+        assertThat(objectMapper.readTree(lines[0]).get("publishedOn").asText()).isEqualTo("2024-01-02");
+        assertThat(objectMapper.readTree(lines[0]).get("authored_by").get("name").asText()).isEqualTo("JOHN DOE");
+        assertThat(objectMapper.readTree(lines[1]).get("id").asLong()).isEqualTo(2L);
+        verify(entityManager, never()).clear();
+        InOrder inOrder = inOrder(session, bookRepository);
+        inOrder.verify(session).setCacheMode(CacheMode.IGNORE);
+        inOrder.verify(bookRepository).streamAllForExport();
+        inOrder.verify(session).setCacheMode(CacheMode.NORMAL);
+    }
+
+    @Test
+    void testExportBooks_whenMoreRowsThanClearInterval_thenClearPersistenceContextPeriodically() throws Exception {
+        // Arrange
+        int rows = BookExportService.CLEAR_INTERVAL * 2 + 1;
+        when(bookRepository.streamAllForExport()).thenReturn(LongStream.rangeClosed(1, rows)
+                .mapToObj(id -> bookEntity.builder().id(id).title("BOOK " + id).build()));
+        when(entityManager.unwrap(Session.class)).thenReturn(mock(Session.class));
+
+        // Act
+        long exported = bookExportService.exportBooks(new ByteArrayOutputStream());
+
+        // Assert
+        assertThat(exported).isEqualTo(rows);
+        verify(entityManager, times(2)).clear();
+    }
+}
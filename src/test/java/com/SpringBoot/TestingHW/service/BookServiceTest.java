@@ -1,12 +1,24 @@
 package com.SpringBoot.TestingHW.service;
 
 import com.SpringBoot.TestingHW.dto.AuthorDTO;
+import com.SpringBoot.TestingHW.dto.BatchResultDTO;
 import com.SpringBoot.TestingHW.dto.BookDTO;
 import com.SpringBoot.TestingHW.entity.AuthorEntity;
 import com.SpringBoot.TestingHW.entity.bookEntity;
+import com.SpringBoot.TestingHW.exceptions.BadRequestException;
+import com.SpringBoot.TestingHW.exceptions.PreconditionFailedException;
 import com.SpringBoot.TestingHW.exceptions.ResourceNotFoundException;
+import com.SpringBoot.TestingHW.lookup.MultiGetResult;
+import com.SpringBoot.TestingHW.mapper.AuthorMapper;
+import com.SpringBoot.TestingHW.mapper.BookMapper;
+import com.SpringBoot.TestingHW.metrics.MappingMetrics;
+import com.SpringBoot.TestingHW.pagination.CursorPage;
+import com.SpringBoot.TestingHW.pagination.Cursors;
+import com.SpringBoot.TestingHW.projection.BookView;
 import com.SpringBoot.TestingHW.repository.AuthorRepository;
 import com.SpringBoot.TestingHW.repository.BookRepository;
+import com.SpringBoot.TestingHW.snapshot.CatalogSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.Builder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,14 +28,18 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
 
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,11 +52,19 @@ class BookServiceTest {
     @InjectMocks
     private BookService bookService;
     @Spy
-    private ModelMapper modelMapper;
+    private BookMapper bookMapper = new BookMapper(new AuthorMapper());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @Spy
+    private MappingMetrics mappingMetrics = new MappingMetrics(meterRegistry);
+    @Mock
+    private JsonBatchInserter jsonBatchInserter;
+    @Mock
+    private CatalogSnapshot catalogSnapshot;
 
     private AuthorEntity mockAuthorEntity;
     private AuthorDTO mockAuthorDTO;
     private bookEntity mockBookEntity;
+    private BookView mockBookView;
     private BookDTO mockBookDTO;
 
     @BeforeEach
@@ -50,28 +74,63 @@ class BookServiceTest {
                 .name("JOHN DOE")
                 .build();
 
-        mockAuthorDTO = modelMapper.map(mockAuthorEntity,AuthorDTO.class);
+        mockAuthorDTO = new AuthorMapper().toDto(mockAuthorEntity);
 
         mockBookEntity = bookEntity.builder()
                 .id(1L)
                 .title("FIRST BOOK")
                 .publishedOn(LocalDate.now())
                 .build();
-        mockBookDTO = modelMapper.map(mockBookEntity, BookDTO.class);
+        mockBookDTO = bookMapper.toDto(mockBookEntity);
+
+        mockBookView = new BookView(1L, "FIRST BOOK", null, LocalDate.now(), null, null);
     }
 
     @Test
     void testGetAllBooks_whenBooksArePresent_thenReturnListOfBookDTOS() {
         // Arrange
-        when(bookRepository.findAll()).thenReturn(List.of(mockBookEntity));
+        when(bookRepository.findViewsAfter(0L, Limit.of(Cursors.DEFAULT_LIMIT + 1)))
+                .thenReturn(List.of(mockBookView));
+        // Act
+        CursorPage<BookDTO> bookDtoPage = bookService.getAllBooks(null, null);
+
+        // Assert
+        assertThat(bookDtoPage.getItems()).isNotNull();
+        assertThat(bookDtoPage.getItems()).hasSize(1);
+        assertThat(bookDtoPage.getItems().get(0).getTitle()).isEqualTo(mockBookEntity.getTitle());
+        assertThat(bookDtoPage.getNextCursor()).isNull();
+        verify(bookRepository, only()).findViewsAfter(0L, Limit.of(Cursors.DEFAULT_LIMIT + 1));
+    }
+
+    @Test
+    void testGetAllBooks_whenMoreBooksThanLimit_thenReturnNextCursorAfterLastBook() {
+        // Arrange
+        BookView secondBook = new BookView(2L, "SECOND BOOK", null, null, null, null);
+        when(bookRepository.findViewsAfter(0L, Limit.of(2)))
+                .thenReturn(List.of(mockBookView, secondBook));
+
+        // Act
+        CursorPage<BookDTO> bookDtoPage = bookService.getAllBooks(null, 1);
+
+        // Assert
+        assertThat(bookDtoPage.getItems()).hasSize(1);
+        assertThat(bookDtoPage.getNextCursor()).isNotNull();
+        assertThat(Cursors.decodeId(bookDtoPage.getNextCursor())).isEqualTo(mockBookEntity.getId());
+    }
+
+    @Test
+    void testGetAllBooks_whenCursorGiven_thenSeekAfterCursorId() {
+        // Arrange
+        when(bookRepository.findViewsAfter(1L, Limit.of(Cursors.MAX_LIMIT + 1)))
+                .thenReturn(List.of());
+
         // Act
-        List<BookDTO> bookDtoList = bookService.getAllBooks();
+        CursorPage<BookDTO> bookDtoPage = bookService.getAllBooks(Cursors.encodeId(1L), 100_000);
 
         // Assert
-        assertThat(bookDtoList).isNotNull();
-        assertThat(bookDtoList).hasSize(1);
-        assertThat(bookDtoList.get(0).getTitle()).isEqualTo(mockBookEntity.getTitle());
-        verify(bookRepository, only()).findAll();
+        assertThat(bookDtoPage.getItems()).isEmpty();
+        assertThat(bookDtoPage.getNextCursor()).isNull();
+        verify(bookRepository, only()).findViewsAfter(1L, Limit.of(Cursors.MAX_LIMIT + 1));
     }
 
     @Test
@@ -87,6 +146,7 @@ class BookServiceTest {
         assertThat(bookDto).isNotNull();
         assertThat(bookDto.getTitle()).isEqualTo(mockBookEntity.getTitle());
         verify(bookRepository, only()).findById(bookId);
+        assertThat(meterRegistry.get(MappingMetrics.MAPPING_TIMER).tag("type", "book").timer().count()).isEqualTo(1);
     }
 
     @Test
@@ -100,6 +160,28 @@ class BookServiceTest {
         verify(bookRepository, only()).findById(bookId);
     }
 
+    @Test
+    void testGetBooksByIds_whenSomeIdsAreMissing_thenReturnFoundBooksInRequestOrderAndMissingIds() {
+        // Arrange
+        when(bookRepository.findViewsByIdIn(List.of(3L, 9L, 1L))).thenReturn(List.of(
+                new BookView(1L, "FIRST", null, null, null, null),
+                new BookView(3L, "THIRD", null, null, null, null)));
+
+        // Act
+        MultiGetResult<BookDTO> result = bookService.getBooksByIds(new long[]{3L, 9L, 1L, 3L});
+
+        // Assert
+        assertThat(result.getItems()).extracting(BookDTO::getTitle).containsExactly("THIRD", "FIRST");
+        assertThat(result.getMissingIds()).containsExactly(9L);
+        verify(bookRepository, only()).findViewsByIdIn(List.of(3L, 9L, 1L));
+    }
+
+    @Test
+    void testGetBooksByIds_whenNoIds_thenThrowBadRequestException() {
+        assertThrows(BadRequestException.class, () -> bookService.getBooksByIds(new long[0]));
+        verifyNoInteractions(bookRepository);
+    }
+
     @Test
     void testCreateNewBook_whenValidBookDto_thenReturnSavedBookDto() {
         // Arrange
@@ -115,92 +197,251 @@ class BookServiceTest {
         verify(bookRepository, only()).save(bookArgumentCaptor.capture());
     }
 
+    @Test
+    void testCreateNewBook_whenAuthorGiven_thenSaveBookWithLoadedAuthor() {
+        // Arrange
+        mockBookDTO.setAuthored_by(mockAuthorDTO);
+        when(authorRepository.findById(1L)).thenReturn(Optional.of(mockAuthorEntity));
+        when(bookRepository.save(any(bookEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        BookDTO savedBookDto = bookService.createNewBook(mockBookDTO);
+
+        // Assert
+        ArgumentCaptor<bookEntity> bookArgumentCaptor = ArgumentCaptor.forClass(bookEntity.class);
+        verify(bookRepository).save(bookArgumentCaptor.capture());
+        assertThat(bookArgumentCaptor.getValue().getAuthoredBy()).isSameAs(mockAuthorEntity);
+        assertThat(savedBookDto.getAuthored_by().getName()).isEqualTo("JOHN DOE");
+    }
+
+    @Test
+    void testCreateNewBook_whenAuthorNotFound_thenThrowResourceNotFoundException() {
+        // Arrange
+        mockBookDTO.setAuthored_by(mockAuthorDTO);
+        when(authorRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> bookService.createNewBook(mockBookDTO))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Author not found by id:1");
+        verify(bookRepository, never()).save(any(bookEntity.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreateNewBooks_whenChunkIsPersisted_thenSaveNewEntitiesWithUpperCaseTitles() throws Exception {
+        // Arrange
+        InputStream body = InputStream.nullInputStream();
+        BatchResultDTO batchResult = new BatchResultDTO(1, 0, List.of());
+        ArgumentCaptor<Consumer<List<BookDTO>>> chunkCaptor = ArgumentCaptor.forClass(Consumer.class);
+        when(jsonBatchInserter.insert(eq(body), eq(BookDTO.class), chunkCaptor.capture())).thenReturn(batchResult);
+
+        // Act
+        BatchResultDTO result = bookService.createNewBooks(body);
+        chunkCaptor.getValue().accept(List.of(BookDTO.builder().id(99L).title("new book").build()));
+
+        // Assert
+        ArgumentCaptor<List<bookEntity>> savedCaptor = ArgumentCaptor.forClass(List.class);
+        assertThat(result).isSameAs(batchResult);
+        verify(bookRepository, only()).saveAll(savedCaptor.capture());
+        assertThat(savedCaptor.getValue()).singleElement()
+                .satisfies(book -> {
+                    assertThat(book.getId()).isNull();
+                    assertThat(book.getTitle()).isEqualTo("NEW BOOK");
+                });
+    }
+
     @Test
     void testUpdateBookById_whenBookExists_thenReturnUpdatedBookDto() {
         // Arrange
         Long bookId = 1L;
-        when(bookRepository.existsById(bookId)).thenReturn(true);
-        when(modelMapper.map(mockBookDTO, bookEntity.class)).thenReturn(mockBookEntity);
-        when(bookRepository.save(mockBookEntity)).thenReturn(mockBookEntity);
-        when(modelMapper.map(mockBookEntity, BookDTO.class)).thenReturn(mockBookDTO);
+        mockBookDTO.setTitle("updated book");
+        mockBookEntity.setTitle("UPDATED BOOK");
+        when(bookRepository.updateBook(bookId, "UPDATED BOOK", mockBookDTO.getDescription(), mockBookDTO.getPublishedOn(),
+                null, true, List.of())).thenReturn(1);
+        when(bookRepository.findWithAuthorById(bookId)).thenReturn(Optional.of(mockBookEntity));
 
         // Act
-        BookDTO updatedBookDto = bookService.updateBookById(bookId, mockBookDTO);
+        BookDTO updatedBookDto = bookService.updateBookById(bookId, mockBookDTO, null);
 
         // Assert
         assertThat(updatedBookDto).isNotNull();
-        assertThat(updatedBookDto.getTitle()).isEqualTo(mockBookEntity.getTitle());
-        verify(bookRepository, times(1)).existsById(bookId);
-        verify(bookRepository, times(1)).save(mockBookEntity);
+        assertThat(updatedBookDto.getTitle()).isEqualTo("UPDATED BOOK");
+        verify(bookRepository, never()).findById(bookId);
+        verify(bookRepository, never()).existsById(bookId);
+    }
+
+    @Test
+    void testUpdateBookById_whenIfMatchIsStale_thenThrowPreconditionFailedException() {
+        // Arrange
+        Long bookId = 1L;
+        when(bookRepository.updateBook(eq(bookId), any(), any(), any(), any(), eq(false), eq(List.of(2L)))).thenReturn(0);
+        when(bookRepository.existsById(bookId)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class, () -> bookService.updateBookById(bookId, mockBookDTO, "\"2\""));
+        verify(bookRepository, never()).findWithAuthorById(bookId);
     }
 
     @Test
     void testUpdateBookById_whenBookDoesNotExist_thenThrowResourceNotFoundException() {
         // Arrange
         Long bookId = 1L;
+        when(bookRepository.updateBook(eq(bookId), any(), any(), any(), any(), eq(true), eq(List.of()))).thenReturn(0);
         when(bookRepository.existsById(bookId)).thenReturn(false);
 
         // Act & Assert
-        assertThrows(ResourceNotFoundException.class, () -> bookService.updateBookById(bookId, mockBookDTO));
-        verify(bookRepository, only()).existsById(bookId);
+        assertThrows(ResourceNotFoundException.class, () -> bookService.updateBookById(bookId, mockBookDTO, null));
+        verify(bookRepository, never()).findWithAuthorById(bookId);
     }
 
     @Test
     void testDeleteBookById_whenBookExists_thenBookIsDeleted() {
         // Arrange
         Long bookId = 1L;
-        when(bookRepository.existsById(bookId)).thenReturn(true);
+        when(bookRepository.deleteBook(bookId, true, List.of())).thenReturn(1);
 
         // Act
-        bookService.deleteBookById(bookId);
+        bookService.deleteBookById(bookId, null);
 
         // Assert
-        verify(bookRepository, times(1)).existsById(bookId);
-        verify(bookRepository, times(1)).deleteById(bookId);
+        verify(bookRepository, only()).deleteBook(bookId, true, List.of());
     }
 
     @Test
     void testDeleteBookById_whenBookDoesNotExist_thenThrowResourceNotFoundException() {
         // Arrange
         Long bookId = 1L;
+        when(bookRepository.deleteBook(bookId, true, List.of())).thenReturn(0);
         when(bookRepository.existsById(bookId)).thenReturn(false);
 
         // Act & Assert
-        assertThrows(ResourceNotFoundException.class, () -> bookService.deleteBookById(bookId));
-        verify(bookRepository, only()).existsById(bookId);
+        assertThrows(ResourceNotFoundException.class, () -> bookService.deleteBookById(bookId, null));
+    }
+
+    @Test
+    void testDeleteBookById_whenIfMatchIsStale_thenThrowPreconditionFailedException() {
+        // Arrange
+        Long bookId = 1L;
+        when(bookRepository.deleteBook(bookId, false, List.of(2L))).thenReturn(0);
+        when(bookRepository.existsById(bookId)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class, () -> bookService.deleteBookById(bookId, "\"2-5\""));
     }
 
     @Test
     void testGetBooksPublishedAfterDate_whenBooksArePresent_thenReturnListOfBookDTOS() {
         // Arrange
         LocalDate date = LocalDate.of(2020, 1, 1);
-        when(bookRepository.findByPublishedOnAfter(date)).thenReturn(List.of(mockBookEntity));
-        when(modelMapper.map(mockBookEntity, BookDTO.class)).thenReturn(mockBookDTO);
+        when(bookRepository.findViewsPublishedAfterSeek(date, date, 0L, Limit.of(Cursors.DEFAULT_LIMIT + 1)))
+                .thenReturn(List.of(mockBookView));
 
         // Act
-        List<BookDTO> bookDtoList = bookService.getBooksPublishedAfterDate(date);
+        CursorPage<BookDTO> bookDtoPage = bookService.getBooksPublishedAfterDate(date, null, null);
 
         // Assert
-        assertThat(bookDtoList).isNotNull();
-        assertThat(bookDtoList).hasSize(1);
-        assertThat(bookDtoList.get(0).getTitle()).isEqualTo(mockBookEntity.getTitle());
-        verify(bookRepository, only()).findByPublishedOnAfter(date);
+        assertThat(bookDtoPage.getItems()).isNotNull();
+        assertThat(bookDtoPage.getItems()).hasSize(1);
+        assertThat(bookDtoPage.getItems().get(0).getTitle()).isEqualTo(mockBookEntity.getTitle());
+        verify(bookRepository, only()).findViewsPublishedAfterSeek(date, date, 0L, Limit.of(Cursors.DEFAULT_LIMIT + 1));
+    }
+
+    @Test
+    void testGetBooksPublishedAfterDate_whenCursorGiven_thenSeekAfterPublishedOnAndId() {
+        // Arrange
+        LocalDate date = LocalDate.of(2020, 1, 1);
+        LocalDate lastSeen = LocalDate.of(2021, 6, 1);
+        when(bookRepository.findViewsPublishedAfterSeek(date, lastSeen, 7L, Limit.of(Cursors.DEFAULT_LIMIT + 1)))
+                .thenReturn(List.of());
+
+        // Act
+        CursorPage<BookDTO> bookDtoPage = bookService.getBooksPublishedAfterDate(
+                date, Cursors.encodeDateAndId(lastSeen, 7L), null);
+
+        // Assert
+        assertThat(bookDtoPage.getItems()).isEmpty();
+        verify(bookRepository, only()).findViewsPublishedAfterSeek(date, lastSeen, 7L, Limit.of(Cursors.DEFAULT_LIMIT + 1));
+    }
+
+    @Test
+    void testGetBooksPublishedBetween_whenRangeGiven_thenQueryHalfOpenRangeFromStartOfRange() {
+        // Arrange
+        LocalDate from = LocalDate.of(2020, 1, 1);
+        LocalDate to = LocalDate.of(2020, 12, 31);
+        when(bookRepository.findViewsPublishedBetweenSeek(from, LocalDate.of(2021, 1, 1), from, 0L,
+                Limit.of(Cursors.DEFAULT_LIMIT + 1))).thenReturn(List.of(mockBookView));
+
+        // Act
+        CursorPage<BookDTO> bookDtoPage = bookService.getBooksPublishedBetween(from, to, null, null);
+
+        // Assert
+        assertThat(bookDtoPage.getItems()).hasSize(1);
+        assertThat(bookDtoPage.getItems().get(0).getTitle()).isEqualTo(mockBookEntity.getTitle());
+    }
+
+    @Test
+    void testGetBooksPublishedBetween_whenToIsLocalDateMax_thenThrowBadRequestException() {
+        // Arrange
+        LocalDate from = LocalDate.of(2020, 1, 1);
+
+        // Act & Assert
+        assertThatThrownBy(() -> bookService.getBooksPublishedBetween(from, LocalDate.MAX, null, null))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> bookService.getBooksPublishedBetween(LocalDate.MIN, from, null, null))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    void testGetBooksPublishedBetween_whenFromIsAfterTo_thenThrowBadRequestException() {
+        // Arrange
+        LocalDate from = LocalDate.of(2021, 1, 1);
+        LocalDate to = LocalDate.of(2020, 1, 1);
+
+        // Act & Assert
+        assertThatThrownBy(() -> bookService.getBooksPublishedBetween(from, to, null, null))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(bookRepository);
     }
 
     @Test
     void testGetBooksByTitle_whenBooksArePresent_thenReturnListOfBookDTOS() {
         // Arrange
         String title = "Test Title";
-        when(bookRepository.findByTitle(title.toUpperCase())).thenReturn(List.of(mockBookEntity));
+        when(bookRepository.findViewsByTitleAfter(title.toUpperCase(), 0L, Limit.of(Cursors.DEFAULT_LIMIT + 1)))
+                .thenReturn(List.of(mockBookView));
 
         // Act
-        List<BookDTO> bookDtoList = bookService.getBooksByTitle(title);
+        CursorPage<BookDTO> bookDtoPage = bookService.getBooksByTitle(title, null, null);
 
         // Assert
-        assertThat(bookDtoList).isNotNull();
-        assertThat(bookDtoList).hasSize(1);
-        assertThat(bookDtoList.get(0).getTitle()).isEqualTo(mockBookEntity.getTitle());
-        verify(bookRepository, only()).findByTitle(title.toUpperCase());
+        assertThat(bookDtoPage.getItems()).isNotNull();
+        assertThat(bookDtoPage.getItems()).hasSize(1);
+        assertThat(bookDtoPage.getItems().get(0).getTitle()).isEqualTo(mockBookEntity.getTitle());
+        verify(bookRepository, only()).findViewsByTitleAfter(title.toUpperCase(), 0L, Limit.of(Cursors.DEFAULT_LIMIT + 1));
+    }
+
+    @Test
+    void testSearchBooks_whenMoreMatchesThanLimit_thenReturnOffsetCursorForNextPage() {
+        // Arrange
+        BookView secondBook = new BookView(2L, "SECOND BOOK", null, null, null, null);
+        when(bookRepository.search("first", 0L, 2)).thenReturn(List.of(mockBookView, secondBook));
+
+        // Act
+        CursorPage<BookDTO> bookDtoPage = bookService.searchBooks(" first ", null, 1);
+
+        // Assert
+        assertThat(bookDtoPage.getItems()).extracting(BookDTO::getTitle).containsExactly("FIRST BOOK");
+        assertThat(Cursors.decodeOffset(bookDtoPage.getNextCursor())).isEqualTo(1L);
+        verify(bookRepository, only()).search("first", 0L, 2);
+    }
+
+    @Test
+    void testSearchBooks_whenQueryIsBlank_thenThrowBadRequestException() {
+        // Act and Assert
+        assertThrows(BadRequestException.class, () -> bookService.searchBooks("  ", null, null));
+        verifyNoInteractions(bookRepository);
     }
 
     @Test
@@ -208,18 +449,18 @@ class BookServiceTest {
         // Arrange
         Long authorId = 1L;
         when(authorRepository.findById(authorId)).thenReturn(Optional.of(mockAuthorEntity));
-        when(bookRepository.findByAuthoredBy(mockAuthorEntity)).thenReturn(List.of(mockBookEntity));
-        when(modelMapper.map(mockBookEntity, BookDTO.class)).thenReturn(mockBookDTO);
+        when(bookRepository.findViewsByAuthorAfter(authorId, 0L, Limit.of(Cursors.DEFAULT_LIMIT + 1)))
+                .thenReturn(List.of(mockBookView));
 
         // Act
-        List<BookDTO> bookDtoList = bookService.getBooksAuthoredBy(authorId);
+        CursorPage<BookDTO> bookDtoPage = bookService.getBooksAuthoredBy(authorId, null, null);
 
         // Assert
-        assertThat(bookDtoList).isNotNull();
-        assertThat(bookDtoList).hasSize(1);
-        assertThat(bookDtoList.get(0).getTitle()).isEqualTo(mockBookEntity.getTitle());
+        assertThat(bookDtoPage.getItems()).isNotNull();
+        assertThat(bookDtoPage.getItems()).hasSize(1);
+        assertThat(bookDtoPage.getItems().get(0).getTitle()).isEqualTo(mockBookEntity.getTitle());
         verify(authorRepository, times(1)).findById(authorId);
-        verify(bookRepository, times(1)).findByAuthoredBy(mockAuthorEntity);
+        verify(bookRepository, times(1)).findViewsByAuthorAfter(authorId, 0L, Limit.of(Cursors.DEFAULT_LIMIT + 1));
     }
 
     @Test
@@ -229,19 +470,35 @@ class BookServiceTest {
         when(authorRepository.findById(authorId)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(ResourceNotFoundException.class, () -> bookService.getBooksAuthoredBy(authorId));
+        assertThrows(ResourceNotFoundException.class, () -> bookService.getBooksAuthoredBy(authorId, null, null));
         verify(authorRepository, only()).findById(authorId);
     }
 
+    @Test
+    void testGetBooksAuthoredBy_whenSnapshotIsReady_thenServeFromSnapshot() {
+        // Arrange
+        Long authorId = 1L;
+        when(catalogSnapshot.isReady()).thenReturn(true);
+        when(catalogSnapshot.hasAuthor(authorId)).thenReturn(true);
+        when(catalogSnapshot.findByAuthor(authorId, 0L, Cursors.DEFAULT_LIMIT + 1)).thenReturn(List.of(mockBookView));
+
+        // Act
+        CursorPage<BookDTO> bookDtoPage = bookService.getBooksAuthoredBy(authorId, null, null);
+
+        // Assert
+        assertThat(bookDtoPage.getItems()).hasSize(1);
+        assertThat(bookDtoPage.getItems().get(0).getTitle()).isEqualTo(mockBookEntity.getTitle());
+        verifyNoInteractions(authorRepository, bookRepository);
+    }
+
     @Test
     void testAssignAuthorToBook_whenBookAndAuthorExist_thenReturnUpdatedBookDto() {
         // Arrange
         Long bookId = 1L;
         Long authorId = 1L;
-        when(bookRepository.findById(bookId)).thenReturn(Optional.of(mockBookEntity));
-        when(authorRepository.findById(authorId)).thenReturn(Optional.of(mockAuthorEntity));
         mockBookEntity.setAuthoredBy(mockAuthorEntity);
-        when(bookRepository.save(mockBookEntity)).thenReturn(mockBookEntity);
+        when(bookRepository.assignAuthor(bookId, authorId)).thenReturn(1);
+        when(bookRepository.findWithAuthorById(bookId)).thenReturn(Optional.of(mockBookEntity));
 
         // Act
         BookDTO updatedBookDto = bookService.assignAuthorToBook(bookId, authorId);
@@ -249,10 +506,9 @@ class BookServiceTest {
         // Assert
         assertThat(updatedBookDto).isNotNull();
         assertThat(updatedBookDto.getTitle()).isEqualTo(mockBookEntity.getTitle());
-        //assertThat(updatedBookDto.getAuthored_by().getId()).isEqualTo(authorId);
-        verify(bookRepository, times(1)).findById(bookId);
-        verify(authorRepository, times(1)).findById(authorId);
-        verify(bookRepository, times(1)).save(mockBookEntity);
+        assertThat(updatedBookDto.getAuthored_by().getId()).isEqualTo(authorId);
+        verify(bookRepository, never()).findById(bookId);
+        verifyNoInteractions(authorRepository);
     }
 
     @Test
@@ -260,11 +516,13 @@ class BookServiceTest {
         // Arrange
         Long bookId = 1L;
         Long authorId = 1L;
-        when(bookRepository.findById(bookId)).thenReturn(Optional.empty());
+        when(bookRepository.assignAuthor(bookId, authorId)).thenReturn(0);
+        when(bookRepository.existsById(bookId)).thenReturn(false);
 
         // Act & Assert
-        assertThrows(ResourceNotFoundException.class, () -> bookService.assignAuthorToBook(bookId, authorId));
-        verify(bookRepository, only()).findById(bookId);
+        assertThatThrownBy(() -> bookService.assignAuthorToBook(bookId, authorId))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Book not found by id:" + bookId);
     }
 
     @Test
@@ -272,11 +530,13 @@ class BookServiceTest {
         // Arrange
         Long bookId = 1L;
         Long authorId = 1L;
-        when(bookRepository.findById(bookId)).thenReturn(Optional.of(mockBookEntity));
-        when(authorRepository.findById(authorId)).thenReturn(Optional.empty());
+        when(bookRepository.assignAuthor(bookId, authorId)).thenReturn(0);
+        when(bookRepository.existsById(bookId)).thenReturn(true);
+        when(authorRepository.existsById(authorId)).thenReturn(false);
 
         // Act & Assert
-        assertThrows(ResourceNotFoundException.class, () -> bookService.assignAuthorToBook(bookId, authorId));
-        verify(authorRepository, only()).findById(authorId);
+        assertThatThrownBy(() -> bookService.assignAuthorToBook(bookId, authorId))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Author not found by id:" + authorId);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,131 @@
+package com.SpringBoot.TestingHW.service;
+
+import com.SpringBoot.TestingHW.dto.BatchResultDTO;
+import com.SpringBoot.TestingHW.dto.BookDTO;
+import com.SpringBoot.TestingHW.exceptions.BadRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class JsonBatchInserterTest {
+
+    private JsonBatchInserter jsonBatchInserter;
+    private List<List<String>> persistedChunks;
+
+    @BeforeEach
+    void setUp() {
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        doAnswer(invocation -> {
+            Consumer<Object> callback = invocation.getArgument(0);
+            callback.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        jsonBatchInserter = new JsonBatchInserter(new ObjectMapper().findAndRegisterModules(),
+                Validation.buildDefaultValidatorFactory().getValidator(), transactionTemplate);
+        persistedChunks = new ArrayList<>();
+    }
+
+    @Test
+    void testInsert_whenSomeItemsAreInvalid_thenPersistValidItemsAndReportInvalidOnes() throws Exception {
+        // Arrange
+        String body = """
+                [
+                  {"title": "First book", "description": "First description"},
+                  {"title": "Fi", "description": "Too short title"},
+                  {"title": "Third book", "description": "Third description", "publishedOn": "not-a-date"},
+                  {"title": "Fourth book", "description": "Fourth description"}
+                ]""";
+
+        // Act
+        BatchResultDTO result = insert(body);
+
+        // Assert
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting("index").containsExactly(1, 2);
+        assertThat(result.getErrors().get(0).getMessages()).containsExactly("Name of the book must be at least 3 characters");
+        assertThat(persistedChunks).containsExactly(List.of("First book", "Fourth book"));
+    }
+
+    @Test
+    void testInsert_whenMoreItemsThanChunkSize_thenPersistInChunks() throws Exception {
+        // Arrange
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < JsonBatchInserter.CHUNK_SIZE + 1; i++) {
+            body.append(i == 0 ? "" : ",").append("{\"title\":\"Book ").append(i).append("\",\"description\":\"d\"}");
+        }
+        body.append("]");
+
+        // Act
+        BatchResultDTO result = insert(body.toString());
+
+        // Assert
+        assertThat(result.getCreated()).isEqualTo(JsonBatchInserter.CHUNK_SIZE + 1);
+        assertThat(persistedChunks).hasSize(2);
+        assertThat(persistedChunks.get(0)).hasSize(JsonBatchInserter.CHUNK_SIZE);
+        assertThat(persistedChunks.get(1)).hasSize(1);
+    }
+
+    @Test
+    void testInsert_whenChunkCannotBeStored_thenReportEveryItemOfThatChunk() throws Exception {
+        // Act
+        BatchResultDTO result = jsonBatchInserter.insert(stream("[{\"title\":\"Book\",\"description\":\"d\"}]"), BookDTO.class,
+                chunk -> {
+                    throw new DataIntegrityViolationException("duplicate key");
+                });
+
+        // Assert
+        assertThat(result.getCreated()).isZero();
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getErrors().get(0).getMessages()).containsExactly("Could not be stored: duplicate key");
+    }
+
+    @Test
+    void testInsert_whenItemsAreNotObjects_thenReportThemAndPersistTheRest() throws Exception {
+        // Arrange
+        String body = """
+                [null, "", 42, [], {"title": "Fifth book", "description": "Fifth description"}]""";
+
+        // Act
+        BatchResultDTO result = insert(body);
+
+        // Assert
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(4);
+        assertThat(result.getErrors()).extracting("index").containsExactly(0, 1, 2, 3);
+        assertThat(result.getErrors().get(0).getMessages()).containsExactly("Item must be a JSON object");
+        assertThat(persistedChunks).containsExactly(List.of("Fifth book"));
+    }
+
+    @Test
+    void testInsert_whenBodyIsNotAnArray_thenThrowBadRequest() {
+        assertThatThrownBy(() -> insert("{\"title\":\"Book\"}"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Request body must be a JSON array");
+        assertThatThrownBy(() -> insert("[{\"title\":"))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private BatchResultDTO insert(String body) throws Exception {
+        return jsonBatchInserter.insert(stream(body), BookDTO.class, chunk ->
+                persistedChunks.add(chunk.stream().map(BookDTO::getTitle).toList()));
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
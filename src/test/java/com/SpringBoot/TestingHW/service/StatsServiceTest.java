@@ -0,0 +1,55 @@
+package com.SpringBoot.TestingHW.service;
+
+import com.SpringBoot.TestingHW.dto.AuthorBookCountDTO;
+import com.SpringBoot.TestingHW.pagination.CursorPage;
+import com.SpringBoot.TestingHW.pagination.Cursors;
+import com.SpringBoot.TestingHW.repository.BookStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatsServiceTest {
+
+    @Mock
+    private BookStatsRepository bookStatsRepository;
+    @InjectMocks
+    private StatsService statsService;
+
+    @Test
+    void testGetBooksPerAuthor_whenMoreAuthorsThanLimit_thenReturnPageWithNextCursor() {
+        // Arrange
+        when(bookStatsRepository.authorsAfter(5L, 3)).thenReturn(List.of(
+                new AuthorBookCountDTO(6L, "JANE DOE", 3),
+                new AuthorBookCountDTO(8L, "JOHN ROE", 1),
+                new AuthorBookCountDTO(9L, "MARY MOE", 2)));
+
+        // Act
+        CursorPage<AuthorBookCountDTO> page = statsService.getBooksPerAuthor(Cursors.encodeId(5L), 2);
+
+        // Assert
+        assertThat(page.getItems()).extracting(AuthorBookCountDTO::getAuthorId).containsExactly(6L, 8L);
+        assertThat(page.getNextCursor()).isEqualTo(Cursors.encodeId(8L));
+    }
+
+    @Test
+    void testGetBooksPerAuthor_whenLastPage_thenReturnNoCursor() {
+        // Arrange
+        when(bookStatsRepository.authorsAfter(0L, Cursors.DEFAULT_LIMIT + 1))
+                .thenReturn(List.of(new AuthorBookCountDTO(6L, "JANE DOE", 3)));
+
+        // Act
+        CursorPage<AuthorBookCountDTO> page = statsService.getBooksPerAuthor(null, null);
+
+        // Assert
+        assertThat(page.getItems()).hasSize(1);
+        assertThat(page.getNextCursor()).isNull();
+    }
+}
@@ -0,0 +1,128 @@
+package com.SpringBoot.TestingHW.snapshot;
+
+import com.SpringBoot.TestingHW.entity.AuthorEntity;
+import com.SpringBoot.TestingHW.entity.bookEntity;
+import com.SpringBoot.TestingHW.projection.BookView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CatalogSnapshotTest {
+    private static final LocalDate JAN = LocalDate.of(2020, 1, 1);
+    private static final LocalDate FEB = LocalDate.of(2020, 2, 1);
+    private static final LocalDate MAR = LocalDate.of(2020, 3, 1);
+
+    private CatalogSnapshot catalogSnapshot;
+    private AuthorEntity jane;
+
+    @BeforeEach
+    void setUp() {
+        CatalogColumns columns = new CatalogColumns.Builder()
+                .add(1, "DUNE", "Desert planet", FEB, 7L)
+                .add(2, "EMMA", null, JAN, null)
+                .add(3, "DUNE", "", MAR, 7L)
+                .add(4, "ULYSSES", "Dublin", null, 8L)
+                .build();
+        ConcurrentHashMap<Long, String> authors = new ConcurrentHashMap<>();
+        authors.put(7L, "JANE DOE");
+        authors.put(8L, CatalogState.encodeName(null));
+        CatalogSnapshotLoader loader = mock(CatalogSnapshotLoader.class);
+        when(loader.load()).thenReturn(CatalogState.of(columns, authors));
+        CatalogSnapshotProperties properties = new CatalogSnapshotProperties();
+        properties.setEnabled(true);
+        catalogSnapshot = new CatalogSnapshot(properties, loader);
+        catalogSnapshot.reloadNow();
+        jane = AuthorEntity.builder().id(7L).name("JANE DOE").build();
+    }
+
+    @Test
+    void testFindPublishedAfter_whenCursorGiven_thenSeekAfterPublishedOnAndId() {
+        assertThat(catalogSnapshot.findPublishedAfter(JAN, JAN, 0L, 10))
+                .extracting(BookView::id).containsExactly(1L, 3L);
+        assertThat(catalogSnapshot.findPublishedAfter(JAN, FEB, 1L, 10))
+                .extracting(BookView::id).containsExactly(3L);
+        assertThat(catalogSnapshot.findPublishedAfter(LocalDate.of(2019, 1, 1), JAN, 2L, 1))
+                .extracting(BookView::id).containsExactly(1L);
+    }
+
+    @Test
+    void testFindByTitle_whenBooksMatch_thenReturnThemInIdOrderWithAuthor() {
+        assertThat(catalogSnapshot.findByTitle("DUNE", 0L, 10)).containsExactly(
+                new BookView(1L, "DUNE", "Desert planet", FEB, 7L, "JANE DOE"),
+                new BookView(3L, "DUNE", "", MAR, 7L, "JANE DOE"));
+        assertThat(catalogSnapshot.findByTitle("DUNE", 1L, 10)).extracting(BookView::id).containsExactly(3L);
+        assertThat(catalogSnapshot.findByTitle("MISSING", 0L, 10)).isEmpty();
+        assertThat(catalogSnapshot.findByTitle("EMMA", 0L, 10)).containsExactly(
+                new BookView(2L, "EMMA", null, JAN, null, null));
+    }
+
+    @Test
+    void testBookHooks_whenBooksAreWritten_thenOverlayThemOnTheColumns() {
+        // Arrange
+        catalogSnapshot.bookSaved(bookEntity.builder().id(5L).title("DUNE").publishedOn(JAN.plusDays(1)).authoredBy(jane).build());
+        catalogSnapshot.bookSaved(bookEntity.builder().id(3L).title("DUNE MESSIAH").publishedOn(MAR).authoredBy(jane).build());
+        catalogSnapshot.bookDeleted(1L);
+
+        // Act & Assert
+        assertThat(catalogSnapshot.findByTitle("DUNE", 0L, 10)).extracting(BookView::id).containsExactly(5L);
+        assertThat(catalogSnapshot.findByAuthor(7L, 0L, 10)).extracting(BookView::id).containsExactly(3L, 5L);
+        assertThat(catalogSnapshot.findPublishedAfter(JAN, JAN, 0L, 2)).extracting(BookView::id).containsExactly(5L, 3L);
+    }
+
+    @Test
+    void testAuthorHooks_whenAuthorIsRenamedOrDeleted_thenUpdateNamesAndDropTheirBooks() {
+        // Arrange
+        catalogSnapshot.authorSaved(AuthorEntity.builder().id(7L).name("JANE SMITH").build());
+
+        // Act & Assert
+        assertThat(catalogSnapshot.findByAuthor(7L, 0L, 10)).extracting(BookView::authorName)
+                .containsOnly("JANE SMITH");
+
+        catalogSnapshot.authorDeleted(7L);
+
+        assertThat(catalogSnapshot.hasAuthor(7L)).isFalse();
+        assertThat(catalogSnapshot.findByAuthor(7L, 0L, 10)).isEmpty();
+        assertThat(catalogSnapshot.findByTitle("DUNE", 0L, 10)).isEmpty();
+    }
+
+    @Test
+    void testCompact_whenOverlayIsFolded_thenColumnsHoldMergedRowsInIdOrder() {
+        // Arrange
+        CatalogColumns columns = new CatalogColumns.Builder()
+                .add(1, "DUNE", null, FEB, 7L)
+                .add(3, "EMMA", null, JAN, null)
+                .build();
+        ConcurrentHashMap<Long, String> authors = new ConcurrentHashMap<>();
+        authors.put(7L, "JANE DOE");
+        CatalogState state = CatalogState.of(columns, authors)
+                .withBook(new CatalogRow(2, "DUNE", null, MAR, 7L))
+                .withBook(new CatalogRow(4, "DUNE", null, null, null))
+                .withoutBooks(Set.of(3L));
+
+        // Act
+        CatalogState compacted = CatalogSnapshot.compact(state);
+
+        // Assert
+        assertThat(compacted.overlaySize()).isZero();
+        assertThat(compacted.columns().size()).isEqualTo(3);
+        assertThat(compacted.authorName(7L)).isEqualTo("JANE DOE");
+        assertThat(compacted.columns().title(2)).isEqualTo("DUNE");
+        assertThat(compacted.columns().publishedOn(2)).isNull();
+    }
+
+    @Test
+    void testBuilderAdd_whenIdsAreNotAscending_thenThrowIllegalArgumentException() {
+        CatalogColumns.Builder builder = new CatalogColumns.Builder().add(2, "A", null, null, null);
+
+        assertThatThrownBy(() -> builder.add(1, "B", null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}